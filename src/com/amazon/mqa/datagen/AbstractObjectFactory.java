@@ -3,28 +3,67 @@ package com.amazon.mqa.datagen;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
-import com.amazon.mqa.datagen.rof.DefaultObjectFactory;
-import com.amazon.mqa.datagen.rof.NonNullObjectFactory;
+import com.amazon.mqa.datagen.rof.ObjectCreationException;
 import com.amazon.mqa.datagen.rof.ObjectFactory;
+import com.amazon.mqa.datagen.rof.PrimitiveGenerator;
+import com.amazon.mqa.datagen.rof.UniqueObjectGenerator;
+import com.amazon.mqa.datagen.rof.typed.TypedObjectFactory;
+import com.amazon.mqa.datagen.supplier.PrimitiveSuppliers;
+import com.amazon.mqa.datagen.supplier.RandomSource;
+import com.amazon.mqa.datagen.supplier.RandomSources;
+import com.amazon.mqa.datagen.supplier.Randoms;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
 
 /**
  * Abstract object factory.
  */
 public abstract class AbstractObjectFactory implements ObjectFactory {
 
+    /** The factories built from the config. */
+    private final FactoryCore core;
+
     /** Inner object factory. */
     private final ObjectFactory factory;
 
+    /** Creates objects from generic types. */
+    private final TypedObjectFactory typedFactory;
+
+    /** Creates distinct objects for sets and map keys, never drawing from value pools. */
+    private final UniqueObjectGenerator uniqueGenerator;
+
+    /** Generates primitives in bulk. */
+    private final PrimitiveGenerator primitiveGenerator;
+
     /** Factory config. */
     private final Config config;
 
+    /** Supplies the seed of each top-level call, <code>null</code> if not seeded. */
+    private final SplittableRandom seeds;
+
+    /** Unseeded generator of each thread, <code>null</code> if drawing from the default generator. */
+    private final ThreadLocal<Random> threadRandoms;
+
     /**
      * Instantiate a new {@link AbstractObjectFactory}.
      */
@@ -39,27 +78,295 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     protected AbstractObjectFactory(final Config config) {
-        checkNotNull(config, "config cannot be null");
+        this(checkNotNull(config, "config cannot be null"), FactoryCore.of(config));
+    }
+
+    /**
+     * Instantiate a new {@link AbstractObjectFactory}.
+     *
+     * @param config factory configuration.
+     * @param core the factories built from the configuration.
+     */
+    AbstractObjectFactory(final Config config, final FactoryCore core) {
+        assert config != null : "config cannot be null";
+        assert core != null : "core cannot be null";
 
         this.config = config;
+        this.core = core;
+        this.factory = core.getFactory();
+        this.typedFactory = core.getTypedFactory();
+        this.uniqueGenerator = core.getUniqueGenerator();
+        this.primitiveGenerator = core.getPrimitiveGenerator();
+        this.seeds = config.getSeed().isPresent() ? new SplittableRandom(config.getSeed().getAsLong()) : null;
+
+        final RandomSource randomSource = config.getRandomSource();
+        this.threadRandoms = randomSource == RandomSources.SPLITTABLE
+                ? null
+                : ThreadLocal.withInitial(() -> randomSource.create(ThreadLocalRandom.current().nextLong()));
+    }
+
+    /**
+     * Runs a generating action with the generator of the configuration.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     *
+     * @see AbstractObjectFactory#bind(Supplier)
+     */
+    private <T> T generate(final Supplier<T> action) {
+        return bind(action).get();
+    }
+
+    /**
+     * Binds a generating action to the generator of the configuration, to run now or later on any thread.
+     *
+     * If seeded, a top-level call takes the next seed of the factory, while a call nested in seeded generation
+     * splits a seed off the enclosing generator, so that the results only depend on the seed and the sequence of
+     * calls.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the bound action.
+     */
+    private <T> Supplier<T> bind(final Supplier<T> action) {
+        assert action != null : "action cannot be null";
+
+        if (Randoms.isSeeded()) {
+            return Randoms.deferred(action);
+        }
+
+        if (seeds != null) {
+            final long seed;
+            synchronized (seeds) {
+                seed = seeds.nextLong();
+            }
+            return () -> Randoms.withSeed(config.getRandomSource(), seed, action);
+        }
 
-        final ObjectFactory defaultFactory = new DefaultObjectFactory(config.getSuppliers(),
-                config.getPmSuppliers(), config.getArraySizeSupplier());
-        this.factory = new NonNullObjectFactory(defaultFactory);
+        return threadRandoms == null ? action : () -> Randoms.with(threadRandoms.get(), action);
     }
 
     /**
      * @return array size.
      */
     private int getArraySize() {
-        return config.getArraySizeSupplier().get();
+        return PrimitiveSuppliers.getAsInt(config.getArraySizeSupplier());
     }
 
     @Override
     public final <T> T create(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
-        return factory.create(clazz);
+        return generate(() -> factory.create(clazz));
+    }
+
+    /**
+     * Creates a populated object from a generic type.
+     *
+     * @param typeToken the type to create.
+     * @param <T> the type.
+     * @return an instance of the type.
+     * @throws NullPointerException if the argument is <code>null</code>.
+     * @throws ObjectCreationException if the type is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    public final <T> T create(final TypeToken<T> typeToken) {
+        checkNotNull(typeToken, "typeToken cannot be null");
+
+        return (T) create(typeToken.getType());
+    }
+
+    /**
+     * Creates a populated object from a type.
+     *
+     * @param type the type to create.
+     * @return an instance of the type.
+     * @throws NullPointerException if the argument is <code>null</code>.
+     * @throws ObjectCreationException if the type is not supported.
+     */
+    public final Object create(final Type type) {
+        checkNotNull(type, "type cannot be null");
+
+        final Object object = generate(() -> typedFactory.create(type));
+        if (object == null) {
+            throw new ObjectCreationException("Unsupported type: " + type);
+        }
+
+        return object;
+    }
+
+    /**
+     * Creates the object at an index of a seeded sequence, which is the same object every time, regardless of the
+     * seed of the configuration.
+     *
+     * @param clazz the class to create.
+     * @param seed the seed of the sequence.
+     * @param index the index in the sequence.
+     * @param <T> the type of class.
+     * @return the object at the index.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the index is negative.
+     */
+    public final <T> T at(final Class<T> clazz, final long seed, final long index) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkArgument(index >= 0, "index cannot be negative");
+
+        return Randoms.at(config.getRandomSource(), seed, index, () -> factory.create(clazz));
+    }
+
+    /**
+     * Creates an unmodifiable list view whose element at each index is created on access.
+     *
+     * @param clazz the class of elements.
+     * @param size the number of elements.
+     * @param seed the seed of the sequence of elements.
+     * @param <T> the type of elements.
+     * @return the list.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the size is negative.
+     *
+     * @see AbstractObjectFactory#at(Class, long, long)
+     */
+    public final <T> List<T> virtualListOf(final Class<T> clazz, final int size, final long seed) {
+        return virtualListOf(clazz, size, seed, 0);
+    }
+
+    /**
+     * Creates an unmodifiable list view whose element at each index is created on access, keeping the most
+     * recently accessed elements.
+     *
+     * @param clazz the class of elements.
+     * @param size the number of elements.
+     * @param seed the seed of the sequence of elements.
+     * @param cacheSize the number of most recently accessed elements to keep, 0 to keep none.
+     * @param <T> the type of elements.
+     * @return the list.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the size or the cache size is negative.
+     *
+     * @see AbstractObjectFactory#at(Class, long, long)
+     */
+    public final <T> List<T> virtualListOf(final Class<T> clazz, final int size, final long seed,
+                                           final int cacheSize) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkArgument(size >= 0, "size cannot be negative");
+        checkArgument(cacheSize >= 0, "cacheSize cannot be negative");
+
+        return new VirtualList<>(size, index -> at(clazz, seed, index), cacheSize);
+    }
+
+    /**
+     * Creates a populated object on the executor of the configuration.
+     *
+     * @param clazz the class to create.
+     * @param <T> the type of the class.
+     * @return the future object, completed exceptionally if the object cannot be created.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public final <T> CompletableFuture<T> createAsync(final Class<T> clazz) {
+        checkNotNull(clazz, "clazz cannot be null");
+
+        return async(() -> factory.create(clazz));
+    }
+
+    /**
+     * Creates a list of populated objects on the executor of the configuration.
+     *
+     * @param clazz the class of object to create.
+     * @param howMany the number of objects to create.
+     * @param <T> the type of object to create.
+     * @return the future list, completed exceptionally if the objects cannot be created.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number of objects is negative.
+     */
+    public final <T> CompletableFuture<List<T>> listOfAsync(final Class<T> clazz, final int howMany) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        return async(() -> createList(clazz, howMany));
+    }
+
+    /**
+     * Runs a generating action on the executor of the configuration. If seeded, the seed of the action is taken
+     * now, in the order of calls.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the future result.
+     */
+    private <T> CompletableFuture<T> async(final Supplier<T> action) {
+        assert action != null : "action cannot be null";
+
+        final Executor executor = config.getExecutor().orElseGet(AsyncExecutors::defaultExecutor);
+
+        return CompletableFuture.supplyAsync(bind(action), executor);
+    }
+
+    /**
+     * Creates an endless lazy stream of populated objects, each created when consumed.
+     *
+     * @param clazz the class of objects.
+     * @param <T> the type of objects.
+     * @return the stream, to be limited by the consumer.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public final <T> Stream<T> stream(final Class<T> clazz) {
+        checkNotNull(clazz, "clazz cannot be null");
+
+        return StreamSupport.stream(new IndexSpliterator<>(elementAt(clazz), 0, Long.MAX_VALUE, false), false);
+    }
+
+    /**
+     * Creates a sized lazy stream of populated objects, each created when consumed.
+     *
+     * @param clazz the class of objects.
+     * @param howMany the number of objects.
+     * @param <T> the type of objects.
+     * @return the stream.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number of objects is negative.
+     */
+    public final <T> Stream<T> stream(final Class<T> clazz, final long howMany) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        return StreamSupport.stream(new IndexSpliterator<>(elementAt(clazz), 0, howMany, true), false);
+    }
+
+    /**
+     * Creates the elements of a stream. If seeded, the stream takes one seed now and each element is the object at
+     * its index of the sequence of that seed, so that elements don't depend on the threads creating them.
+     *
+     * @param clazz the class of objects.
+     * @param <T> the type of objects.
+     * @return a function from index to the element at the index.
+     */
+    private <T> LongFunction<T> elementAt(final Class<T> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        if (seeds == null && !Randoms.isSeeded()) {
+            return index -> generate(() -> factory.create(clazz));
+        }
+
+        final long seed = generate(() -> Randoms.current().nextLong());
+        return index -> Randoms.at(config.getRandomSource(), seed, index, () -> factory.create(clazz));
+    }
+
+    /**
+     * Creates a factory whose configuration is derived from the configuration of this factory.
+     *
+     * @param derivation derives the configuration.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>, or the derived configuration is
+     *         <code>null</code>.
+     */
+    public final com.amazon.mqa.datagen.ObjectFactory derive(final UnaryOperator<Config> derivation) {
+        checkNotNull(derivation, "derivation cannot be null");
+
+        final Config derived = checkNotNull(derivation.apply(config), "derived config cannot be null");
+
+        return new ReflectionObjectFactory(derived, core.derive(derived));
     }
 
     /**
@@ -75,7 +382,7 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
     public final <T> List<T> listOf(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
-        return listOf(clazz, getArraySize());
+        return generate(() -> listOf(clazz, getArraySize()));
     }
 
     /**
@@ -94,16 +401,28 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
         checkNotNull(clazz, "clazz cannot be null");
         checkArgument(howMany >= 0, "howMany can't be negative");
 
-        final List<T> result = Lists.newArrayList();
+        return generate(() -> createList(clazz, howMany));
+    }
+
+    /**
+     * @param clazz the class of object to create.
+     * @param howMany the number of objects to create.
+     * @param <T> the type of object to create.
+     * @return a list of objects.
+     */
+    private <T> List<T> createList(final Class<T> clazz, final int howMany) {
+        assert clazz != null : "clazz cannot be null";
+
+        final List<T> result = Lists.newArrayListWithCapacity(howMany);
         for (int i = 0; i < howMany; i++) {
             result.add(create(clazz));
         }
-
         return result;
     }
 
     /**
-     * Creates a set of populated objects with the default size (implementation dependent).
+     * Creates a set of populated objects with the default size (implementation dependent), capped by the
+     * number of distinct objects of the class.
      *
      * @param clazz the class of object to create.
      * @param <T> the type of object to create.
@@ -115,17 +434,16 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
     public final <T> Set<T> setOf(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
-        return setOf(clazz, getArraySize());
+        return generate(() -> setOf(clazz, (int) Math.min(getArraySize(), uniqueGenerator.cardinality(clazz))));
     }
 
     /**
-     * <p>Creates a set of populated objects.</p>
+     * <p>Creates a set of exactly the requested number of populated objects.</p>
      *
      * <p>
-     * The actual number of objects created may occasionally be smaller than requested if it is hard to create
-     * the requested number of unique objects. For instance, it isn't possible to create a set of more than
-     * two Booleans. This method will attempt to create the desired number of objects, but it may not always
-     * succeed.
+     * Distinct values are generated directly for classes whose value space is known, such as enums, booleans
+     * or bounded integers, and the request fails fast if the value space is too small. For instance, it isn't
+     * possible to create a set of more than two Booleans.
      * </p>
      *
      * @param clazz the class of object to create.
@@ -133,7 +451,9 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
      * @param <T> the type of object to create.
      * @return the indicated number of objects, populated with arbitrary data.
      * @throws NullPointerException if an argument is <code>null</code>.
-     * @throws IllegalArgumentException if the number of objects is negative.
+     * @throws IllegalArgumentException if the number of objects is negative or more than the number of distinct
+     *         objects of the class.
+     * @throws ObjectCreationException if not enough distinct objects could be created.
      *
      * @see AbstractObjectFactory#setOf(Class)
      */
@@ -141,11 +461,16 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
         checkNotNull(clazz, "clazz cannot be null");
         checkArgument(howMany >= 0, "howMany can't be negative");
 
-        return ImmutableSet.copyOf(listOf(clazz, howMany));
+        return generate(() -> {
+            final ImmutableSet.Builder<T> builder = ImmutableSet.builderWithExpectedSize(howMany);
+            uniqueGenerator.generate(clazz, howMany, builder::add);
+            return builder.build();
+        });
     }
 
     /**
-     * <p>Creates a map of populated objects with the default size (implementation dependent).</p>
+     * <p>Creates a map of populated objects with the default size (implementation dependent), capped by the
+     * number of distinct keys.</p>
      *
      * @param keyClass the class of map's key.
      * @param valueClass the class of map's value.
@@ -160,11 +485,13 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
         checkNotNull(keyClass, "keyClass cannot be null");
         checkNotNull(valueClass, "valueClass cannot be null");
 
-        return mapOf(keyClass, valueClass, getArraySize());
+        return generate(() -> mapOf(keyClass, valueClass,
+                (int) Math.min(getArraySize(), uniqueGenerator.cardinality(keyClass))));
     }
 
     /**
-     * <p>Creates a map of populated objects.</p>
+     * <p>Creates a map of exactly the requested number of entries, with distinct keys created as for
+     * {@link AbstractObjectFactory#setOf(Class, int)}.</p>
      *
      * @param keyClass the class of map's key.
      * @param valueClass the class of map's value.
@@ -172,8 +499,10 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
      * @param <K> the type of key.
      * @param <V> the type of value.
      * @return a map of object.
-     * @throws IllegalArgumentException if the number of objects is negative.
+     * @throws IllegalArgumentException if the number of objects is negative or more than the number of distinct
+     *         keys.
      * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws ObjectCreationException if not enough distinct keys could be created.
      *
      * @see AbstractObjectFactory#mapOf(Class, Class)
      */
@@ -182,12 +511,103 @@ public abstract class AbstractObjectFactory implements ObjectFactory {
         checkNotNull(valueClass, "valueClass cannot be null");
         checkArgument(howMany >= 0, "howMany cannot be negative");
 
-        final Map<K, V> map = Maps.newHashMap();
-        for (int i = 0; i < howMany; i++) {
-            map.put(create(keyClass), create(valueClass));
-        }
+        return generate(() -> {
+            final Map<K, V> map = Maps.newHashMapWithExpectedSize(howMany);
+            uniqueGenerator.generate(keyClass, howMany, key -> map.put(key, create(valueClass)));
+            return map;
+        });
+    }
+
+    /**
+     * Creates an array of random ints, bypassing object creation and boxing.
+     *
+     * @param howMany the number of ints.
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final int[] intsOf(final int howMany) {
+        return generate(() -> primitiveGenerator.ints(howMany));
+    }
 
-        return map;
+    /**
+     * Creates an array of random ints within a range, bypassing object creation and boxing.
+     *
+     * @param howMany the number of ints.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    public final int[] intsOf(final int howMany, final int min, final int max) {
+        return generate(() -> primitiveGenerator.ints(howMany, min, max));
+    }
+
+    /**
+     * Creates an array of random longs, bypassing object creation and boxing.
+     *
+     * @param howMany the number of longs.
+     * @return an array of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final long[] longsOf(final int howMany) {
+        return generate(() -> primitiveGenerator.longs(howMany));
+    }
+
+    /**
+     * Creates an array of random doubles, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final double[] doublesOf(final int howMany) {
+        return generate(() -> primitiveGenerator.doubles(howMany));
+    }
+
+    /**
+     * Creates an array of random doubles within a range, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    public final double[] doublesOf(final int howMany, final double min, final double max) {
+        return generate(() -> primitiveGenerator.doubles(howMany, min, max));
+    }
+
+    /**
+     * Creates a stream of random ints, bypassing object creation and boxing.
+     *
+     * @param howMany the number of ints.
+     * @return a sequential stream of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final IntStream ints(final long howMany) {
+        return generate(() -> primitiveGenerator.intStream(howMany));
+    }
+
+    /**
+     * Creates a stream of random longs, bypassing object creation and boxing.
+     *
+     * @param howMany the number of longs.
+     * @return a sequential stream of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final LongStream longs(final long howMany) {
+        return generate(() -> primitiveGenerator.longStream(howMany));
+    }
+
+    /**
+     * Creates a stream of random doubles, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @return a sequential stream of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public final DoubleStream doubles(final long howMany) {
+        return generate(() -> primitiveGenerator.doubleStream(howMany));
     }
 
 }
@@ -0,0 +1,64 @@
+package com.amazon.mqa.datagen;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Default executor of asynchronous generation, created on first use.
+ */
+final class AsyncExecutors {
+
+    /**
+     * @return a virtual thread per task executor on JDK 21 or later, else a pool of as many daemon threads as
+     *         there are processors.
+     */
+    static Executor defaultExecutor() {
+        return Holder.DEFAULT;
+    }
+
+    /**
+     * @return a virtual thread per task executor, <code>null</code> if the JDK has no virtual threads.
+     */
+    private static Executor virtualThreadExecutor() {
+        try {
+            // looked up by name, since the library is built for JDKs without virtual threads
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (final NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Holds the default executor, so that it is only created if used.
+     */
+    private static final class Holder {
+
+        /** The default executor. */
+        private static final Executor DEFAULT = create();
+
+        /**
+         * @return the default executor.
+         */
+        private static Executor create() {
+            final Executor virtual = virtualThreadExecutor();
+            if (virtual != null) {
+                return virtual;
+            }
+
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new ThreadFactoryBuilder().setNameFormat("async-generation-%d").setDaemon(true).build());
+        }
+
+        /** Holder class. */
+        private Holder() {
+        }
+    }
+
+    /** Utility class. */
+    private AsyncExecutors() {
+    }
+
+}
@@ -1,10 +1,16 @@
 package com.amazon.mqa.datagen;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.amazon.mqa.datagen.rof.typed.CollectionProvider;
+import com.amazon.mqa.datagen.rof.typed.CollectionProviders;
+import com.amazon.mqa.datagen.rof.typed.MapProvider;
+import com.amazon.mqa.datagen.rof.typed.MapProviders;
 import com.amazon.mqa.datagen.supplier.AlphanumericStringSupplier;
 import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
 import com.amazon.mqa.datagen.supplier.Now;
+import com.amazon.mqa.datagen.supplier.PoolPolicy;
 import com.amazon.mqa.datagen.supplier.RandomBigDecimal;
 import com.amazon.mqa.datagen.supplier.RandomBigInteger;
 import com.amazon.mqa.datagen.supplier.RandomBooleanSupplier;
@@ -15,18 +21,26 @@ import com.amazon.mqa.datagen.supplier.RandomFloatSupplier;
 import com.amazon.mqa.datagen.supplier.RandomIntegerSupplier;
 import com.amazon.mqa.datagen.supplier.RandomLongSupplier;
 import com.amazon.mqa.datagen.supplier.RandomShortSupplier;
+import com.amazon.mqa.datagen.supplier.RandomSource;
+import com.amazon.mqa.datagen.supplier.RandomSources;
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
-import org.apache.commons.lang3.builder.EqualsBuilder;
-import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * Immutable class that holds configuration for {@link ReflectionObjectFactory}.
@@ -58,6 +72,13 @@ public final class Config {
                     .put(BigDecimal.class, new RandomBigDecimal())
                     .build();
 
+    /** Leaf classes pooled by {@link Config#withValuePools(PoolPolicy)}. */
+    private static final List<Class<?>> POOLED_CLASSES =
+            ImmutableList.of(String.class, Date.class, BigInteger.class, BigDecimal.class);
+
+    /** The default configuration, shared since configurations are immutable. */
+    private static final Config DEFAULT = new Config(BASIC_SUPPLIERS, MinMaxIntegerSupplier.create());
+
     /**
      * Creates a default {@link Config} with basic supplier in {@link Config#BASIC_SUPPLIERS}
      * and array size ranges from 1 to 10 (inclusive).
@@ -65,21 +86,39 @@ public final class Config {
      * @return the default instance.
      */
     public static Config createDefault() {
-        final int minSize = 1;
-        final int maxSize = 11;
-
-        return new Config(BASIC_SUPPLIERS, new MinMaxIntegerSupplier(minSize, maxSize));
+        return DEFAULT;
     }
 
     /** Map from class to supplier. */
     private final Map<Class<?>, Supplier> suppliers;
 
-    /** Suppliers for proxy method. */
+    /** Suppliers for proxy method or property. */
     private final Map<String, Supplier> pmSuppliers;
 
     /** Supplies array size. */
     private final Supplier<Integer> arraySizeSupplier;
 
+    /** Map from collection interface or concrete class to its provider. */
+    private final Map<Class<?>, CollectionProvider> collectionProviders;
+
+    /** Map from map interface or concrete class to its provider. */
+    private final Map<Class<?>, MapProvider> mapProviders;
+
+    /** Seed of generation, empty if not seeded. */
+    private final OptionalLong seed;
+
+    /** Creates the random number generators. */
+    private final RandomSource randomSource;
+
+    /** Map from pooled class to its pool policy. */
+    private final Map<Class<?>, PoolPolicy> valuePools;
+
+    /** Runs asynchronous generation, empty for the default executor. */
+    private final Optional<Executor> executor;
+
+    /** Hash code, computed once since configurations key the shared factory cores. */
+    private final int hash;
+
     /**
      * Instantiates a new {@link Config}.
      *
@@ -103,15 +142,61 @@ public final class Config {
     Config(final Map<Class<?>, Supplier> suppliers,
            final Map<String, Supplier> pmSuppliers,
            final Supplier<Integer> arraySizeSupplier) {
-        this.suppliers = checkNotNull(suppliers, "suppliers cannot be null");
-        this.pmSuppliers = checkNotNull(pmSuppliers, "pmSuppliers cannot be null");
-        this.arraySizeSupplier = checkNotNull(arraySizeSupplier, "arraySizeSupplier cannot be null");
+        this(new Builder(suppliers, pmSuppliers, arraySizeSupplier));
+    }
+
+    /**
+     * Instantiates a new {@link Config}.
+     *
+     * @param builder holds the configuration values.
+     * @throws NullPointerException if any value is <code>null</code>.
+     */
+    private Config(final Builder builder) {
+        // immutable maps are shared as is by later configurations and getters, and copied by neither
+        this.suppliers = ImmutableMap.copyOf(checkNotNull(builder.suppliers, "suppliers cannot be null"));
+        this.pmSuppliers = ImmutableMap.copyOf(checkNotNull(builder.pmSuppliers, "pmSuppliers cannot be null"));
+        this.arraySizeSupplier = checkNotNull(builder.arraySizeSupplier, "arraySizeSupplier cannot be null");
+        this.collectionProviders = ImmutableMap.copyOf(
+                checkNotNull(builder.collectionProviders, "collectionProviders cannot be null"));
+        this.mapProviders = ImmutableMap.copyOf(checkNotNull(builder.mapProviders, "mapProviders cannot be null"));
+        this.seed = checkNotNull(builder.seed, "seed cannot be null");
+        this.randomSource = checkNotNull(builder.randomSource, "randomSource cannot be null");
+        this.valuePools = ImmutableMap.copyOf(checkNotNull(builder.valuePools, "valuePools cannot be null"));
+        this.executor = checkNotNull(builder.executor, "executor cannot be null");
+        this.hash = Objects.hash(suppliers, pmSuppliers, arraySizeSupplier, collectionProviders, mapProviders,
+                seed, randomSource, valuePools, executor);
+    }
+
+    /**
+     * Copies a map with an entry added or replaced.
+     *
+     * @param map the map.
+     * @param key the key.
+     * @param value the value.
+     * @param <K> the type of keys.
+     * @param <V> the type of values.
+     * @return the immutable copy.
+     */
+    private static <K, V> Map<K, V> with(final Map<K, V> map, final K key, final V value) {
+        assert map != null : "map cannot be null";
+
+        final ImmutableMap.Builder<K, V> builder = ImmutableMap.builderWithExpectedSize(map.size() + 1);
+        for (final Map.Entry<K, V> entry : map.entrySet()) {
+            if (!entry.getKey().equals(key)) {
+                builder.put(entry);
+            }
+        }
+
+        return builder.put(key, value).build();
     }
 
     /**
      * Create a new {@link Config} with supplier for class.
      *
      * If class is not in supplier map, add a supplier for class; otherwise, update the supplier.
+     * A supplier for a super class or an interface also supplies its sub types without a supplier of their own, if
+     * its class declares that it supplies them, eg. a {@code Supplier<Integer>} for {@link Number} supplies
+     * {@link Integer}, which a lambda doesn't declare.
      *
      * @param clazz the class to supplier
      * @param supplier the supplier of class.
@@ -123,19 +208,20 @@ public final class Config {
         checkNotNull(clazz, "clazz cannot be null");
         checkNotNull(supplier, "supplier cannot be null");
 
-        final Map<Class<?>, Supplier> newSuppliers = Maps.newHashMap();
-        newSuppliers.putAll(suppliers);
-        newSuppliers.put(clazz, supplier);
+        final Builder builder = new Builder(this);
+        builder.suppliers = with(suppliers, clazz, supplier);
 
-        return new Config(newSuppliers, pmSuppliers, arraySizeSupplier);
+        return builder.build();
     }
 
     /**
-     * Create a new {@link Config} with supplier for class.
+     * Create a new {@link Config} with supplier for a method or property name.
      *
-     * If class is not in supplier map, add a supplier for class; otherwise, update the supplier.
+     * The supplier takes precedence over the supplier of the type for proxy methods and POJO setters that have
+     * the name, eg. <code>getId</code> or <code>setId</code>, or whose property has the name, eg. <code>id</code>.
+     * If the name is not in supplier map, add a supplier for it; otherwise, update the supplier.
      *
-     * @param method proxy method name.
+     * @param method proxy method, setter or property name.
      * @param supplier the supplier of class.
      * @param <T> the type of class.
      * @return the new configuration.
@@ -145,11 +231,10 @@ public final class Config {
         checkNotNull(method, "method cannot be null");
         checkNotNull(supplier, "supplier cannot be null");
 
-        final Map<String, Supplier> newSuppliers = Maps.newHashMap();
-        newSuppliers.putAll(pmSuppliers);
-        newSuppliers.put(method, supplier);
+        final Builder builder = new Builder(this);
+        builder.pmSuppliers = with(pmSuppliers, method, supplier);
 
-        return new Config(suppliers, newSuppliers, arraySizeSupplier);
+        return builder.build();
     }
 
     /**
@@ -162,21 +247,212 @@ public final class Config {
     public Config withArraySizeSupplier(final Supplier<Integer> arraySizeSupplier) {
         checkNotNull(arraySizeSupplier, "arraySizeSupplier cannot be null");
 
-        return new Config(suppliers, pmSuppliers, arraySizeSupplier);
+        final Builder builder = new Builder(this);
+        builder.arraySizeSupplier = arraySizeSupplier;
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new {@link Config} with provider for a collection interface or concrete class.
+     *
+     * If class is not in provider map, add a provider for class; otherwise, update the provider.
+     *
+     * @param clazz the collection class, eg. <code>SortedSet.class</code> or <code>LinkedList.class</code>.
+     * @param provider provides populated instances of the collection class.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public Config withCollectionProvider(final Class<? extends Collection> clazz,
+                                         final CollectionProvider provider) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(provider, "provider cannot be null");
+
+        final Builder builder = new Builder(this);
+        builder.collectionProviders = with(collectionProviders, clazz, provider);
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new {@link Config} with provider for a map interface or concrete class.
+     *
+     * If class is not in provider map, add a provider for class; otherwise, update the provider.
+     *
+     * @param clazz the map class, eg. <code>ConcurrentMap.class</code> or <code>TreeMap.class</code>.
+     * @param provider provides populated instances of the map class.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public Config withMapProvider(final Class<? extends Map> clazz, final MapProvider provider) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(provider, "provider cannot be null");
+
+        final Builder builder = new Builder(this);
+        builder.mapProviders = with(mapProviders, clazz, provider);
+
+        return builder.build();
+    }
+
+    /**
+     * <p>Creates a new {@link Config} that populates <code>List</code>, <code>Collection</code>,
+     * <code>Set</code> and <code>Map</code> typed properties with lazy views.</p>
+     *
+     * <p>
+     * A list view fixes its size up front but creates each element only when it is accessed or iterated. Set and
+     * map views are created as a whole on first access. Nested aggregates thus cost nothing unless walked.
+     * Concrete collection classes, eg. <code>ArrayList</code>, are still populated eagerly.
+     * </p>
+     *
+     * @return the new configuration.
+     */
+    public Config withLazyCollections() {
+        final Map<Class<?>, CollectionProvider> newCollectionProviders = Maps.newHashMap(collectionProviders);
+        newCollectionProviders.put(Collection.class, CollectionProviders.LAZY_LIST);
+        newCollectionProviders.put(List.class, CollectionProviders.LAZY_LIST);
+        if (collectionProviders.containsKey(Set.class)) {
+            newCollectionProviders.put(Set.class, CollectionProviders.lazySet(collectionProviders.get(Set.class)));
+        }
+
+        final Map<Class<?>, MapProvider> newMapProviders = Maps.newHashMap(mapProviders);
+        if (mapProviders.containsKey(Map.class)) {
+            newMapProviders.put(Map.class, MapProviders.lazy(mapProviders.get(Map.class)));
+        }
+
+        final Builder builder = new Builder(this);
+        builder.collectionProviders = newCollectionProviders;
+        builder.mapProviders = newMapProviders;
+
+        return builder.build();
+    }
+
+    /**
+     * <p>Creates a new {@link Config} that generates deterministically from a seed.</p>
+     *
+     * <p>
+     * Factories with the same seed produce identical objects for the same sequence of calls. Each object gets
+     * its own random stream split off its parent's, so the values of an object depend only on the seed and its
+     * position in the object graph, including elements of lazy collections generated later. Suppliers that don't
+     * draw from {@link com.amazon.mqa.datagen.supplier.Randoms}, eg. the current date, aren't affected.
+     * </p>
+     *
+     * @param seed the seed.
+     * @return the new configuration.
+     */
+    public Config withSeed(final long seed) {
+        final Builder builder = new Builder(this);
+        builder.seed = OptionalLong.of(seed);
+
+        return builder.build();
+    }
+
+    /**
+     * <p>Creates a new {@link Config} with the source of the random number generators that built-in suppliers
+     * and factories draw from, eg. {@link RandomSources#XOSHIRO_256_STAR_STAR}.</p>
+     *
+     * <p>
+     * Each thread draws from its own generator. The default, {@link RandomSources#SPLITTABLE}, draws from
+     * {@link java.util.concurrent.ThreadLocalRandom}, which implements the same algorithm, unless seeded.
+     * </p>
+     *
+     * @param randomSource creates the generators.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public Config withRandomSource(final RandomSource randomSource) {
+        checkNotNull(randomSource, "randomSource cannot be null");
+
+        final Builder builder = new Builder(this);
+        builder.randomSource = randomSource;
+
+        return builder.build();
+    }
+
+    /**
+     * <p>Creates a new {@link Config} that hands out values of a class from a pool of pre-generated values.</p>
+     *
+     * <p>
+     * The values are generated by the supplier of the class, or by the factory if no supplier is registered, eg.
+     * for enums or small POJOs, and reused round robin by each thread, see
+     * {@link com.amazon.mqa.datagen.supplier.PooledSupplier}. Pooled values are shared between objects, so the
+     * class should be immutable or its values never modified. Distinct values, eg. of <code>setOf</code>, are
+     * still generated afresh.
+     * </p>
+     *
+     * @param clazz the class to pool.
+     * @param policy the size and refresh policy of the pool.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the class is primitive, which is cheaper to generate than to pool.
+     */
+    public Config withValuePool(final Class<?> clazz, final PoolPolicy policy) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(policy, "policy cannot be null");
+        checkArgument(!clazz.isPrimitive(), "cannot pool primitive class %s", clazz);
+
+        final Builder builder = new Builder(this);
+        builder.valuePools = with(valuePools, clazz, policy);
+
+        return builder.build();
+    }
+
+    /**
+     * Creates a new {@link Config} that pools the built-in leaf classes other than primitives and their
+     * wrappers, ie. <code>String</code>, <code>Date</code>, <code>BigInteger</code> and <code>BigDecimal</code>,
+     * see {@link Config#withValuePool(Class, PoolPolicy)}.
+     *
+     * @param policy the size and refresh policy of each pool.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public Config withValuePools(final PoolPolicy policy) {
+        checkNotNull(policy, "policy cannot be null");
+
+        final Map<Class<?>, PoolPolicy> newPools = Maps.newHashMap(valuePools);
+        for (final Class<?> clazz : POOLED_CLASSES) {
+            newPools.put(clazz, policy);
+        }
+
+        final Builder builder = new Builder(this);
+        builder.valuePools = newPools;
+
+        return builder.build();
+    }
+
+    /**
+     * <p>Creates a new {@link Config} with the executor that runs asynchronous generation, eg.
+     * {@link ObjectFactory#createAsync(Class)}.</p>
+     *
+     * <p>
+     * By default, each generation runs on a virtual thread of its own on JDK 21 or later, else on a shared pool
+     * of as many daemon threads as there are processors.
+     * </p>
+     *
+     * @param executor runs the generation.
+     * @return the new configuration.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public Config withExecutor(final Executor executor) {
+        checkNotNull(executor, "executor cannot be null");
+
+        final Builder builder = new Builder(this);
+        builder.executor = Optional.of(executor);
+
+        return builder.build();
     }
 
     /**
      * @return the suppliers.
      */
     public Map<Class<?>, Supplier> getSuppliers() {
-        return ImmutableMap.copyOf(suppliers);
+        return suppliers;
     }
 
     /**
      * @return the suppliers for proxy method.
      */
     public Map<String, Supplier> getPmSuppliers() {
-        return ImmutableMap.copyOf(pmSuppliers);
+        return pmSuppliers;
     }
 
     /**
@@ -186,18 +462,156 @@ public final class Config {
         return arraySizeSupplier;
     }
 
+    /**
+     * @return the collection providers.
+     */
+    public Map<Class<?>, CollectionProvider> getCollectionProviders() {
+        return collectionProviders;
+    }
+
+    /**
+     * @return the map providers.
+     */
+    public Map<Class<?>, MapProvider> getMapProviders() {
+        return mapProviders;
+    }
+
+    /**
+     * @return the seed of generation, empty if not seeded.
+     */
+    public OptionalLong getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return the executor of asynchronous generation, empty for the default executor.
+     */
+    public Optional<Executor> getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the source of random number generators.
+     */
+    public RandomSource getRandomSource() {
+        return randomSource;
+    }
+
+    /**
+     * @return the pool policy of each pooled class.
+     */
+    public Map<Class<?>, PoolPolicy> getValuePools() {
+        return valuePools;
+    }
+
     @Override
     public int hashCode() {
-        return HashCodeBuilder.reflectionHashCode(this);
+        return hash;
     }
 
     @Override
     public boolean equals(final Object other) {
-        return EqualsBuilder.reflectionEquals(this, other);
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Config)) {
+            return false;
+        }
+
+        final Config that = (Config) other;
+        return hash == that.hash
+                && suppliers.equals(that.suppliers)
+                && pmSuppliers.equals(that.pmSuppliers)
+                && arraySizeSupplier.equals(that.arraySizeSupplier)
+                && collectionProviders.equals(that.collectionProviders)
+                && mapProviders.equals(that.mapProviders)
+                && seed.equals(that.seed)
+                && randomSource.equals(that.randomSource)
+                && valuePools.equals(that.valuePools)
+                && executor.equals(that.executor);
     }
 
     @Override
     public String toString() {
         return ToStringBuilder.reflectionToString(this, ToStringStyle.SIMPLE_STYLE);
     }
+
+    /**
+     * Mutable copy of configuration values, used to derive a new {@link Config}.
+     */
+    private static final class Builder {
+
+        /** Map from class to supplier. */
+        private Map<Class<?>, Supplier> suppliers;
+
+        /** Suppliers for proxy method or property. */
+        private Map<String, Supplier> pmSuppliers;
+
+        /** Supplies array size. */
+        private Supplier<Integer> arraySizeSupplier;
+
+        /** Map from collection interface or concrete class to its provider. */
+        private Map<Class<?>, CollectionProvider> collectionProviders;
+
+        /** Map from map interface or concrete class to its provider. */
+        private Map<Class<?>, MapProvider> mapProviders;
+
+        /** Seed of generation, empty if not seeded. */
+        private OptionalLong seed;
+
+        /** Creates the random number generators. */
+        private RandomSource randomSource;
+
+        /** Map from pooled class to its pool policy. */
+        private Map<Class<?>, PoolPolicy> valuePools;
+
+        /** Runs asynchronous generation, empty for the default executor. */
+        private Optional<Executor> executor;
+
+        /**
+         * Instantiates a new {@link Builder} with default values for anything other than the arguments.
+         *
+         * @param suppliers a map from class to its supplier.
+         * @param pmSuppliers a map from proxy method name to its supplier.
+         * @param arraySizeSupplier supplies array size.
+         */
+        Builder(final Map<Class<?>, Supplier> suppliers,
+                final Map<String, Supplier> pmSuppliers,
+                final Supplier<Integer> arraySizeSupplier) {
+            this.suppliers = suppliers;
+            this.pmSuppliers = pmSuppliers;
+            this.arraySizeSupplier = arraySizeSupplier;
+            this.collectionProviders = CollectionProviders.defaults();
+            this.mapProviders = MapProviders.defaults();
+            this.seed = OptionalLong.empty();
+            this.randomSource = RandomSources.SPLITTABLE;
+            this.valuePools = ImmutableMap.of();
+            this.executor = Optional.empty();
+        }
+
+        /**
+         * Instantiates a new {@link Builder} with the values of a configuration.
+         *
+         * @param config the configuration to copy.
+         */
+        Builder(final Config config) {
+            this.suppliers = config.suppliers;
+            this.pmSuppliers = config.pmSuppliers;
+            this.arraySizeSupplier = config.arraySizeSupplier;
+            this.collectionProviders = config.collectionProviders;
+            this.mapProviders = config.mapProviders;
+            this.seed = config.seed;
+            this.randomSource = config.randomSource;
+            this.valuePools = config.valuePools;
+            this.executor = config.executor;
+        }
+
+        /**
+         * @return the new configuration.
+         * @throws NullPointerException if any value is <code>null</code>.
+         */
+        Config build() {
+            return new Config(this);
+        }
+    }
 }
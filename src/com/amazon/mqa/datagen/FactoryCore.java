@@ -0,0 +1,215 @@
+package com.amazon.mqa.datagen;
+
+import com.amazon.mqa.datagen.rof.DefaultObjectFactory;
+import com.amazon.mqa.datagen.rof.NonNullObjectFactory;
+import com.amazon.mqa.datagen.rof.ObjectCreationException;
+import com.amazon.mqa.datagen.rof.ObjectFactory;
+import com.amazon.mqa.datagen.rof.PrimitiveGenerator;
+import com.amazon.mqa.datagen.rof.UniqueObjectGenerator;
+import com.amazon.mqa.datagen.rof.typed.DefaultTypedObjectFactory;
+import com.amazon.mqa.datagen.rof.typed.TypedObjectFactory;
+import com.amazon.mqa.datagen.supplier.PoolPolicy;
+import com.amazon.mqa.datagen.supplier.PooledSupplier;
+import com.google.common.base.Supplier;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+
+/**
+ * <p>The thread-safe object factories built from a {@link Config}, shared by all factories of equal
+ * configurations.</p>
+ *
+ * <p>
+ * Building the factories and warming up their caches of compiled generators is far more expensive than
+ * generating an object, so the cores of recently used configurations are kept and reused, eg. by
+ * {@link ReflectionObjectFactory#createObject(Class)}. Per factory state, such as the sequence of seeds, is not
+ * part of the core. Value pools hold the cursors of their rings, so a configuration with value pools gets a core
+ * of its own, which keeps its factories reproducible. The core of a derived factory starts with the warm caches
+ * of its parent's core that its configuration leaves valid.
+ * </p>
+ */
+final class FactoryCore {
+
+    /** The max number of cores kept. */
+    private static final int MAX_CORES = 64;
+
+    /** Map from configuration to its core. */
+    private static final LoadingCache<Config, FactoryCore> CORES = CacheBuilder.newBuilder()
+            .maximumSize(MAX_CORES)
+            .build(CacheLoader.from(FactoryCore::new));
+
+    /** Creates objects with the suppliers of the configuration, which derived cores start from. */
+    private final DefaultObjectFactory unpooledFactory;
+
+    /** Creates objects drawing from the value pools, which derived cores start from. */
+    private final DefaultObjectFactory pooledFactory;
+
+    /** Inner object factory. */
+    private final ObjectFactory factory;
+
+    /** Creates objects from generic types. */
+    private final DefaultTypedObjectFactory typedFactory;
+
+    /** Creates distinct objects for sets and map keys, never drawing from value pools. */
+    private final UniqueObjectGenerator uniqueGenerator;
+
+    /** Generates primitives in bulk. */
+    private final PrimitiveGenerator primitiveGenerator;
+
+    /**
+     * @param config factory configuration.
+     * @return the shared core of the configuration, or a core of its own if it has value pools.
+     */
+    static FactoryCore of(final Config config) {
+        assert config != null : "config cannot be null";
+
+        return config.getValuePools().isEmpty() ? CORES.getUnchecked(config) : new FactoryCore(config);
+    }
+
+    /**
+     * Derives the core of a configuration from this core, reusing the suppliers resolved for classes, the plans of
+     * POJOs and the generators of generic types that don't depend on a supplier changed by the configuration.
+     *
+     * @param config the derived factory configuration.
+     * @return the shared core of the configuration, or a core of its own if it has value pools.
+     */
+    FactoryCore derive(final Config config) {
+        assert config != null : "config cannot be null";
+
+        if (!config.getValuePools().isEmpty()) {
+            return new FactoryCore(config, this);
+        }
+
+        FactoryCore core = CORES.getIfPresent(config);
+        if (core == null) {
+            // deriving is idempotent, so a racing thread at worst derives an equivalent core
+            core = new FactoryCore(config, this);
+            CORES.put(config, core);
+        }
+
+        return core;
+    }
+
+    /**
+     * Instantiates a new {@link FactoryCore}.
+     *
+     * @param config factory configuration.
+     */
+    private FactoryCore(final Config config) {
+        this(config, null);
+    }
+
+    /**
+     * Instantiates a new {@link FactoryCore}.
+     *
+     * @param config factory configuration.
+     * @param parent the core to derive from, <code>null</code> if none.
+     */
+    private FactoryCore(final Config config, final FactoryCore parent) {
+        assert config != null : "config cannot be null";
+
+        this.unpooledFactory = createFactory(config, config.getSuppliers(),
+                parent == null ? null : parent.unpooledFactory);
+        final ObjectFactory unpooled = new NonNullObjectFactory(unpooledFactory);
+        this.pooledFactory = config.getValuePools().isEmpty()
+                ? unpooledFactory
+                : createFactory(config, pooledSuppliers(config, unpooled),
+                        parent == null ? null : parent.pooledFactory);
+        this.factory = config.getValuePools().isEmpty() ? unpooled : new NonNullObjectFactory(pooledFactory);
+        this.typedFactory = parent == null
+                ? new DefaultTypedObjectFactory(factory, config.getCollectionProviders(), config.getMapProviders())
+                : parent.typedFactory.derive(factory, config.getCollectionProviders(), config.getMapProviders());
+        this.uniqueGenerator = new UniqueObjectGenerator(config.getSuppliers(), unpooled);
+        this.primitiveGenerator = new PrimitiveGenerator(config.getSuppliers());
+    }
+
+    /**
+     * @param config factory configuration.
+     * @param suppliers a map from class to the supplier that can supply object of that class.
+     * @param parent the factory to derive from, <code>null</code> if none.
+     * @return the object factory, which returns <code>null</code> for unsupported classes.
+     */
+    private static DefaultObjectFactory createFactory(final Config config,
+                                                      final Map<Class<?>, Supplier> suppliers,
+                                                      final DefaultObjectFactory parent) {
+        assert config != null : "config cannot be null";
+
+        return parent == null
+                ? new DefaultObjectFactory(suppliers, config.getPmSuppliers(), config.getArraySizeSupplier(),
+                        config.getCollectionProviders(), config.getMapProviders())
+                : parent.derive(suppliers, config.getPmSuppliers(), config.getArraySizeSupplier(),
+                        config.getCollectionProviders(), config.getMapProviders());
+    }
+
+    /**
+     * Wraps the supplier of each pooled class in a {@link PooledSupplier}, filling pools of classes without
+     * supplier from an unpooled factory.
+     *
+     * @param config factory configuration.
+     * @param unpooledFactory creates objects of pooled classes without supplier.
+     * @return the suppliers with pooled classes.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<Class<?>, Supplier> pooledSuppliers(final Config config,
+                                                           final ObjectFactory unpooledFactory) {
+        assert config != null : "config cannot be null";
+        assert unpooledFactory != null : "unpooledFactory cannot be null";
+
+        final Map<Class<?>, Supplier> suppliers = Maps.newHashMap(config.getSuppliers());
+        for (final Map.Entry<Class<?>, PoolPolicy> pool : config.getValuePools().entrySet()) {
+            final Class<?> clazz = pool.getKey();
+            final Supplier<?> supplier = suppliers.containsKey(clazz)
+                    ? suppliers.get(clazz)
+                    : () -> unpooledFactory.create(clazz);
+            suppliers.put(clazz, new PooledSupplier<>(supplier, pool.getValue()));
+        }
+
+        return suppliers;
+    }
+
+    /**
+     * Creates and discards an object of a class, which resolves and caches everything its creation needs, eg.
+     * the constructor and setters of each class in its object graph, the generators of generic types and the
+     * proxy classes.
+     *
+     * @param clazz the class to prepare.
+     * @throws ObjectCreationException if the object cannot be created.
+     */
+    void prepare(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        factory.create(clazz);
+    }
+
+    /**
+     * @return the inner object factory.
+     */
+    ObjectFactory getFactory() {
+        return factory;
+    }
+
+    /**
+     * @return the factory of objects from generic types.
+     */
+    TypedObjectFactory getTypedFactory() {
+        return typedFactory;
+    }
+
+    /**
+     * @return the generator of distinct objects.
+     */
+    UniqueObjectGenerator getUniqueGenerator() {
+        return uniqueGenerator;
+    }
+
+    /**
+     * @return the generator of primitives in bulk.
+     */
+    PrimitiveGenerator getPrimitiveGenerator() {
+        return primitiveGenerator;
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.amazon.mqa.datagen;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Spliterator over the elements generated from the indexes of a range, split by halving the range without
+ * buffering elements, so that parallel streams divide the work evenly.
+ *
+ * @param <E> the type of elements.
+ */
+final class IndexSpliterator<E> implements Spliterator<E> {
+
+    /** Generates the element at an index. */
+    private final LongFunction<? extends E> elementAt;
+
+    /** The next index. */
+    private long index;
+
+    /** The end index (exclusive). */
+    private final long end;
+
+    /** Whether the end is the actual end rather than a bound of an endless range. */
+    private final boolean sized;
+
+    /**
+     * Instantiates a new {@link IndexSpliterator}.
+     *
+     * @param elementAt generates the element at an index, never <code>null</code>.
+     * @param index the start index.
+     * @param end the end index (exclusive).
+     * @param sized whether the end is the actual end rather than a bound of an endless range.
+     */
+    IndexSpliterator(final LongFunction<? extends E> elementAt,
+                     final long index,
+                     final long end,
+                     final boolean sized) {
+        assert elementAt != null : "elementAt cannot be null";
+        assert index <= end : "index cannot be after end";
+
+        this.elementAt = elementAt;
+        this.index = index;
+        this.end = end;
+        this.sized = sized;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super E> action) {
+        if (index >= end) {
+            return false;
+        }
+
+        action.accept(elementAt.apply(index++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<E> trySplit() {
+        final long middle = (index + end) >>> 1;
+        if (middle <= index) {
+            return null;
+        }
+
+        final Spliterator<E> prefix = new IndexSpliterator<>(elementAt, index, middle, sized);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return end - index;
+    }
+
+    @Override
+    public int characteristics() {
+        final int characteristics = ORDERED | IMMUTABLE | NONNULL;
+
+        return sized ? characteristics | SIZED | SUBSIZED : characteristics;
+    }
+
+}
@@ -1,8 +1,17 @@
 package com.amazon.mqa.datagen;
 
+import com.google.common.reflect.TypeToken;
+
+import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 /**
  * Creates objects, populated with arbitrary data.
@@ -18,6 +27,29 @@ public interface ObjectFactory {
      */
     <T> T create(Class<T> clazz);
 
+    /**
+     * Creates a populated object from a generic type,
+     * eg. <code>new TypeToken&lt;Map&lt;String, List&lt;Foo&gt;&gt;&gt;() { }</code>.
+     *
+     * @param typeToken the type to create.
+     * @param <T> the type.
+     * @return an instance of the type.
+     * @throws NullPointerException if the argument is <code>null</code>.
+     *
+     * @see ObjectFactory#create(Type)
+     */
+    <T> T create(TypeToken<T> typeToken);
+
+    /**
+     * Creates a populated object from a type. The type is analyzed only once per factory, subsequent calls with
+     * an equal type reuse the cached generator.
+     *
+     * @param type the type to create.
+     * @return an instance of the type.
+     * @throws NullPointerException if the argument is <code>null</code>.
+     */
+    Object create(Type type);
+
     /**
      * Creates a list of populated objects with the default size (implementation dependent).
      *
@@ -57,13 +89,11 @@ public interface ObjectFactory {
     <T> Set<T> setOf(Class<T> clazz);
 
     /**
-     * <p>Creates a set of populated objects.</p>
+     * <p>Creates a set of exactly the requested number of populated objects.</p>
      *
      * <p>
-     * The actual number of objects created may occasionally be smaller than requested if it is hard to create
-     * the requested number of unique objects. For instance, it isn't possible to create a set of more than
-     * two Booleans. This method will attempt to create the desired number of objects, but it may not always
-     * succeed.
+     * Fails fast if the class doesn't have enough distinct objects. For instance, it isn't possible to create
+     * a set of more than two Booleans.
      * </p>
      *
      * @param clazz the class of object to create.
@@ -71,7 +101,8 @@ public interface ObjectFactory {
      * @param <T> the type of object to create.
      * @return the indicated number of objects, populated with arbitrary data.
      * @throws NullPointerException if an argument is <code>null</code>.
-     * @throws IllegalArgumentException if the number of objects is negative.
+     * @throws IllegalArgumentException if the number of objects is negative or more than the number of distinct
+     *         objects of the class.
      *
      * @see ReflectionObjectFactory#setOf(Class)
      */
@@ -92,7 +123,7 @@ public interface ObjectFactory {
     <K, V> Map<K, V> mapOf(Class<K> keyClass, Class<V> valueClass);
 
     /**
-     * <p>Creates a map of populated objects.</p>
+     * <p>Creates a map of exactly the requested number of entries, with distinct keys.</p>
      *
      * @param keyClass the class of map's key.
      * @param valueClass the class of map's value.
@@ -100,11 +131,230 @@ public interface ObjectFactory {
      * @param <K> the type of key.
      * @param <V> the type of value.
      * @return a map of object.
-     * @throws IllegalArgumentException if the number of objects is negative.
+     * @throws IllegalArgumentException if the number of objects is negative or more than the number of distinct
+     *         keys.
      * @throws NullPointerException if any argument is <code>null</code>.
      *
      * @see ReflectionObjectFactory#mapOf(Class, Class)
      */
     <K, V> Map<K, V> mapOf(Class<K> keyClass, Class<V> valueClass, int howMany);
 
+    /**
+     * <p>Creates the object at an index of a seeded sequence, which is the same object every time.</p>
+     *
+     * <p>
+     * The index is reached directly, without generating the objects before it, so disjoint slices of a huge
+     * dataset can be generated by separate threads or processes without coordination, and any single object can be
+     * regenerated on demand instead of stored. Values that don't come from the random source, eg. the current
+     * date, or from value pools, differ between calls.
+     * </p>
+     *
+     * @param clazz the class to create.
+     * @param seed the seed of the sequence.
+     * @param index the index in the sequence.
+     * @param <T> the type of class.
+     * @return the object at the index.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the index is negative.
+     */
+    <T> T at(Class<T> clazz, long seed, long index);
+
+    /**
+     * <p>Creates an unmodifiable list view whose element at each index is created on access, as by
+     * {@link #at(Class, long, long)}.</p>
+     *
+     * <p>
+     * The list takes constant memory whatever its size, eg. for pagination or batch tests over millions of
+     * records. Views, iteration and parallel streams don't materialize the list either, but each access of an
+     * element creates it again.
+     * </p>
+     *
+     * @param clazz the class of elements.
+     * @param size the number of elements.
+     * @param seed the seed of the sequence of elements.
+     * @param <T> the type of elements.
+     * @return the list.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    <T> List<T> virtualListOf(Class<T> clazz, int size, long seed);
+
+    /**
+     * Creates an unmodifiable list view whose element at each index is created on access, keeping the most
+     * recently accessed elements.
+     *
+     * @param clazz the class of elements.
+     * @param size the number of elements.
+     * @param seed the seed of the sequence of elements.
+     * @param cacheSize the number of most recently accessed elements to keep, 0 to keep none.
+     * @param <T> the type of elements.
+     * @return the list.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the size or the cache size is negative.
+     *
+     * @see #virtualListOf(Class, int, long)
+     */
+    <T> List<T> virtualListOf(Class<T> clazz, int size, long seed, int cacheSize);
+
+    /**
+     * <p>Creates a populated object on the executor of the configuration, eg. to overlap the generation of
+     * fixtures with I/O.</p>
+     *
+     * <p>
+     * If the factory is seeded, the seed of the object is taken when this method is called, so the object only
+     * depends on the sequence of calls, not on when it is generated.
+     * </p>
+     *
+     * @param clazz the class to create.
+     * @param <T> the type of the class.
+     * @return the future object, completed exceptionally if the object cannot be created.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     *
+     * @see Config#withExecutor(java.util.concurrent.Executor)
+     */
+    <T> CompletableFuture<T> createAsync(Class<T> clazz);
+
+    /**
+     * Creates a list of populated objects on the executor of the configuration.
+     *
+     * @param clazz the class of object to create.
+     * @param howMany the number of objects to create.
+     * @param <T> the type of object to create.
+     * @return the future list, completed exceptionally if the objects cannot be created.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number of objects is negative.
+     *
+     * @see #createAsync(Class)
+     */
+    <T> CompletableFuture<List<T>> listOfAsync(Class<T> clazz, int howMany);
+
+    /**
+     * <p>Creates an endless lazy stream of populated objects, each created when consumed.</p>
+     *
+     * <p>
+     * Millions of objects can be filtered, mapped or written in constant memory. A parallel stream splits the
+     * work evenly across threads, each object drawing from its own random generator; if the factory is seeded,
+     * the objects depend only on the seed and their position in the stream, not on how it is split.
+     * </p>
+     *
+     * @param clazz the class of objects.
+     * @param <T> the type of objects.
+     * @return the stream, to be limited by the consumer.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    <T> Stream<T> stream(Class<T> clazz);
+
+    /**
+     * Creates a sized lazy stream of populated objects, each created when consumed.
+     *
+     * @param clazz the class of objects.
+     * @param howMany the number of objects.
+     * @param <T> the type of objects.
+     * @return the stream.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number of objects is negative.
+     *
+     * @see #stream(Class)
+     */
+    <T> Stream<T> stream(Class<T> clazz, long howMany);
+
+    /**
+     * <p>Creates a factory whose configuration is derived from the configuration of this factory, eg. with one
+     * supplier overridden for a test.</p>
+     *
+     * <p>
+     * The derived factory shares everything that doesn't depend on the configuration, such as the constructors
+     * and setters found by reflection, the implementations found for interfaces and the proxy classes, so it is
+     * cheap to create. It starts with the suppliers resolved for classes, the plans of POJOs and the generators of
+     * generic types of this factory that the derived configuration leaves valid, and shares all its generators if
+     * its configuration equals one in use. A seeded derived factory starts its own sequence of seeds.
+     * </p>
+     *
+     * @param derivation derives the configuration, eg. <code>config -&gt; config.withSupplier(...)</code>.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>, or the derived configuration is
+     *         <code>null</code>.
+     */
+    ObjectFactory derive(UnaryOperator<Config> derivation);
+
+    /**
+     * <p>Creates an array of random ints, bypassing object creation and boxing.</p>
+     *
+     * <p>
+     * Use {@link com.google.common.primitives.Ints#asList(int...)} for a list view backed by the array.
+     * </p>
+     *
+     * @param howMany the number of ints.
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    int[] intsOf(int howMany);
+
+    /**
+     * Creates an array of random ints within a range, bypassing object creation and boxing.
+     *
+     * @param howMany the number of ints.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    int[] intsOf(int howMany, int min, int max);
+
+    /**
+     * Creates an array of random longs, bypassing object creation and boxing.
+     *
+     * @param howMany the number of longs.
+     * @return an array of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    long[] longsOf(int howMany);
+
+    /**
+     * Creates an array of random doubles, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    double[] doublesOf(int howMany);
+
+    /**
+     * Creates an array of random doubles within a range, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    double[] doublesOf(int howMany, double min, double max);
+
+    /**
+     * Creates a stream of random ints, bypassing object creation and boxing.
+     *
+     * @param howMany the number of ints.
+     * @return a sequential stream of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    IntStream ints(long howMany);
+
+    /**
+     * Creates a stream of random longs, bypassing object creation and boxing.
+     *
+     * @param howMany the number of longs.
+     * @return a sequential stream of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    LongStream longs(long howMany);
+
+    /**
+     * Creates a stream of random doubles, bypassing object creation and boxing.
+     *
+     * @param howMany the number of doubles.
+     * @return a sequential stream of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    DoubleStream doubles(long howMany);
+
 }
@@ -2,7 +2,16 @@ package com.amazon.mqa.datagen;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.amazon.mqa.datagen.rof.ObjectCreationException;
 import com.google.common.base.Supplier;
+import com.google.common.collect.Sets;
+import org.reflections.ReflectionUtils;
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Set;
 
 /**
  * Builds {@link ObjectFactory}.
@@ -12,6 +21,12 @@ public final class ObjectFactoryBuilder {
     /** Configurations. */
     private Config config = Config.createDefault();
 
+    /** Classes to prepare, which must be created successfully. */
+    private final Set<Class<?>> preparedClasses = Sets.newLinkedHashSet();
+
+    /** Prefixes of the packages whose classes to prepare. */
+    private final Set<String> preparedPackages = Sets.newLinkedHashSet();
+
     /**
      * @see Config#withSupplier(Class, Supplier)
      * @param clazz the class to supplier
@@ -45,12 +60,79 @@ public final class ObjectFactoryBuilder {
     }
 
     /**
-     * Builds {@link ObjectFactory}.
+     * Resolves ahead of time everything the creation of the classes needs, eg. constructors, setters, generic
+     * types and proxy classes, so that the first objects created by the factory are not slower than the rest.
+     *
+     * @param classes the classes to prepare.
+     * @return the builder.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public ObjectFactoryBuilder prepare(final Class<?>... classes) {
+        checkNotNull(classes, "classes cannot be null");
+
+        for (final Class<?> clazz : classes) {
+            preparedClasses.add(checkNotNull(clazz, "clazz cannot be null"));
+        }
+
+        return this;
+    }
+
+    /**
+     * Prepares the classes of the packages under a prefix, skipping those which cannot be created.
+     *
+     * @see #prepare(Class[])
+     * @param packagePrefix the prefix of the package names, eg. <code>com.example.model</code>.
+     * @return the builder.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public ObjectFactoryBuilder prepare(final String packagePrefix) {
+        checkNotNull(packagePrefix, "packagePrefix cannot be null");
+
+        preparedPackages.add(packagePrefix);
+
+        return this;
+    }
+
+    /**
+     * Builds {@link ObjectFactory}, preparing the classes in parallel first.
      *
      * @return the instance.
+     * @throws ObjectCreationException if a class given to {@link #prepare(Class[])} cannot be created.
      */
     public ObjectFactory build() {
+        final FactoryCore core = FactoryCore.of(config);
+        preparedClasses.parallelStream().forEach(core::prepare);
+        packageClasses().parallelStream().forEach(clazz -> {
+            //CHECKSTYLE:SUPPRESS:IllegalCatch
+            try {
+                core.prepare(clazz);
+            } catch (final RuntimeException | StackOverflowError e) {
+                // a package may hold classes that are never meant to be created, eg. ones that contain themselves
+            }
+            //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+        });
+
         return new ReflectionObjectFactory(config);
     }
 
+    /**
+     * @return the named classes of the prepared packages, other than the classes given to prepare.
+     */
+    private Set<Class<?>> packageClasses() {
+        final Set<Class<?>> classes = Sets.newLinkedHashSet();
+        for (final String packagePrefix : preparedPackages) {
+            // every scanned class is indexed as the sub type of its super types, whether scanned or not
+            final Reflections reflections = new Reflections(packagePrefix, new SubTypesScanner(false));
+            final Collection<String> names =
+                    reflections.getStore().get(SubTypesScanner.class.getSimpleName()).values();
+            ReflectionUtils.<Object>forNames(names).stream()
+                    .filter(e -> !e.isAnonymousClass() && !e.isLocalClass() && !e.isSynthetic())
+                    .filter(e -> e.getEnclosingClass() == null || Modifier.isStatic(e.getModifiers()))
+                    .filter(e -> !preparedClasses.contains(e))
+                    .forEach(classes::add);
+        }
+
+        return classes;
+    }
+
 }
@@ -0,0 +1,277 @@
+package com.amazon.mqa.datagen;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.math.LongMath;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * <p>Publishes generated objects to subscribers as they request them, following the reactive streams protocol
+ * of <code>java.util.concurrent.Flow</code>, eg. to feed a reactive pipeline under test at the rate it can
+ * absorb.</p>
+ *
+ * <p>
+ * Each subscription pulls from its own lazy stream, eg. <code>() -&gt; factory.stream(Foo.class, 1000)</code>, so
+ * objects are only generated once requested, never buffered, and a seeded factory publishes the same objects
+ * whatever the pattern of requests. Objects are generated and signalled on the executor, at most a batch at a
+ * time before the executor gets to run other tasks.
+ * </p>
+ *
+ * <p>
+ * The library targets Java 8, which has no <code>Flow</code>, so the publisher uses its own
+ * {@link ObjectPublisher.Subscriber} and {@link ObjectPublisher.Subscription} with the same methods and rules. A
+ * <code>Flow</code> or reactive streams subscriber is plugged in by forwarding each method.
+ * </p>
+ *
+ * @param <T> the type of objects.
+ */
+public final class ObjectPublisher<T> {
+
+    /** Creates the stream of objects of each subscription. */
+    private final Supplier<? extends Stream<T>> source;
+
+    /** The max number of objects signalled per task on the executor. */
+    private final int batchSize;
+
+    /** Generates and signals the objects. */
+    private final Executor executor;
+
+    /**
+     * Instantiates a new {@link ObjectPublisher}.
+     *
+     * @param source creates the stream of objects of each subscription, a completed subscription if finite.
+     * @param batchSize the max number of objects signalled per task on the executor.
+     * @param executor generates and signals the objects.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the batch size is not positive.
+     */
+    public ObjectPublisher(final Supplier<? extends Stream<T>> source,
+                           final int batchSize,
+                           final Executor executor) {
+        this.source = checkNotNull(source, "source cannot be null");
+        checkArgument(batchSize > 0, "batchSize must be positive");
+        this.batchSize = batchSize;
+        this.executor = checkNotNull(executor, "executor cannot be null");
+    }
+
+    /**
+     * Subscribes to objects, which are signalled once requested through the subscription.
+     *
+     * @param subscriber the subscriber.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        checkNotNull(subscriber, "subscriber cannot be null");
+
+        subscriber.onSubscribe(new Emitter(subscriber));
+    }
+
+    /**
+     * Receives the objects of a subscription, mirroring <code>java.util.concurrent.Flow.Subscriber</code>.
+     *
+     * @param <T> the type of objects.
+     */
+    public interface Subscriber<T> {
+
+        /**
+         * Called once, before any other method.
+         *
+         * @param subscription the subscription, to request objects.
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called for each requested object.
+         *
+         * @param item the object.
+         */
+        void onNext(T item);
+
+        /**
+         * Called once, if generating or signalling fails or a request is invalid, ending the subscription.
+         *
+         * @param throwable the failure.
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called once, if all the objects of a finite stream were signalled, ending the subscription.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Controls the flow of objects to a subscriber, mirroring <code>java.util.concurrent.Flow.Subscription</code>.
+     */
+    public interface Subscription {
+
+        /**
+         * Adds to the number of objects to signal.
+         *
+         * @param n the number of objects, {@link Long#MAX_VALUE} for unbounded; a non-positive number is signalled
+         *          as an {@link IllegalArgumentException}.
+         */
+        void request(long n);
+
+        /**
+         * Stops signalling objects, possibly after a few more.
+         */
+        void cancel();
+    }
+
+    /**
+     * Subscription that drains the requested objects of its stream on the executor, on one task at a time.
+     */
+    private final class Emitter implements Subscription {
+
+        /** The subscriber. */
+        private final Subscriber<? super T> subscriber;
+
+        /** The number of objects requested but not signalled yet, {@link Long#MAX_VALUE} if unbounded. */
+        private final AtomicLong requested = new AtomicLong();
+
+        /** The number of times draining was asked for, the draining task running while positive. */
+        private final AtomicInteger work = new AtomicInteger();
+
+        /** Whether the subscription ended, by cancellation or a terminal signal. */
+        private volatile boolean done;
+
+        /** The error of an invalid request, to signal by the draining task, <code>null</code> if none. */
+        private volatile Throwable invalidRequest;
+
+        /** The stream, <code>null</code> until the first drain. Only accessed by the draining task. */
+        private Stream<T> stream;
+
+        /** Iterates over the stream. Only accessed by the draining task. */
+        private Iterator<T> iterator;
+
+        /**
+         * Instantiates a new {@link Emitter}.
+         *
+         * @param subscriber the subscriber.
+         */
+        Emitter(final Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("expected a positive request, got " + n);
+            } else {
+                // capped, since Long.MAX_VALUE stands for unbounded
+                requested.accumulateAndGet(n, LongMath::saturatedAdd);
+            }
+
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            schedule();
+        }
+
+        /**
+         * Starts a draining task unless one is running, which then drains again.
+         */
+        private void schedule() {
+            if (work.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        /**
+         * Signals requested objects until there are no more requests or a batch was signalled, in which case the
+         * draining continues on a new task.
+         */
+        private void drain() {
+            int missed = work.get();
+            int emitted = 0;
+            while (true) {
+                if (invalidRequest != null) {
+                    fail(invalidRequest);
+                }
+
+                while (!done && requested.get() > 0) {
+                    if (emitted == batchSize) {
+                        // keeps the work count, so that no other task starts draining meanwhile
+                        executor.execute(this::drain);
+                        return;
+                    }
+
+                    emitNext();
+                    emitted++;
+                }
+
+                if (done) {
+                    close();
+                }
+
+                missed = work.addAndGet(-missed);
+                if (missed == 0) {
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Signals the next object of the stream, or the end of the stream.
+         */
+        private void emitNext() {
+            final T next;
+            //CHECKSTYLE:SUPPRESS:IllegalCatch
+            try {
+                if (iterator == null) {
+                    stream = source.get();
+                    iterator = stream.iterator();
+                }
+                if (!iterator.hasNext()) {
+                    done = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                next = iterator.next();
+            } catch (final RuntimeException e) {
+                fail(e);
+                return;
+            }
+            //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+
+            if (requested.get() != Long.MAX_VALUE) {
+                requested.decrementAndGet();
+            }
+            subscriber.onNext(next);
+        }
+
+        /**
+         * Ends the subscription with an error, unless it already ended.
+         *
+         * @param throwable the error.
+         */
+        private void fail(final Throwable throwable) {
+            if (!done) {
+                done = true;
+                subscriber.onError(throwable);
+            }
+        }
+
+        /**
+         * Releases the stream.
+         */
+        private void close() {
+            if (stream != null) {
+                stream.close();
+                stream = null;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,446 @@
+package com.amazon.mqa.datagen;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.UnaryOperator;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <p>Decorates an {@link ObjectFactory} to create objects of some classes ahead of time on background threads.</p>
+ *
+ * <p>
+ * Each prefetched class has a bounded queue that producer threads keep filled, so {@link #create(Class)} of a
+ * prefetched class usually just takes an object off a lock-free queue. If the queue is empty, the object is
+ * created on the calling thread and counted as a starvation. Each queue keeps an atomic count of its free slots,
+ * which producers claim in turn across the queues and which taking an object hands back without a lock. Producers
+ * park while no queue has a free slot rather than poll them, and handing a slot back unparks one. Any other call,
+ * and a class whose creation fails or yields <code>null</code> on a producer, goes to the decorated factory.
+ * </p>
+ *
+ * <p>
+ * Objects are created on producer threads in no particular order, so a seeded factory no longer yields the same
+ * objects for the same sequence of calls. Close the factory to stop the producers.
+ * </p>
+ */
+public final class PrefetchingObjectFactory implements ObjectFactory, AutoCloseable {
+
+    /** The decorated factory. */
+    private final ObjectFactory factory;
+
+    /** Map from prefetched class to its queue. */
+    private final Map<Class<?>, Channel> channels;
+
+    /** The queues in the order the producers claim their free slots. */
+    private final Channel[] ring;
+
+    /** The index in the ring the next producer starts looking for a free slot at. */
+    private final AtomicInteger nextChannel = new AtomicInteger();
+
+    /** The producers that found no free slot and park until one is handed back. */
+    private final Queue<Thread> idleProducers = new ConcurrentLinkedQueue<>();
+
+    /** Runs the producers. */
+    private final ExecutorService producers;
+
+    /** Whether the factory is closed. */
+    private volatile boolean closed;
+
+    /**
+     * Instantiates a new {@link PrefetchingObjectFactory} and starts its producers.
+     *
+     * @param factory the factory to decorate.
+     * @param queueDepths map from prefetched class to the max number of objects created ahead of time.
+     * @param producerCount the number of producer threads.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if a queue depth or the number of producers is not positive.
+     */
+    public PrefetchingObjectFactory(final ObjectFactory factory,
+                                    final Map<Class<?>, Integer> queueDepths,
+                                    final int producerCount) {
+        this.factory = checkNotNull(factory, "factory cannot be null");
+        checkNotNull(queueDepths, "queueDepths cannot be null");
+        checkArgument(producerCount > 0, "producerCount must be positive");
+
+        final ImmutableMap.Builder<Class<?>, Channel> builder = ImmutableMap.builder();
+        for (final Map.Entry<Class<?>, Integer> queueDepth : queueDepths.entrySet()) {
+            checkArgument(queueDepth.getValue() > 0, "queue depth of %s must be positive", queueDepth.getKey());
+            builder.put(queueDepth.getKey(), new Channel(queueDepth.getKey(), queueDepth.getValue()));
+        }
+        this.channels = builder.build();
+        this.ring = channels.values().toArray(new Channel[0]);
+
+        this.producers = Executors.newFixedThreadPool(producerCount,
+                new ThreadFactoryBuilder().setNameFormat("prefetch-%d").setDaemon(true).build());
+        for (int i = 0; i < producerCount; i++) {
+            producers.execute(this::produce);
+        }
+    }
+
+    /**
+     * Fills the free slots of the queues, parking while there are none, until the factory is closed.
+     */
+    private void produce() {
+        final Thread producer = Thread.currentThread();
+        while (!closed && !producer.isInterrupted()) {
+            Channel channel = claimSlot();
+            if (channel == null) {
+                // announce the producer before looking again, so that a slot handed back meanwhile unparks it
+                idleProducers.add(producer);
+                channel = claimSlot();
+                if (channel == null) {
+                    LockSupport.park(this);
+                }
+                idleProducers.remove(producer);
+            }
+
+            if (channel != null) {
+                channel.fill(factory);
+            }
+        }
+    }
+
+    /**
+     * Claims a free slot, starting at the queue after the one last claimed from so that all queues fill at the
+     * same pace.
+     *
+     * @return the queue of the slot, <code>null</code> if no queue has a free slot.
+     */
+    private Channel claimSlot() {
+        final int start = nextChannel.getAndIncrement();
+        for (int i = 0; i < ring.length; i++) {
+            final Channel channel = ring[Math.floorMod(start + i, ring.length)];
+            if (channel.claim()) {
+                return channel;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Unparks an idle producer, if any, after a slot was handed back.
+     */
+    private void unparkProducer() {
+        final Thread producer = idleProducers.poll();
+        if (producer != null) {
+            LockSupport.unpark(producer);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T create(final Class<T> clazz) {
+        checkNotNull(clazz, "clazz cannot be null");
+
+        final Channel channel = channels.get(clazz);
+        if (channel == null) {
+            return factory.create(clazz);
+        }
+
+        final Object object = channel.take();
+        return object == null ? factory.create(clazz) : (T) object;
+    }
+
+    @Override
+    public <T> T create(final TypeToken<T> typeToken) {
+        return factory.create(typeToken);
+    }
+
+    @Override
+    public Object create(final Type type) {
+        return factory.create(type);
+    }
+
+    @Override
+    public <T> List<T> listOf(final Class<T> clazz) {
+        return factory.listOf(clazz);
+    }
+
+    @Override
+    public <T> List<T> listOf(final Class<T> clazz, final int howMany) {
+        return factory.listOf(clazz, howMany);
+    }
+
+    @Override
+    public <T> Set<T> setOf(final Class<T> clazz) {
+        return factory.setOf(clazz);
+    }
+
+    @Override
+    public <T> Set<T> setOf(final Class<T> clazz, final int howMany) {
+        return factory.setOf(clazz, howMany);
+    }
+
+    @Override
+    public <K, V> Map<K, V> mapOf(final Class<K> keyClass, final Class<V> valueClass) {
+        return factory.mapOf(keyClass, valueClass);
+    }
+
+    @Override
+    public <K, V> Map<K, V> mapOf(final Class<K> keyClass, final Class<V> valueClass, final int howMany) {
+        return factory.mapOf(keyClass, valueClass, howMany);
+    }
+
+    @Override
+    public <T> T at(final Class<T> clazz, final long seed, final long index) {
+        return factory.at(clazz, seed, index);
+    }
+
+    @Override
+    public <T> List<T> virtualListOf(final Class<T> clazz, final int size, final long seed) {
+        return factory.virtualListOf(clazz, size, seed);
+    }
+
+    @Override
+    public <T> List<T> virtualListOf(final Class<T> clazz, final int size, final long seed, final int cacheSize) {
+        return factory.virtualListOf(clazz, size, seed, cacheSize);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> createAsync(final Class<T> clazz) {
+        return factory.createAsync(clazz);
+    }
+
+    @Override
+    public <T> CompletableFuture<List<T>> listOfAsync(final Class<T> clazz, final int howMany) {
+        return factory.listOfAsync(clazz, howMany);
+    }
+
+    @Override
+    public <T> Stream<T> stream(final Class<T> clazz) {
+        return factory.stream(clazz);
+    }
+
+    @Override
+    public <T> Stream<T> stream(final Class<T> clazz, final long howMany) {
+        return factory.stream(clazz, howMany);
+    }
+
+    /**
+     * Derives a factory from the decorated factory, which doesn't prefetch.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public ObjectFactory derive(final UnaryOperator<Config> derivation) {
+        return factory.derive(derivation);
+    }
+
+    @Override
+    public int[] intsOf(final int howMany) {
+        return factory.intsOf(howMany);
+    }
+
+    @Override
+    public int[] intsOf(final int howMany, final int min, final int max) {
+        return factory.intsOf(howMany, min, max);
+    }
+
+    @Override
+    public long[] longsOf(final int howMany) {
+        return factory.longsOf(howMany);
+    }
+
+    @Override
+    public double[] doublesOf(final int howMany) {
+        return factory.doublesOf(howMany);
+    }
+
+    @Override
+    public double[] doublesOf(final int howMany, final double min, final double max) {
+        return factory.doublesOf(howMany, min, max);
+    }
+
+    @Override
+    public IntStream ints(final long howMany) {
+        return factory.ints(howMany);
+    }
+
+    @Override
+    public LongStream longs(final long howMany) {
+        return factory.longs(howMany);
+    }
+
+    @Override
+    public DoubleStream doubles(final long howMany) {
+        return factory.doubles(howMany);
+    }
+
+    /**
+     * @param clazz a prefetched class.
+     * @return the number of objects of the class created on the calling thread because the queue was empty.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the class is not prefetched.
+     */
+    public long getStarvationCount(final Class<?> clazz) {
+        return channel(clazz).starvations.sum();
+    }
+
+    /**
+     * @param clazz a prefetched class.
+     * @return the number of times the queue of the class became full, after which no producer fills it until an
+     *         object is taken.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the class is not prefetched.
+     */
+    public long getFullCount(final Class<?> clazz) {
+        return channel(clazz).fulls.sum();
+    }
+
+    /**
+     * Stops the producers, dropping objects that were created ahead of time.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        producers.shutdownNow();
+    }
+
+    /**
+     * @param clazz a prefetched class.
+     * @return the queue of the class.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the class is not prefetched.
+     */
+    private Channel channel(final Class<?> clazz) {
+        checkNotNull(clazz, "clazz cannot be null");
+
+        final Channel channel = channels.get(clazz);
+        checkArgument(channel != null, "%s is not prefetched", clazz);
+
+        return channel;
+    }
+
+    /**
+     * Bounded queue of objects of a class created ahead of time.
+     */
+    private final class Channel {
+
+        /** The class of objects. */
+        private final Class<?> clazz;
+
+        /** The objects. */
+        private final Queue<Object> queue = new ConcurrentLinkedQueue<>();
+
+        /** The number of objects queued, at most the depth. */
+        private final AtomicInteger size = new AtomicInteger();
+
+        /** The number of slots no producer has claimed yet. */
+        private final AtomicInteger free;
+
+        /** The max number of objects created ahead of time. */
+        private final int depth;
+
+        /** The number of takes that found the queue empty. */
+        private final LongAdder starvations = new LongAdder();
+
+        /** The number of times the queue became full. */
+        private final LongAdder fulls = new LongAdder();
+
+        /** Whether creating an object failed or yielded null on a producer, which then stops filling the queue. */
+        private volatile boolean failed;
+
+        /**
+         * Instantiates a new {@link Channel}.
+         *
+         * @param clazz the class of objects.
+         * @param depth the max number of objects created ahead of time.
+         */
+        Channel(final Class<?> clazz, final int depth) {
+            this.clazz = clazz;
+            this.depth = depth;
+            this.free = new AtomicInteger(depth);
+        }
+
+        /**
+         * Claims a free slot for the calling producer to fill.
+         *
+         * @return whether a slot was claimed, <code>false</code> if the queue is full or failed.
+         */
+        boolean claim() {
+            int slots;
+            do {
+                slots = free.get();
+                if (slots == 0 || failed) {
+                    return false;
+                }
+            } while (!free.compareAndSet(slots, slots - 1));
+
+            return true;
+        }
+
+        /**
+         * Creates an object into a claimed slot of the queue.
+         *
+         * @param objectFactory creates the object.
+         */
+        void fill(final ObjectFactory objectFactory) {
+            final Object object = tryCreate(objectFactory);
+            if (object == null) {
+                // leave the class to the calling threads, which then see the failure or null, and drop the slot
+                failed = true;
+                return;
+            }
+
+            queue.offer(object);
+            if (size.incrementAndGet() == depth) {
+                fulls.increment();
+            }
+        }
+
+        /**
+         * @param objectFactory creates the object.
+         * @return the object, <code>null</code> if creating it failed.
+         */
+        private Object tryCreate(final ObjectFactory objectFactory) {
+            //CHECKSTYLE:SUPPRESS:IllegalCatch
+            try {
+                return objectFactory.create(clazz);
+            } catch (final RuntimeException e) {
+                return null;
+            }
+            //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+        }
+
+        /**
+         * @return the next object, <code>null</code> if the queue is empty.
+         */
+        Object take() {
+            final Object object = queue.poll();
+            if (object == null) {
+                starvations.increment();
+                return null;
+            }
+
+            size.decrementAndGet();
+            if (!failed) {
+                // hand the slot back to the producers
+                free.incrementAndGet();
+                unparkProducer();
+            }
+
+            return object;
+        }
+    }
+
+}
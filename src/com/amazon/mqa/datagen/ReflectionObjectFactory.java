@@ -43,4 +43,14 @@ public final class ReflectionObjectFactory extends AbstractObjectFactory impleme
         super(config);
     }
 
+    /**
+     * Instantiates a new {@link ReflectionObjectFactory}.
+     *
+     * @param config the configuration to use.
+     * @param core the factories built from the configuration.
+     */
+    ReflectionObjectFactory(final Config config, final FactoryCore core) {
+        super(config, core);
+    }
+
 }
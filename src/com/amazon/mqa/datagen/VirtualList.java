@@ -0,0 +1,113 @@
+package com.amazon.mqa.datagen;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+import java.util.AbstractList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * <p>Unmodifiable list whose elements are generated on each access from their index, in constant memory.</p>
+ *
+ * <p>
+ * Nothing is stored but an optional cache of the most recently accessed elements, so the list can be far larger
+ * than the heap. Views, iteration and streams, including parallel ones which split the list by index ranges, all
+ * go through {@link #get(int)}.
+ * </p>
+ *
+ * @param <E> the type of elements.
+ */
+final class VirtualList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** The number of elements. */
+    private final int size;
+
+    /** Generates the element at an index. */
+    private final IntFunction<? extends E> elementAt;
+
+    /** Most recently accessed elements, <code>null</code> if not cached. */
+    private final Map<Integer, E> cache;
+
+    /** Guards the cache, whose reads reorder it too, without pinning virtual threads. */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Instantiates a new {@link VirtualList}.
+     *
+     * @param size the number of elements.
+     * @param elementAt generates the element at an index, the same element every time.
+     * @param cacheSize the number of most recently accessed elements to keep, 0 to keep none.
+     */
+    VirtualList(final int size, final IntFunction<? extends E> elementAt, final int cacheSize) {
+        assert size >= 0 : "size cannot be negative";
+        assert elementAt != null : "elementAt cannot be null";
+        assert cacheSize >= 0 : "cacheSize cannot be negative";
+
+        this.size = size;
+        this.elementAt = elementAt;
+        this.cache = cacheSize == 0 ? null : new LinkedHashMap<Integer, E>(cacheSize, 1, true) {
+            /** Serial version. */
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Integer, E> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    @Override
+    public E get(final int index) {
+        checkElementIndex(index, size);
+
+        if (cache == null) {
+            return elementAt.apply(index);
+        }
+
+        lock.lock();
+        try {
+            final E cached = cache.get(index);
+            if (cached != null) {
+                return cached;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // generated outside the lock, so that accesses of other indexes don't wait
+        final E element = elementAt.apply(index);
+        lock.lock();
+        try {
+            cache.put(index, element);
+        } finally {
+            lock.unlock();
+        }
+
+        return element;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public List<E> subList(final int fromIndex, final int toIndex) {
+        checkPositionIndexes(fromIndex, toIndex, size);
+
+        return new VirtualList<>(toIndex - fromIndex, index -> get(fromIndex + index), 0);
+    }
+
+    @Override
+    public Spliterator<E> spliterator() {
+        return new IndexSpliterator<E>(index -> get((int) index), 0, size, true);
+    }
+
+}
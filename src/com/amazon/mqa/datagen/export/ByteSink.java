@@ -0,0 +1,173 @@
+package com.amazon.mqa.datagen.export;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Encodes characters as UTF-8 into a reusable direct buffer, which is drained into a channel whenever full, or
+ * into a caller's buffer, which is never drained.
+ */
+final class ByteSink implements CharSink {
+
+    /** The max number of bytes of a code point. */
+    private static final int MAX_BYTES = 4;
+
+    /** The min code point encoded in 2 bytes. */
+    private static final int TWO_BYTES = 0x80;
+
+    /** The min code point encoded in 3 bytes. */
+    private static final int THREE_BYTES = 0x800;
+
+    /** The min code point encoded in 4 bytes. */
+    private static final int FOUR_BYTES = 0x10000;
+
+    /** Leading bits of the first of 2 bytes. */
+    private static final int LEAD_OF_TWO = 0xC0;
+
+    /** Leading bits of the first of 3 bytes. */
+    private static final int LEAD_OF_THREE = 0xE0;
+
+    /** Leading bits of the first of 4 bytes. */
+    private static final int LEAD_OF_FOUR = 0xF0;
+
+    /** Leading bits of a continuation byte. */
+    private static final int CONTINUATION = 0x80;
+
+    /** Payload bits of a continuation byte. */
+    private static final int PAYLOAD = 0x3F;
+
+    /** The number of payload bits of a continuation byte. */
+    private static final int PAYLOAD_BITS = 6;
+
+    /** Encoded bytes not drained yet. */
+    private final ByteBuffer buffer;
+
+    /** The destination, <code>null</code> until opened. */
+    private WritableByteChannel channel;
+
+    /** The number of bytes written since the channel was opened. */
+    private long count;
+
+    /** The high surrogate waiting for its low surrogate, 0 if none. */
+    private char highSurrogate;
+
+    /**
+     * Instantiates a new {@link ByteSink}.
+     *
+     * @param capacity the size of the buffer in bytes.
+     */
+    ByteSink(final int capacity) {
+        assert capacity >= MAX_BYTES : "capacity cannot be less than a code point";
+
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    /**
+     * Instantiates a new {@link ByteSink} writing into a caller's buffer from its position, never drained, so that
+     * writing past its limit throws a {@link java.nio.BufferOverflowException}.
+     *
+     * @param buffer the buffer.
+     */
+    ByteSink(final ByteBuffer buffer) {
+        assert buffer != null : "buffer cannot be null";
+
+        this.buffer = buffer;
+    }
+
+    /**
+     * Drains the buffer into the current channel, if any, then writes into another one.
+     *
+     * @param destination the channel.
+     * @throws IOException if draining fails.
+     */
+    void open(final WritableByteChannel destination) throws IOException {
+        assert destination != null : "destination cannot be null";
+
+        flush();
+        this.channel = destination;
+        this.count = 0;
+    }
+
+    /**
+     * @return the number of bytes written since the channel was opened.
+     */
+    long count() {
+        return count;
+    }
+
+    @Override
+    public void put(final char c) throws IOException {
+        if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+            return;
+        }
+
+        final int codePoint;
+        if (Character.isLowSurrogate(c) && highSurrogate != 0) {
+            codePoint = Character.toCodePoint(highSurrogate, c);
+        } else {
+            codePoint = c;
+        }
+        highSurrogate = 0;
+
+        encode(codePoint);
+    }
+
+    /**
+     * Drains the buffer into the channel.
+     *
+     * @throws IOException if draining fails.
+     */
+    void flush() throws IOException {
+        if (channel == null) {
+            return;
+        }
+
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Encodes a code point as UTF-8.
+     *
+     * @param codePoint the code point.
+     * @throws IOException if draining the full buffer fails.
+     */
+    private void encode(final int codePoint) throws IOException {
+        if (buffer.remaining() < MAX_BYTES) {
+            flush();
+        }
+
+        final int start = buffer.position();
+        if (codePoint < TWO_BYTES) {
+            buffer.put((byte) codePoint);
+        } else if (codePoint < THREE_BYTES) {
+            buffer.put((byte) (LEAD_OF_TWO | codePoint >> PAYLOAD_BITS));
+            buffer.put(continuation(codePoint, 0));
+        } else if (codePoint < FOUR_BYTES) {
+            buffer.put((byte) (LEAD_OF_THREE | codePoint >> 2 * PAYLOAD_BITS));
+            buffer.put(continuation(codePoint, 1));
+            buffer.put(continuation(codePoint, 0));
+        } else {
+            buffer.put((byte) (LEAD_OF_FOUR | codePoint >> (MAX_BYTES - 1) * PAYLOAD_BITS));
+            buffer.put(continuation(codePoint, 2));
+            buffer.put(continuation(codePoint, 1));
+            buffer.put(continuation(codePoint, 0));
+        }
+        count += buffer.position() - start;
+    }
+
+    /**
+     * @param codePoint the code point.
+     * @param index the index of the continuation byte from the last one.
+     * @return the continuation byte.
+     */
+    private static byte continuation(final int codePoint, final int index) {
+        return (byte) (CONTINUATION | codePoint >> index * PAYLOAD_BITS & PAYLOAD);
+    }
+
+}
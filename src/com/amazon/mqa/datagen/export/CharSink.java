@@ -0,0 +1,67 @@
+package com.amazon.mqa.datagen.export;
+
+import java.io.IOException;
+
+/**
+ * Destination of the characters of encoded records, written one at a time so that no intermediate string is
+ * built.
+ */
+@FunctionalInterface
+interface CharSink {
+
+    /** The max number of digits of a long, with its sign. */
+    int MAX_LONG_CHARS = 20;
+
+    /** The radix of written numbers. */
+    int RADIX = 10;
+
+    /**
+     * Writes a character.
+     *
+     * @param c the character.
+     * @throws IOException if writing fails.
+     */
+    void put(char c) throws IOException;
+
+    /**
+     * Writes the characters of a sequence.
+     *
+     * @param chars the characters.
+     * @throws IOException if writing fails.
+     */
+    default void put(final CharSequence chars) throws IOException {
+        for (int i = 0; i < chars.length(); i++) {
+            put(chars.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a long.
+     *
+     * @param value the long.
+     * @throws IOException if writing fails.
+     */
+    default void put(final long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            // has no positive counterpart
+            put(Long.toString(value));
+            return;
+        }
+
+        final char[] digits = new char[MAX_LONG_CHARS];
+        int start = digits.length;
+        long remaining = Math.abs(value);
+        do {
+            digits[--start] = (char) ('0' + remaining % RADIX);
+            remaining /= RADIX;
+        } while (remaining > 0);
+
+        if (value < 0) {
+            put('-');
+        }
+        for (int i = start; i < digits.length; i++) {
+            put(digits[i]);
+        }
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.amazon.mqa.datagen.export;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Encodes records as rows of delimited values, eg. CSV or TSV, with a header row of property names.
+ *
+ * Each property of the exported class is a column. Numbers, booleans and strings are written as text, and any
+ * other value, eg. a nested bean or a list, as its JSON encoding.
+ */
+final class DelimitedEncoder implements RecordEncoder {
+
+    /** The header of the single column of classes written as a value. */
+    private static final String VALUE_COLUMN = "value";
+
+    /** Encodes nested values. */
+    private final JsonEncoder json = new JsonEncoder();
+
+    /** The properties of the exported class, <code>null</code> if it is written as a single value. */
+    private final List<PropertyModel.Property> properties;
+
+    /** The separator of values. */
+    private final char separator;
+
+    /** Whether values are quoted as in CSV, else escaped as in TSV. */
+    private final boolean quoted;
+
+    /**
+     * Instantiates a new {@link DelimitedEncoder}.
+     *
+     * @param clazz the exported class.
+     * @param separator the separator of values.
+     * @param quoted whether values are quoted as in CSV, else escaped as in TSV.
+     */
+    DelimitedEncoder(final Class<?> clazz, final char separator, final boolean quoted) {
+        assert clazz != null : "clazz cannot be null";
+
+        this.properties = JsonEncoder.isBean(clazz) ? PropertyModel.of(clazz) : null;
+        this.separator = separator;
+        this.quoted = quoted;
+    }
+
+    @Override
+    public void writeHeader(final CharSink out) throws IOException {
+        final CharSink escaped = escaping(out);
+        if (properties == null) {
+            writeCell(VALUE_COLUMN, out, escaped);
+        } else {
+            for (int i = 0; i < properties.size(); i++) {
+                if (i > 0) {
+                    out.put(separator);
+                }
+                writeCell(properties.get(i).getName(), out, escaped);
+            }
+        }
+        out.put('\n');
+    }
+
+    @Override
+    public void writeRecord(final Object record, final CharSink out) throws IOException {
+        final CharSink escaped = escaping(out);
+        if (properties == null) {
+            writeCell(record, out, escaped);
+        } else {
+            for (int i = 0; i < properties.size(); i++) {
+                if (i > 0) {
+                    out.put(separator);
+                }
+                writeCell(record == null ? null : properties.get(i).read(record), out, escaped);
+            }
+        }
+        out.put('\n');
+    }
+
+    /**
+     * Writes a value, empty if <code>null</code>.
+     *
+     * @param value the value.
+     * @param out the destination.
+     * @param escaped the destination, escaping the characters of the value.
+     * @throws IOException if writing fails.
+     */
+    private void writeCell(final Object value, final CharSink out, final CharSink escaped) throws IOException {
+        final Object unwrapped = value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+        if (unwrapped == null) {
+            return;
+        }
+
+        if (JsonEncoder.isScalar(unwrapped)) {
+            JsonEncoder.writeScalar(unwrapped, out);
+        } else if (JsonEncoder.isText(unwrapped.getClass())) {
+            final CharSequence text = unwrapped instanceof CharSequence
+                    ? (CharSequence) unwrapped
+                    : unwrapped.toString();
+            final boolean quote = quoted && needsQuotes(text);
+            if (quote) {
+                out.put('"');
+            }
+            escaped.put(text);
+            if (quote) {
+                out.put('"');
+            }
+        } else {
+            // nested values are always quoted, since JSON is full of separators and quotes
+            if (quoted) {
+                out.put('"');
+            }
+            json.writeValue(unwrapped, escaped, 1);
+            if (quoted) {
+                out.put('"');
+            }
+        }
+    }
+
+    /**
+     * @param chars the text.
+     * @return <code>true</code> if the text contains the separator, a quote or a line break.
+     */
+    private boolean needsQuotes(final CharSequence chars) {
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c == separator || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param out the destination.
+     * @return a sink which escapes the characters of a value: doubles quotes if quoted, else escapes tabs, line
+     *         breaks and backslashes with a backslash.
+     */
+    private CharSink escaping(final CharSink out) {
+        if (quoted) {
+            return c -> {
+                if (c == '"') {
+                    out.put('"');
+                }
+                out.put(c);
+            };
+        }
+
+        return c -> {
+            if (c == '\t') {
+                out.put("\\t");
+            } else if (c == '\n') {
+                out.put("\\n");
+            } else if (c == '\r') {
+                out.put("\\r");
+            } else if (c == '\\') {
+                out.put("\\\\");
+            } else {
+                out.put(c);
+            }
+        };
+    }
+
+}
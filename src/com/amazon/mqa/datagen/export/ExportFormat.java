@@ -0,0 +1,57 @@
+package com.amazon.mqa.datagen.export;
+
+/**
+ * Text formats of exported records.
+ */
+public enum ExportFormat {
+
+    /** One JSON object per line. */
+    JSON_LINES("jsonl") {
+        @Override
+        RecordEncoder encoder(final Class<?> clazz) {
+            return new JsonEncoder();
+        }
+    },
+
+    /** Comma separated values as in RFC 4180, with a header row. */
+    CSV("csv") {
+        @Override
+        RecordEncoder encoder(final Class<?> clazz) {
+            return new DelimitedEncoder(clazz, ',', true);
+        }
+    },
+
+    /** Tab separated values, with a header row, and tabs, line breaks and backslashes escaped by a backslash. */
+    TSV("tsv") {
+        @Override
+        RecordEncoder encoder(final Class<?> clazz) {
+            return new DelimitedEncoder(clazz, '\t', false);
+        }
+    };
+
+    /** The file extension. */
+    private final String extension;
+
+    /**
+     * Instantiates a new {@link ExportFormat}.
+     *
+     * @param extension the file extension.
+     */
+    ExportFormat(final String extension) {
+        this.extension = extension;
+    }
+
+    /**
+     * @return the file extension, without the dot.
+     */
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * @param clazz the exported class.
+     * @return an encoder of objects of the class.
+     */
+    abstract RecordEncoder encoder(Class<?> clazz);
+
+}
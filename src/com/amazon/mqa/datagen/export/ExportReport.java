@@ -0,0 +1,98 @@
+package com.amazon.mqa.datagen.export;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Immutable summary of an export: what was written and how fast.
+ */
+public final class ExportReport {
+
+    /** The number of records written. */
+    private final long records;
+
+    /** The number of bytes written, before compression. */
+    private final long bytes;
+
+    /** The files written, in order. */
+    private final List<Path> files;
+
+    /** The duration of the export, in nanoseconds. */
+    private final long elapsedNanos;
+
+    /**
+     * Instantiates a new {@link ExportReport}.
+     *
+     * @param records the number of records written.
+     * @param bytes the number of bytes written, before compression.
+     * @param files the files written, in order.
+     * @param elapsedNanos the duration of the export, in nanoseconds.
+     */
+    ExportReport(final long records, final long bytes, final List<Path> files, final long elapsedNanos) {
+        this.records = records;
+        this.bytes = bytes;
+        this.files = ImmutableList.copyOf(files);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @return the number of records written.
+     */
+    public long getRecords() {
+        return records;
+    }
+
+    /**
+     * @return the number of bytes written, before compression.
+     */
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the files written, in order.
+     */
+    public List<Path> getFiles() {
+        return files;
+    }
+
+    /**
+     * @return the duration of the export, in nanoseconds.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return the number of records written per second, generation included.
+     */
+    public double getRecordsPerSecond() {
+        return perSecond(records);
+    }
+
+    /**
+     * @return the number of bytes written per second before compression, generation included.
+     */
+    public double getBytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    /**
+     * @param count a count over the export.
+     * @return the count per second.
+     */
+    private double perSecond(final long count) {
+        return elapsedNanos == 0 ? 0 : (double) count * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SIMPLE_STYLE);
+    }
+
+}
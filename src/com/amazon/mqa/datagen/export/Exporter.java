@@ -0,0 +1,205 @@
+package com.amazon.mqa.datagen.export;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Lists;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * <p>Immutable exporter of generated objects to files, eg. the input of load tests.</p>
+ *
+ * <p>
+ * Objects are pulled from a stream one at a time, eg. {@link com.amazon.mqa.datagen.ObjectFactory#stream(Class,
+ * long)}, and encoded character by character from the getters of their class, found once per class, into a
+ * reusable direct buffer drained into a {@link FileChannel}. Memory use is then constant whatever the number of
+ * records, and no string is built per record.
+ * </p>
+ *
+ * <pre>
+ * final ExportReport report = Exporter.of(ExportFormat.CSV)
+ *         .rotateAt(1L &lt;&lt; 30)
+ *         .gzipped()
+ *         .export(factory.stream(Order.class, 20_000_000), Order.class, Paths.get("orders"));
+ * </pre>
+ */
+public final class Exporter {
+
+    /** The size of the buffer, in bytes. */
+    private static final int BUFFER_SIZE = 65_536;
+
+    /** The format of records. */
+    private final ExportFormat format;
+
+    /** The number of bytes, before compression, from which the next record starts a new file, 0 to never. */
+    private final long rotationBytes;
+
+    /** Whether files are compressed with gzip. */
+    private final boolean gzip;
+
+    /**
+     * Instantiates a new {@link Exporter}.
+     *
+     * @param format the format of records.
+     * @param rotationBytes the number of bytes from which the next record starts a new file, 0 to never.
+     * @param gzip whether files are compressed with gzip.
+     */
+    private Exporter(final ExportFormat format, final long rotationBytes, final boolean gzip) {
+        this.format = format;
+        this.rotationBytes = rotationBytes;
+        this.gzip = gzip;
+    }
+
+    /**
+     * Creates an exporter to a single uncompressed file.
+     *
+     * @param format the format of records.
+     * @return the exporter.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Exporter of(final ExportFormat format) {
+        checkNotNull(format, "format cannot be null");
+
+        return new Exporter(format, 0, false);
+    }
+
+    /**
+     * Creates an exporter like this one which starts a new file once a file holds the given number of bytes,
+     * before compression. Records are never split across files.
+     *
+     * @param bytes the number of bytes.
+     * @return the exporter.
+     * @throws IllegalArgumentException if the number of bytes is not positive.
+     */
+    public Exporter rotateAt(final long bytes) {
+        checkArgument(bytes > 0, "bytes must be positive");
+
+        return new Exporter(format, bytes, gzip);
+    }
+
+    /**
+     * Creates an exporter like this one which compresses files with gzip.
+     *
+     * @return the exporter.
+     */
+    public Exporter gzipped() {
+        return new Exporter(format, rotationBytes, true);
+    }
+
+    /**
+     * Writes objects to files named after a base path, eg. <code>orders.csv</code>, or
+     * <code>orders-00000.csv</code>, <code>orders-00001.csv</code> and so on if rotated, with <code>.gz</code>
+     * appended if compressed. Existing files are overwritten.
+     *
+     * @param objects the objects, consumed sequentially.
+     * @param clazz the class of objects, whose properties are the columns of delimited formats.
+     * @param basePath the path of the files without their extension.
+     * @param <T> the type of objects.
+     * @return the summary of the export.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IOException if writing fails.
+     */
+    public <T> ExportReport export(final Stream<? extends T> objects, final Class<T> clazz, final Path basePath)
+            throws IOException {
+        checkNotNull(objects, "objects cannot be null");
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(basePath, "basePath cannot be null");
+
+        final long start = System.nanoTime();
+        final RecordEncoder encoder = format.encoder(clazz);
+        final ByteSink sink = new ByteSink(BUFFER_SIZE);
+        final List<Path> files = Lists.newArrayList();
+        long records = 0;
+        long bytes = 0;
+        WritableByteChannel channel = null;
+        try {
+            final Iterator<? extends T> iterator = objects.iterator();
+            do {
+                if (channel == null || rotationBytes > 0 && sink.count() >= rotationBytes) {
+                    bytes += sink.count();
+                    channel = rotate(channel, sink, files, basePath);
+                    encoder.writeHeader(sink);
+                }
+                if (iterator.hasNext()) {
+                    encoder.writeRecord(iterator.next(), sink);
+                    records++;
+                }
+            } while (iterator.hasNext());
+
+            bytes += sink.count();
+            sink.flush();
+        } finally {
+            if (channel != null) {
+                channel.close();
+            }
+        }
+
+        return new ExportReport(records, bytes, files, System.nanoTime() - start);
+    }
+
+    /**
+     * Closes the current file, if any, and opens the next one.
+     *
+     * @param channel the current file, <code>null</code> if none.
+     * @param sink writes into the files.
+     * @param files the files opened so far.
+     * @param basePath the path of the files without their extension.
+     * @return the next file.
+     * @throws IOException if closing or opening fails.
+     */
+    private WritableByteChannel rotate(final WritableByteChannel channel,
+                                       final ByteSink sink,
+                                       final List<Path> files,
+                                       final Path basePath) throws IOException {
+        assert sink != null : "sink cannot be null";
+
+        if (channel != null) {
+            sink.flush();
+            channel.close();
+        }
+
+        final String suffix = rotationBytes > 0 ? String.format("-%05d", files.size()) : "";
+        final Path file = basePath.resolveSibling(basePath.getFileName() + suffix + "." + format.getExtension()
+                + (gzip ? ".gz" : ""));
+        files.add(file);
+
+        final WritableByteChannel next = open(file);
+        sink.open(next);
+        return next;
+    }
+
+    /**
+     * @param file the file.
+     * @return a channel writing into the file, compressing if configured.
+     * @throws IOException if opening fails.
+     */
+    private WritableByteChannel open(final Path file) throws IOException {
+        assert file != null : "file cannot be null";
+
+        final FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        if (!gzip) {
+            return fileChannel;
+        }
+
+        //CHECKSTYLE:SUPPRESS:IllegalCatch
+        try {
+            return Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(fileChannel), BUFFER_SIZE));
+        } catch (final IOException | RuntimeException e) {
+            fileChannel.close();
+            throw e;
+        }
+        //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+    }
+
+}
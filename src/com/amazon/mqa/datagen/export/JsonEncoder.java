@@ -0,0 +1,243 @@
+package com.amazon.mqa.datagen.export;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Encodes records as JSON objects, one per line.
+ *
+ * Numbers and booleans are written as is, maps and beans as objects, collections and arrays as arrays, and any
+ * other value, eg. a string, an enum or a date, as the string of its <code>toString</code>.
+ */
+final class JsonEncoder implements RecordEncoder {
+
+    /** The max depth of nested values, below which values are written as <code>null</code>, eg. in cycles. */
+    private static final int MAX_DEPTH = 16;
+
+    /** The max character escaped as a unicode escape. */
+    private static final char MAX_CONTROL = 0x1F;
+
+    /** The hex digits. */
+    private static final String HEX_DIGITS = "0123456789abcdef";
+
+    /** The number of bits of a hex digit. */
+    private static final int HEX_BITS = 4;
+
+    /** Mask of a hex digit. */
+    private static final int HEX_MASK = 0xF;
+
+    @Override
+    public void writeHeader(final CharSink out) {
+        // JSON lines have no header
+    }
+
+    @Override
+    public void writeRecord(final Object record, final CharSink out) throws IOException {
+        writeValue(record, out, 0);
+        out.put('\n');
+    }
+
+    /**
+     * @param clazz the class of a value.
+     * @return <code>true</code> if values of the class are written as a string, ie. strings, characters, enums
+     *         and JDK classes other than numbers, booleans, containers and optionals.
+     */
+    static boolean isText(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        if (Number.class.isAssignableFrom(clazz) || clazz == Boolean.class || clazz.isArray()
+                || Iterable.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)
+                || clazz == Optional.class) {
+            return false;
+        }
+
+        return CharSequence.class.isAssignableFrom(clazz) || clazz.isEnum() || clazz.getName().startsWith("java.");
+    }
+
+    /**
+     * @param clazz the class of a value.
+     * @return <code>true</code> if values of the class are written as their properties.
+     */
+    static boolean isBean(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        return !clazz.isPrimitive() && !isText(clazz) && !Number.class.isAssignableFrom(clazz)
+                && clazz != Boolean.class && !clazz.isArray() && !Iterable.class.isAssignableFrom(clazz)
+                && !Map.class.isAssignableFrom(clazz) && clazz != Optional.class;
+    }
+
+    /**
+     * @param value a value.
+     * @return <code>true</code> if the value is a number or a boolean.
+     */
+    static boolean isScalar(final Object value) {
+        return value instanceof Number || value instanceof Boolean;
+    }
+
+    /**
+     * Writes a number or a boolean, writing <code>null</code> for numbers that JSON can't represent.
+     *
+     * @param value the number or boolean.
+     * @param out the destination.
+     * @throws IOException if writing fails.
+     */
+    static void writeScalar(final Object value, final CharSink out) throws IOException {
+        assert isScalar(value) : "value must be a number or a boolean";
+
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            out.put(((Number) value).longValue());
+        } else if (value instanceof Double && !Double.isFinite((Double) value)
+                || value instanceof Float && !Float.isFinite((Float) value)) {
+            out.put("null");
+        } else {
+            out.put(value.toString());
+        }
+    }
+
+    /**
+     * Writes a value.
+     *
+     * @param value the value, possibly <code>null</code> or optional.
+     * @param out the destination.
+     * @param depth the depth of the value in the record.
+     * @throws IOException if writing fails.
+     */
+    void writeValue(final Object value, final CharSink out, final int depth) throws IOException {
+        final Object unwrapped = value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+        if (unwrapped == null || depth > MAX_DEPTH) {
+            out.put("null");
+        } else if (isScalar(unwrapped)) {
+            writeScalar(unwrapped, out);
+        } else if (unwrapped instanceof Map) {
+            writeMap((Map<?, ?>) unwrapped, out, depth);
+        } else if (unwrapped instanceof Iterable) {
+            writeArray(((Iterable<?>) unwrapped).iterator(), out, depth);
+        } else if (unwrapped.getClass().isArray()) {
+            writeArray(unwrapped, out, depth);
+        } else if (isText(unwrapped.getClass())) {
+            writeString(unwrapped instanceof CharSequence ? (CharSequence) unwrapped : unwrapped.toString(), out);
+        } else {
+            writeBean(unwrapped, out, depth);
+        }
+    }
+
+    /**
+     * Writes a quoted and escaped string.
+     *
+     * @param chars the string.
+     * @param out the destination.
+     * @throws IOException if writing fails.
+     */
+    static void writeString(final CharSequence chars, final CharSink out) throws IOException {
+        out.put('"');
+        for (int i = 0; i < chars.length(); i++) {
+            final char c = chars.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.put('\\');
+                out.put(c);
+            } else if (c == '\n') {
+                out.put("\\n");
+            } else if (c == '\r') {
+                out.put("\\r");
+            } else if (c == '\t') {
+                out.put("\\t");
+            } else if (c <= MAX_CONTROL) {
+                out.put("\\u00");
+                out.put(HEX_DIGITS.charAt(c >> HEX_BITS));
+                out.put(HEX_DIGITS.charAt(c & HEX_MASK));
+            } else {
+                out.put(c);
+            }
+        }
+        out.put('"');
+    }
+
+    /**
+     * Writes a map as an object, keyed by the string of each key.
+     *
+     * @param map the map.
+     * @param out the destination.
+     * @param depth the depth of the map in the record.
+     * @throws IOException if writing fails.
+     */
+    private void writeMap(final Map<?, ?> map, final CharSink out, final int depth) throws IOException {
+        out.put('{');
+        boolean first = true;
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                out.put(',');
+            }
+            first = false;
+            writeString(String.valueOf(entry.getKey()), out);
+            out.put(':');
+            writeValue(entry.getValue(), out, depth + 1);
+        }
+        out.put('}');
+    }
+
+    /**
+     * Writes the elements of an iterator as an array.
+     *
+     * @param elements the elements.
+     * @param out the destination.
+     * @param depth the depth of the array in the record.
+     * @throws IOException if writing fails.
+     */
+    private void writeArray(final Iterator<?> elements, final CharSink out, final int depth) throws IOException {
+        out.put('[');
+        while (elements.hasNext()) {
+            writeValue(elements.next(), out, depth + 1);
+            if (elements.hasNext()) {
+                out.put(',');
+            }
+        }
+        out.put(']');
+    }
+
+    /**
+     * Writes the elements of a java array, of objects or primitives, as an array.
+     *
+     * @param array the array.
+     * @param out the destination.
+     * @param depth the depth of the array in the record.
+     * @throws IOException if writing fails.
+     */
+    private void writeArray(final Object array, final CharSink out, final int depth) throws IOException {
+        out.put('[');
+        final int length = Array.getLength(array);
+        for (int i = 0; i < length; i++) {
+            if (i > 0) {
+                out.put(',');
+            }
+            writeValue(Array.get(array, i), out, depth + 1);
+        }
+        out.put(']');
+    }
+
+    /**
+     * Writes the properties of a bean as an object.
+     *
+     * @param bean the bean.
+     * @param out the destination.
+     * @param depth the depth of the bean in the record.
+     * @throws IOException if writing fails.
+     */
+    private void writeBean(final Object bean, final CharSink out, final int depth) throws IOException {
+        out.put('{');
+        boolean first = true;
+        for (final PropertyModel.Property property : PropertyModel.of(PropertyModel.classOf(bean))) {
+            if (!first) {
+                out.put(',');
+            }
+            first = false;
+            writeString(property.getName(), out);
+            out.put(':');
+            writeValue(property.read(bean), out, depth + 1);
+        }
+        out.put('}');
+    }
+
+}
@@ -0,0 +1,576 @@
+package com.amazon.mqa.datagen.export;
+
+import com.amazon.mqa.datagen.Config;
+import com.amazon.mqa.datagen.ObjectFactory;
+import com.amazon.mqa.datagen.ReflectionObjectFactory;
+import com.amazon.mqa.datagen.rof.PropertyNames;
+import com.amazon.mqa.datagen.supplier.Alphabet;
+import com.amazon.mqa.datagen.supplier.AlphanumericStringSupplier;
+import com.amazon.mqa.datagen.supplier.LengthDistribution;
+import com.amazon.mqa.datagen.supplier.LengthDistributions;
+import com.amazon.mqa.datagen.supplier.UniqueSupplier;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Modifier;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * <p>Compiles types into {@link PayloadWriter}s, once per generator.</p>
+ *
+ * <p>
+ * Each type is compiled the way the factory of the config creates it: a supplier registered for the getter or
+ * the class, the collection and map providers, enums and beans, whose properties are found from their getters
+ * like {@link JsonEncoder} does. Numbers, booleans, characters and strings of the default suppliers are written
+ * straight from the random generator, as ASCII. Any other value, eg. a date, is created by the factory and
+ * encoded, which is the only place a payload allocates objects besides the offsets of keys and set elements.
+ * </p>
+ *
+ * <p>
+ * Keys of a map and elements of a set are distinct like in the created object: their count is capped at the
+ * cardinality of their class, and a key or element whose bytes repeat one already written is rolled back and
+ * drawn again, within a bounded number of attempts.
+ * </p>
+ */
+final class PayloadCompiler {
+
+    /** The suppliers of the default config, which written values are drawn like. */
+    private static final Map<Class<?>, Supplier> DEFAULT_SUPPLIERS = Config.createDefault().getSuppliers();
+
+    /** The alphabet of default strings and characters. */
+    private static final Alphabet ALPHABET = Alphabet.ALPHANUMERIC;
+
+    /** The lengths of default strings. */
+    private static final LengthDistribution STRING_LENGTHS =
+            LengthDistributions.fixed(AlphanumericStringSupplier.DEFAULT_STRING_LENGTH);
+
+    /** Extra attempts allowed for distinct keys and set elements on top of twice the requested number. */
+    private static final int RETRY_ALLOWANCE = 100;
+
+    /** The number of fraction digits of doubles, which the default supplier draws in [0, 1). */
+    private static final int DOUBLE_DIGITS = 16;
+
+    /** The number of distinct fractions of doubles. */
+    private static final long DOUBLE_SCALE = 10_000_000_000_000_000L;
+
+    /** The number of fraction digits of floats, which the default supplier draws in [0, 1). */
+    private static final int FLOAT_DIGITS = 7;
+
+    /** The number of distinct fractions of floats. */
+    private static final long FLOAT_SCALE = 10_000_000L;
+
+    /** The quote of strings. */
+    private static final byte QUOTE = '"';
+
+    /** The integer part of fractions. */
+    private static final byte[] ZERO_POINT = utf8("0.");
+
+    /** The literal of <code>true</code>. */
+    private static final byte[] TRUE = utf8("true");
+
+    /** The literal of <code>false</code>. */
+    private static final byte[] FALSE = utf8("false");
+
+    /** The literal of <code>null</code>. */
+    private static final byte[] NULL = utf8("null");
+
+    /** The digits of the smallest long, which has no positive counterpart. */
+    private static final byte[] LONG_MIN = utf8(Long.toString(Long.MIN_VALUE));
+
+    /** Writes <code>null</code>. */
+    private static final PayloadWriter NULL_WRITER = (buffer, random) -> buffer.put(NULL);
+
+    /** Map from class to the writer of the values of its default supplier. */
+    private static final Map<Class<?>, PayloadWriter> SCALARS = scalars();
+
+    /** The config. */
+    private final Config config;
+
+    /** Creates the values which aren't written straight from the random generator. */
+    private final ObjectFactory factory;
+
+    /** Encodes the values created by the factory or the suppliers. */
+    private final JsonEncoder encoder = new JsonEncoder();
+
+    /** Map from bean type to its compiled writer. */
+    private final Map<TypeToken<?>, PayloadWriter> beans = new HashMap<>();
+
+    /** The classes of the beans being compiled, whose recursive properties the factory leaves null. */
+    private final Set<Class<?>> path = new HashSet<>();
+
+    /**
+     * Instantiates a new {@link PayloadCompiler}.
+     *
+     * @param config the config.
+     */
+    PayloadCompiler(final Config config) {
+        assert config != null : "config cannot be null";
+
+        this.config = config;
+        this.factory = new ReflectionObjectFactory(config);
+    }
+
+    /**
+     * @param type the type.
+     * @param accessorName the name of the accessor the factory looks the supplier of the value up by, see
+     *        {@link #accessorName(Class, PropertyModel.Property)}, <code>null</code> if the value isn't a
+     *        property.
+     * @return the writer of values of the type.
+     */
+    PayloadWriter compile(final TypeToken<?> type, final String accessorName) {
+        assert type != null : "type cannot be null";
+
+        final Supplier<?> propertySupplier =
+                accessorName == null ? null : PropertyNames.find(config.getPmSuppliers(), accessorName);
+        if (propertySupplier != null) {
+            return supplied(propertySupplier);
+        }
+
+        final Class<?> clazz = type.getRawType();
+        final Supplier<?> supplier = config.getSuppliers().get(clazz);
+        if (supplier == DEFAULT_SUPPLIERS.get(clazz) && SCALARS.containsKey(clazz)) {
+            return SCALARS.get(clazz);
+        }
+        if (supplier != null) {
+            return supplied(supplier);
+        }
+
+        if (clazz.isEnum()) {
+            return enumeration(clazz);
+        }
+        if (clazz.isArray()) {
+            return array(compile(type.getComponentType(), null));
+        }
+        if (config.getCollectionProviders().containsKey(clazz)) {
+            final TypeToken<?> elementType = type.resolveType(Collection.class.getTypeParameters()[0]);
+            final PayloadWriter element = compile(elementType, null);
+            return Set.class.isAssignableFrom(clazz) ? set(element, elementType.getRawType()) : array(element);
+        }
+        if (config.getMapProviders().containsKey(clazz)) {
+            return map(type);
+        }
+
+        return JsonEncoder.isBean(clazz) ? bean(type) : created(type);
+    }
+
+    /**
+     * @param type the type of bean.
+     * @return the writer of the properties of the bean as an object.
+     */
+    private PayloadWriter bean(final TypeToken<?> type) {
+        final PayloadWriter compiled = beans.get(type);
+        if (compiled != null) {
+            return compiled;
+        }
+        if (!path.add(type.getRawType())) {
+            return NULL_WRITER;
+        }
+
+        final List<PropertyModel.Property> properties = PropertyModel.of(type.getRawType());
+        final byte[][] keys = new byte[properties.size()][];
+        final PayloadWriter[] values = new PayloadWriter[properties.size()];
+        for (int i = 0; i < values.length; i++) {
+            final PropertyModel.Property property = properties.get(i);
+            keys[i] = utf8(quoted(property.getName()) + ':');
+            final String accessorName = accessorName(type.getRawType(), property);
+            values[i] = compile(type.resolveType(property.getType()), accessorName);
+        }
+        path.remove(type.getRawType());
+
+        final PayloadWriter writer = (buffer, random) -> {
+            buffer.put((byte) '{');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.put((byte) ',');
+                }
+                buffer.put(keys[i]);
+                values[i].write(buffer, random);
+            }
+            buffer.put((byte) '}');
+        };
+        beans.put(type, writer);
+
+        return writer;
+    }
+
+    /**
+     * @param clazz the class of bean.
+     * @param property a property of the bean.
+     * @return the name of the method the factory looks the supplier of the property up by, by name or property
+     *         name: the getter of a proxy of an interface or abstract class, else the setter that populates it.
+     */
+    private static String accessorName(final Class<?> clazz, final PropertyModel.Property property) {
+        return clazz.isInterface() || Modifier.isAbstract(clazz.getModifiers())
+                ? property.getGetterName()
+                : property.getSetterName();
+    }
+
+    /**
+     * @param element the writer of elements.
+     * @return the writer of arrays of as many elements as the array size supplier supplies.
+     */
+    private PayloadWriter array(final PayloadWriter element) {
+        final Supplier<Integer> sizes = config.getArraySizeSupplier();
+
+        return (buffer, random) -> {
+            final int size = sizes.get();
+            buffer.put((byte) '[');
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    buffer.put((byte) ',');
+                }
+                element.write(buffer, random);
+            }
+            buffer.put((byte) ']');
+        };
+    }
+
+    /**
+     * @param element the writer of elements.
+     * @param elementClass the class of elements.
+     * @return the writer of arrays of as many distinct elements as the array size supplier supplies, at most the
+     *         cardinality of the class of elements.
+     */
+    private PayloadWriter set(final PayloadWriter element, final Class<?> elementClass) {
+        final PayloadWriter elements = distinct(cardinality(elementClass), element, null);
+
+        return (buffer, random) -> {
+            buffer.put((byte) '[');
+            elements.write(buffer, random);
+            buffer.put((byte) ']');
+        };
+    }
+
+    /**
+     * @param type the type of map.
+     * @return the writer of maps as objects of as many entries with distinct keys as the array size supplier
+     *         supplies, at most the cardinality of the class of keys.
+     */
+    private PayloadWriter map(final TypeToken<?> type) {
+        final TypeToken<?> keyType = type.resolveType(Map.class.getTypeParameters()[0]);
+        final PayloadWriter key = key(keyType);
+        final PayloadWriter value = compile(type.resolveType(Map.class.getTypeParameters()[1]), null);
+        final PayloadWriter entryValue = (buffer, random) -> {
+            buffer.put((byte) ':');
+            value.write(buffer, random);
+        };
+        final PayloadWriter entries = distinct(cardinality(keyType.getRawType()), key, entryValue);
+
+        return (buffer, random) -> {
+            buffer.put((byte) '{');
+            entries.write(buffer, random);
+            buffer.put((byte) '}');
+        };
+    }
+
+    /**
+     * @param clazz the class.
+     * @return the number of distinct values of the class, {@link Long#MAX_VALUE} if unknown or larger than that.
+     */
+    private long cardinality(final Class<?> clazz) {
+        final Supplier<?> supplier = config.getSuppliers().get(clazz);
+        if (supplier instanceof UniqueSupplier) {
+            return ((UniqueSupplier<?>) supplier).cardinality();
+        }
+
+        return clazz.isEnum() ? clazz.getEnumConstants().length : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param type the type of keys.
+     * @return the writer of keys as strings.
+     */
+    private PayloadWriter key(final TypeToken<?> type) {
+        final Class<?> clazz = type.getRawType();
+        final PayloadWriter writer = compile(type, null);
+        if (writer == SCALARS.get(clazz) && !JsonEncoder.isText(clazz)) {
+            // numbers and booleans
+            return (buffer, random) -> {
+                buffer.put(QUOTE);
+                writer.write(buffer, random);
+                buffer.put(QUOTE);
+            };
+        }
+        if (clazz.isEnum() || writer == SCALARS.get(clazz)) {
+            return writer;
+        }
+
+        return (buffer, random) -> encode(String.valueOf(factory.create(type.getType())), buffer);
+    }
+
+    /**
+     * @param cardinality the number of distinct values of the distinct part of values.
+     * @param distinct the writer of the distinct part of values, eg. keys.
+     * @param rest the writer of the rest of values, eg. a colon and a value, <code>null</code> if none.
+     * @return the writer of as many values separated by commas as the array size supplier supplies, at most the
+     *         cardinality. A distinct part whose bytes equal those of one already written is rolled back and drawn
+     *         again, until the number of values is written or the attempts run out.
+     */
+    private PayloadWriter distinct(final long cardinality,
+                                   final PayloadWriter distinct,
+                                   final PayloadWriter rest) {
+        final Supplier<Integer> sizes = config.getArraySizeSupplier();
+
+        return (buffer, random) -> {
+            final int size = (int) Math.min(sizes.get(), cardinality);
+            final int[] bounds = new int[2 * size];
+            int count = 0;
+            final long maxAttempts = 2L * size + RETRY_ALLOWANCE;
+            for (long attempt = 0; attempt < maxAttempts && count < size; attempt++) {
+                final int position = buffer.position();
+                if (count > 0) {
+                    buffer.put((byte) ',');
+                }
+                final int start = buffer.position();
+                distinct.write(buffer, random);
+                if (isWritten(buffer, start, bounds, count)) {
+                    buffer.position(position);
+                    continue;
+                }
+
+                bounds[2 * count] = start;
+                bounds[2 * count + 1] = buffer.position();
+                count++;
+                if (rest != null) {
+                    rest.write(buffer, random);
+                }
+            }
+        };
+    }
+
+    /**
+     * @param buffer the buffer, whose bytes from a start to its position are checked.
+     * @param start the start of the bytes.
+     * @param bounds the start and end of each of the bytes already written.
+     * @param count the number of bytes already written.
+     * @return whether the bytes equal any bytes already written.
+     */
+    private static boolean isWritten(final ByteBuffer buffer,
+                                     final int start,
+                                     final int[] bounds,
+                                     final int count) {
+        final int length = buffer.position() - start;
+        for (int i = 0; i < count; i++) {
+            if (bounds[2 * i + 1] - bounds[2 * i] == length && equal(buffer, bounds[2 * i], start, length)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param buffer the buffer.
+     * @param first the start of the first bytes.
+     * @param second the start of the second bytes.
+     * @param length the number of bytes.
+     * @return whether the bytes are equal.
+     */
+    private static boolean equal(final ByteBuffer buffer, final int first, final int second, final int length) {
+        for (int i = 0; i < length; i++) {
+            if (buffer.get(first + i) != buffer.get(second + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @param clazz the enum.
+     * @return the writer of random constants of the enum, as strings.
+     */
+    private static PayloadWriter enumeration(final Class<?> clazz) {
+        final Object[] constants = clazz.getEnumConstants();
+        final byte[][] values = new byte[constants.length][];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = utf8(quoted(constants[i].toString()));
+        }
+
+        return (buffer, random) -> buffer.put(values[random.nextInt(values.length)]);
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @return the writer of the values of the supplier.
+     */
+    private PayloadWriter supplied(final Supplier<?> supplier) {
+        return (buffer, random) -> encode(supplier.get(), buffer);
+    }
+
+    /**
+     * @param type the type.
+     * @return the writer of the values the factory creates.
+     */
+    private PayloadWriter created(final TypeToken<?> type) {
+        return (buffer, random) -> encode(factory.create(type.getType()), buffer);
+    }
+
+    /**
+     * Encodes a value as JSON.
+     *
+     * @param value the value.
+     * @param buffer the destination.
+     */
+    private void encode(final Object value, final ByteBuffer buffer) {
+        try {
+            encoder.writeValue(value, new ByteSink(buffer), 0);
+        } catch (final IOException e) {
+            // a caller's buffer is never drained
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return map from class to the writer of the values of its default supplier.
+     */
+    private static Map<Class<?>, PayloadWriter> scalars() {
+        final PayloadWriter ints = (buffer, random) -> putLong(buffer, random.nextInt());
+        final PayloadWriter longs = (buffer, random) -> putLong(buffer, random.nextLong());
+        final PayloadWriter shorts = (buffer, random) -> putLong(buffer, random.nextInt() % Short.MAX_VALUE);
+        final PayloadWriter bytes = (buffer, random) -> putLong(buffer, random.nextInt() % Byte.MAX_VALUE);
+        final PayloadWriter booleans = (buffer, random) -> buffer.put(random.nextBoolean() ? TRUE : FALSE);
+        final PayloadWriter doubles = (buffer, random) -> putFraction(buffer, random, DOUBLE_SCALE, DOUBLE_DIGITS);
+        final PayloadWriter floats = (buffer, random) -> putFraction(buffer, random, FLOAT_SCALE, FLOAT_DIGITS);
+        final PayloadWriter chars = (buffer, random) -> {
+            buffer.put(QUOTE);
+            buffer.put((byte) ALPHABET.charAt(random.nextInt(ALPHABET.size())));
+            buffer.put(QUOTE);
+        };
+
+        return ImmutableMap.<Class<?>, PayloadWriter>builder()
+                .put(int.class, ints).put(Integer.class, ints)
+                .put(long.class, longs).put(Long.class, longs)
+                .put(short.class, shorts).put(Short.class, shorts)
+                .put(byte.class, bytes).put(Byte.class, bytes)
+                .put(boolean.class, booleans).put(Boolean.class, booleans)
+                .put(double.class, doubles).put(Double.class, doubles)
+                .put(float.class, floats).put(Float.class, floats)
+                .put(char.class, chars).put(Character.class, chars)
+                .put(String.class, PayloadCompiler::putString)
+                .build();
+    }
+
+    /**
+     * Writes a quoted string of random alphanumeric characters, filled in place if the buffer has an array.
+     *
+     * @param buffer the destination.
+     * @param random the generator.
+     */
+    private static void putString(final ByteBuffer buffer, final Random random) {
+        final int length = STRING_LENGTHS.nextLength(random);
+        if (buffer.remaining() < length + 2) {
+            throw new BufferOverflowException();
+        }
+
+        buffer.put(QUOTE);
+        if (buffer.hasArray()) {
+            final int start = buffer.arrayOffset() + buffer.position();
+            ALPHABET.fill(buffer.array(), start, start + length, random);
+            buffer.position(buffer.position() + length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                buffer.put((byte) ALPHABET.charAt(random.nextInt(ALPHABET.size())));
+            }
+        }
+        buffer.put(QUOTE);
+    }
+
+    /**
+     * Writes a random fraction in [0, 1) with a fixed number of digits.
+     *
+     * @param buffer the destination.
+     * @param random the generator.
+     * @param scale the number of distinct fractions, ie. 10 to the number of digits.
+     * @param digits the number of digits.
+     */
+    private static void putFraction(final ByteBuffer buffer,
+                                    final Random random,
+                                    final long scale,
+                                    final int digits) {
+        buffer.put(ZERO_POINT);
+        putDigits(buffer, (random.nextLong() >>> 1) % scale, digits);
+    }
+
+    /**
+     * Writes the decimal digits of a long.
+     *
+     * @param buffer the destination.
+     * @param value the long.
+     */
+    private static void putLong(final ByteBuffer buffer, final long value) {
+        if (value == Long.MIN_VALUE) {
+            buffer.put(LONG_MIN);
+            return;
+        }
+
+        final long magnitude = Math.abs(value);
+        int digits = 1;
+        for (long rest = magnitude / CharSink.RADIX; rest > 0; rest /= CharSink.RADIX) {
+            digits++;
+        }
+
+        if (value < 0) {
+            buffer.put((byte) '-');
+        }
+        putDigits(buffer, magnitude, digits);
+    }
+
+    /**
+     * Writes a fixed number of decimal digits of a non-negative long, padded with leading zeros.
+     *
+     * @param buffer the destination.
+     * @param value the long.
+     * @param digits the number of digits.
+     */
+    private static void putDigits(final ByteBuffer buffer, final long value, final int digits) {
+        if (buffer.remaining() < digits) {
+            throw new BufferOverflowException();
+        }
+
+        final int start = buffer.position();
+        long rest = value;
+        for (int i = start + digits - 1; i >= start; i--) {
+            buffer.put(i, (byte) ('0' + rest % CharSink.RADIX));
+            rest /= CharSink.RADIX;
+        }
+        buffer.position(start + digits);
+    }
+
+    /**
+     * @param text the text.
+     * @return the text quoted and escaped as a JSON string.
+     */
+    private static String quoted(final String text) {
+        final StringBuilder builder = new StringBuilder();
+        try {
+            JsonEncoder.writeString(text, builder::append);
+        } catch (final IOException e) {
+            // appending to a string builder doesn't fail
+            throw new UncheckedIOException(e);
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * @param text the text.
+     * @return the UTF-8 bytes of the text.
+     */
+    private static byte[] utf8(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,129 @@
+package com.amazon.mqa.datagen.export;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.Config;
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.reflect.TypeToken;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * <p>Immutable generator of randomized JSON payloads of a class, written straight into byte buffers, eg. the
+ * request bodies of load tests.</p>
+ *
+ * <p>
+ * The class is compiled once into a tree of writers, which write the payload that {@link ExportFormat#JSON_LINES}
+ * would export for an object of the class created by a factory of the config, without creating the object: the
+ * same properties, nested objects and arrays, with values drawn like the default suppliers. Numbers, booleans,
+ * characters, enums and strings are written as bytes straight from the random generator. Only values of other
+ * classes, eg. dates, and of registered suppliers are created, then encoded. Properties whose class is already
+ * being generated, which the factory leaves <code>null</code> to break the recursion, are written as
+ * <code>null</code>.
+ * </p>
+ *
+ * <p>
+ * Values are drawn from {@link Randoms#current()}, so a generator can be shared by threads, and payloads are
+ * reproducible within a seeded scope.
+ * </p>
+ *
+ * <pre>
+ * final PayloadGenerator orders = PayloadGenerator.of(Order.class);
+ * final ByteBuffer buffer = ByteBuffer.allocate(65_536);
+ * orders.writeTo(buffer);
+ * </pre>
+ */
+public final class PayloadGenerator {
+
+    /** The initial size of the buffer of {@link #next()}, in bytes. */
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+
+    /** The buffer of {@link #next()} of each thread, grown as payloads need. */
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(INITIAL_BUFFER_SIZE));
+
+    /** Writes the payloads. */
+    private final PayloadWriter writer;
+
+    /**
+     * Instantiates a new {@link PayloadGenerator}.
+     *
+     * @param writer writes the payloads.
+     */
+    private PayloadGenerator(final PayloadWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Compiles a generator of payloads of a class, as created by a factory of the default config.
+     *
+     * @param clazz the class.
+     * @return the generator.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static PayloadGenerator of(final Class<?> clazz) {
+        return of(clazz, Config.createDefault());
+    }
+
+    /**
+     * Compiles a generator of payloads of a class, as created by a factory of a config, whose suppliers,
+     * collection and map providers and array sizes are honored.
+     *
+     * @param clazz the class.
+     * @param config the config.
+     * @return the generator.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static PayloadGenerator of(final Class<?> clazz, final Config config) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(config, "config cannot be null");
+
+        return new PayloadGenerator(new PayloadCompiler(config).compile(TypeToken.of(clazz), null));
+    }
+
+    /**
+     * Writes a payload as UTF-8 into a buffer, from its position. A heap buffer gets strings filled in place.
+     *
+     * @param buffer the buffer.
+     * @return the number of bytes written.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws BufferOverflowException if the payload doesn't fit, in which case the position of the buffer is left
+     *         unchanged.
+     */
+    public int writeTo(final ByteBuffer buffer) {
+        checkNotNull(buffer, "buffer cannot be null");
+
+        final int start = buffer.position();
+        try {
+            writer.write(buffer, Randoms.current());
+        } catch (final BufferOverflowException e) {
+            buffer.position(start);
+            throw e;
+        }
+
+        return buffer.position() - start;
+    }
+
+    /**
+     * Writes a payload into a buffer of the calling thread, which is grown and written again if the payload
+     * doesn't fit, then copies it.
+     *
+     * @return the UTF-8 bytes of a payload.
+     */
+    public byte[] next() {
+        ByteBuffer buffer = BUFFERS.get();
+        while (true) {
+            buffer.clear();
+            try {
+                writeTo(buffer);
+                return Arrays.copyOf(buffer.array(), buffer.position());
+            } catch (final BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                BUFFERS.set(buffer);
+            }
+        }
+    }
+
+}
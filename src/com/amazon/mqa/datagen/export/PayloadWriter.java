@@ -0,0 +1,21 @@
+package com.amazon.mqa.datagen.export;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+/**
+ * Writes a randomized JSON value of a compiled type straight into a buffer, as UTF-8.
+ */
+@FunctionalInterface
+interface PayloadWriter {
+
+    /**
+     * Writes a value.
+     *
+     * @param buffer the destination, written from its position.
+     * @param random the generator of the current thread.
+     * @throws java.nio.BufferOverflowException if the value doesn't fit in the buffer.
+     */
+    void write(ByteBuffer buffer, Random random);
+
+}
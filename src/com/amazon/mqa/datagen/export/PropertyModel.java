@@ -0,0 +1,184 @@
+package com.amazon.mqa.datagen.export;
+
+import com.google.common.collect.ImmutableList;
+
+import java.beans.Introspector;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * The readable properties of classes, found once per class from their getters.
+ */
+final class PropertyModel {
+
+    /** Marks the classes generated by cglib for abstract classes. */
+    private static final String CGLIB_MARKER = "$$EnhancerByCGLIB$$";
+
+    /** Map from class to its properties, sorted by name. */
+    private static final ClassValue<List<Property>> PROPERTIES = new ClassValue<List<Property>>() {
+        @Override
+        protected List<Property> computeValue(final Class<?> type) {
+            return find(type);
+        }
+    };
+
+    /**
+     * @param clazz the class.
+     * @return the properties of the class, sorted by name.
+     */
+    static List<Property> of(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        return PROPERTIES.get(clazz);
+    }
+
+    /**
+     * @param object the object.
+     * @return the class whose properties the object has: the class of the object, or the interface or abstract
+     *         class it is a proxy of.
+     */
+    static Class<?> classOf(final Object object) {
+        assert object != null : "object cannot be null";
+
+        final Class<?> clazz = object.getClass();
+        if (Proxy.isProxyClass(clazz) && clazz.getInterfaces().length > 0) {
+            return clazz.getInterfaces()[0];
+        }
+
+        return clazz.getName().contains(CGLIB_MARKER) ? clazz.getSuperclass() : clazz;
+    }
+
+    /**
+     * @param clazz the class.
+     * @return the properties of the class, sorted by name.
+     */
+    private static List<Property> find(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        final ImmutableList.Builder<Property> properties = ImmutableList.builder();
+        for (final Method method : clazz.getMethods()) {
+            final String name = nameOf(method);
+            if (name != null) {
+                if (!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    // public methods of non-public classes are only accessible once made so
+                    method.setAccessible(true);
+                }
+                properties.add(new Property(name, method));
+            }
+        }
+
+        return ImmutableList.sortedCopyOf(Comparator.comparing(Property::getName), properties.build());
+    }
+
+    /**
+     * @param method the method.
+     * @return the name of the property if the method is a getter, else <code>null</code>.
+     */
+    private static String nameOf(final Method method) {
+        assert method != null : "method cannot be null";
+
+        if (Modifier.isStatic(method.getModifiers()) || method.getParameterCount() != 0
+                || method.getReturnType() == void.class || method.getDeclaringClass() == Object.class) {
+            return null;
+        }
+
+        final String name = method.getName();
+        if (isAccessor(name, "get")) {
+            return Introspector.decapitalize(name.substring("get".length()));
+        }
+        if (isAccessor(name, "is")
+                && (method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class)) {
+            return Introspector.decapitalize(name.substring("is".length()));
+        }
+
+        return null;
+    }
+
+    /**
+     * @param name the name of a method.
+     * @param prefix the accessor prefix, eg. <code>get</code>.
+     * @return whether the name is the prefix followed by a capitalized property name, eg. <code>getIssue</code>
+     *         but not <code>getaway</code>.
+     */
+    private static boolean isAccessor(final String name, final String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix)
+                && Character.isUpperCase(name.charAt(prefix.length()));
+    }
+
+    /**
+     * A readable property.
+     */
+    static final class Property {
+
+        /** The name. */
+        private final String name;
+
+        /** The getter. */
+        private final Method getter;
+
+        /**
+         * Instantiates a new {@link Property}.
+         *
+         * @param name the name.
+         * @param getter the getter.
+         */
+        Property(final String name, final Method getter) {
+            this.name = name;
+            this.getter = getter;
+        }
+
+        /**
+         * @return the name.
+         */
+        String getName() {
+            return name;
+        }
+
+        /**
+         * @return the name of the getter.
+         */
+        String getGetterName() {
+            return getter.getName();
+        }
+
+        /**
+         * @return the name of the setter of the property, whether or not the class has it, eg.
+         *         <code>setValid</code> for <code>isValid</code>.
+         */
+        String getSetterName() {
+            final String getterName = getter.getName();
+
+            return "set" + getterName.substring(getterName.startsWith("is") ? "is".length() : "get".length());
+        }
+
+        /**
+         * @return the generic type of the property, as declared by the getter.
+         */
+        Type getType() {
+            return getter.getGenericReturnType();
+        }
+
+        /**
+         * @param object the object to read.
+         * @return the value of the property, <code>null</code> if the getter fails.
+         */
+        Object read(final Object object) {
+            try {
+                return getter.invoke(object);
+            } catch (final IllegalAccessException | InvocationTargetException e) {
+                // export what can be read, as objects are populated with what can be created
+                return null;
+            }
+        }
+    }
+
+    /** Utility class. */
+    private PropertyModel() {
+    }
+
+}
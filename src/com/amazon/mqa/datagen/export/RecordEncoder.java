@@ -0,0 +1,27 @@
+package com.amazon.mqa.datagen.export;
+
+import java.io.IOException;
+
+/**
+ * Encodes the records of an export as text.
+ */
+interface RecordEncoder {
+
+    /**
+     * Writes what starts each file, eg. the header row.
+     *
+     * @param out the destination.
+     * @throws IOException if writing fails.
+     */
+    void writeHeader(CharSink out) throws IOException;
+
+    /**
+     * Writes a record, ending with a line break.
+     *
+     * @param record the record.
+     * @param out the destination.
+     * @throws IOException if writing fails.
+     */
+    void writeRecord(Object record, CharSink out) throws IOException;
+
+}
@@ -4,17 +4,38 @@ import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
 
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 /**
- * Creates customized object with provided supplier for a specific class.
+ * <p>Creates customized object with provided supplier for a specific class.</p>
+ *
+ * <p>
+ * A supplier registered for a super class or an interface, eg. {@link Number} or {@link CharSequence}, also
+ * creates the objects of its sub types, the most specific supplier winning, provided that its class declares
+ * that it supplies instances of the sub type, eg. a {@code Supplier<Integer>} registered for {@link Number}
+ * creates {@link Integer} but not {@link Long}. A lambda doesn't declare what it supplies, so it only creates the
+ * class it is registered for. The supplier of each class is resolved once without calling any supplier, and a
+ * class no supplier applies to is left to other factories.
+ * </p>
  */
 final class BasicObjectFactory implements ObjectFactory {
 
     /** Map from class to the supplier that can supply object of that class. */
     private final Map<Class<?>, Supplier> suppliers;
 
+    /**
+     * Map from class to the supplier resolved for it, empty if none. Suppliers may reference the factory, so they
+     * live as long as the factory rather than in a {@link ClassValue}, which would keep them as long as the class.
+     */
+    private final Map<Class<?>, Optional<Supplier>> dispatch = new ConcurrentHashMap<>();
+
     /**
      * Instantiates a new {@link BasicObjectFactory}.
      *
@@ -27,16 +48,79 @@ final class BasicObjectFactory implements ObjectFactory {
         this.suppliers = ImmutableMap.copyOf(suppliers);
     }
 
+    /**
+     * Creates a factory of other suppliers, which starts with the suppliers resolved by this factory for the
+     * classes none of whose super types has its supplier changed.
+     *
+     * @param derivedSuppliers a map from class to the supplier that can get the object of that class.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    BasicObjectFactory derive(final Map<Class<?>, Supplier> derivedSuppliers) {
+        final BasicObjectFactory derived = new BasicObjectFactory(derivedSuppliers);
+
+        final Set<Class<?>> changed = Sets.union(suppliers.keySet(), derived.suppliers.keySet()).stream()
+                .filter(clazz -> suppliers.get(clazz) != derived.suppliers.get(clazz))
+                .collect(Collectors.toSet());
+        for (final Map.Entry<Class<?>, Optional<Supplier>> resolved : dispatch.entrySet()) {
+            final Class<?> clazz = resolved.getKey();
+            if (changed.stream().noneMatch(superType -> superType.isAssignableFrom(clazz))) {
+                derived.dispatch.put(clazz, resolved.getValue());
+            }
+        }
+
+        return derived;
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T create(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
-        if (!suppliers.containsKey(clazz)) {
+        final Optional<Supplier> supplier = dispatch.computeIfAbsent(clazz, this::resolve);
+        if (!supplier.isPresent()) {
             return null;
         }
 
-        return (T) suppliers.get(clazz).get();
+        return (T) supplier.get().get();
+    }
+
+    /**
+     * Finds the supplier of the class itself, else of its most specific super type which declares that it supplies
+     * instances of the class.
+     *
+     * @param clazz the class.
+     * @return the supplier, empty if none.
+     */
+    private Optional<Supplier> resolve(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        // primitives have no super types
+        final Supplier supplier = suppliers.get(clazz);
+        if (supplier != null || clazz.isPrimitive()) {
+            return Optional.ofNullable(supplier);
+        }
+
+        // sub types come before their super types
+        for (final Class<?> superType : TypeToken.of(clazz).getTypes().rawTypes()) {
+            final Supplier superSupplier = suppliers.get(superType);
+            if (superSupplier != null && clazz.isAssignableFrom(suppliedClass(superSupplier))) {
+                return Optional.of(superSupplier);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * @param supplier a supplier.
+     * @return the class of objects the class of the supplier declares it supplies, eg. {@link Integer} for a
+     *         {@code Supplier<Integer>}, {@link Object} if it doesn't declare it, eg. for a lambda.
+     */
+    private static Class<?> suppliedClass(final Supplier supplier) {
+        assert supplier != null : "supplier cannot be null";
+
+        return TypeToken.of(supplier.getClass()).resolveType(Supplier.class.getTypeParameters()[0]).getRawType();
     }
 
 }
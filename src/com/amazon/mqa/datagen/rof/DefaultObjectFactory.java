@@ -1,11 +1,17 @@
 package com.amazon.mqa.datagen.rof;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
 
 import java.util.List;
 import java.util.Map;
 
+import com.amazon.mqa.datagen.rof.spy.DefaultClassSpy;
+import com.amazon.mqa.datagen.rof.typed.CollectionProvider;
+import com.amazon.mqa.datagen.rof.typed.CollectionProviders;
 import com.amazon.mqa.datagen.rof.typed.DefaultTypedObjectFactory;
+import com.amazon.mqa.datagen.rof.typed.MapProvider;
+import com.amazon.mqa.datagen.rof.typed.MapProviders;
 import com.google.common.base.Supplier;
 import com.google.common.collect.ImmutableList;
 
@@ -18,35 +24,108 @@ public final class DefaultObjectFactory implements ObjectFactory {
     /** List of object factory. */
     private final List<ObjectFactory> objectFactories;
 
+    /** Creates objects with the suppliers of their classes, <code>null</code> if given the factories. */
+    private final BasicObjectFactory basicFactory;
+
+    /** Creates plain old java objects, <code>null</code> if given the factories. */
+    private final PojoFactory pojoFactory;
+
+    /** Creates objects from generic types, <code>null</code> if given the factories. */
+    private final DefaultTypedObjectFactory typedObjectFactory;
+
     /**
      * Instantiates a new {@link DefaultObjectFactory}.
      *
      * @param primitiveSuppliers suppliers for primitives.
-     * @param pmSuppliers suppliers for method of proxy object.
+     * @param pmSuppliers suppliers for method of proxy object or property of POJO.
      * @param arraySizeSupplier supplies size for array.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     public DefaultObjectFactory(final Map<Class<?>, Supplier> primitiveSuppliers,
                                 final Map<String, Supplier> pmSuppliers,
                                 final Supplier<Integer> arraySizeSupplier) {
+        this(primitiveSuppliers, pmSuppliers, arraySizeSupplier,
+                CollectionProviders.defaults(), MapProviders.defaults());
+    }
+
+    /**
+     * Instantiates a new {@link DefaultObjectFactory}.
+     *
+     * @param primitiveSuppliers suppliers for primitives.
+     * @param pmSuppliers suppliers for method of proxy object or property of POJO.
+     * @param arraySizeSupplier supplies size for array.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    //CHECKSTYLE:SUPPRESS:ParameterNumber
+    public DefaultObjectFactory(final Map<Class<?>, Supplier> primitiveSuppliers,
+                                final Map<String, Supplier> pmSuppliers,
+                                final Supplier<Integer> arraySizeSupplier,
+                                final Map<Class<?>, CollectionProvider> collectionProviders,
+                                final Map<Class<?>, MapProvider> mapProviders) {
+        this(null, primitiveSuppliers, pmSuppliers, arraySizeSupplier, collectionProviders, mapProviders);
+    }
+
+    /**
+     * Instantiates a new {@link DefaultObjectFactory}.
+     *
+     * @param parent the factory whose resolved suppliers, plans and generators are reused where the suppliers
+     *        are the same, <code>null</code> if none.
+     * @param primitiveSuppliers suppliers for primitives.
+     * @param pmSuppliers suppliers for method of proxy object or property of POJO.
+     * @param arraySizeSupplier supplies size for array.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @throws NullPointerException if any argument other than the parent is <code>null</code>.
+     */
+    private DefaultObjectFactory(final DefaultObjectFactory parent,
+                                 final Map<Class<?>, Supplier> primitiveSuppliers,
+                                 final Map<String, Supplier> pmSuppliers,
+                                 final Supplier<Integer> arraySizeSupplier,
+                                 final Map<Class<?>, CollectionProvider> collectionProviders,
+                                 final Map<Class<?>, MapProvider> mapProviders) {
         checkNotNull(primitiveSuppliers, "primitiveSuppliers cannot be null");
         checkNotNull(pmSuppliers, "pmSuppliers cannot be null");
         checkNotNull(arraySizeSupplier, "arraySizeSupplier cannot be null");
+        // shared by pojo and proxy creation so that both reuse the same compiled generators
+        this.typedObjectFactory = parent == null
+                ? new DefaultTypedObjectFactory(this, collectionProviders, mapProviders)
+                : parent.typedObjectFactory.derive(this, collectionProviders, mapProviders);
+        this.basicFactory = parent == null
+                ? new BasicObjectFactory(primitiveSuppliers)
+                : parent.basicFactory.derive(primitiveSuppliers);
+        this.pojoFactory = parent == null
+                ? new PojoFactory(typedObjectFactory, new DefaultClassSpy(), pmSuppliers)
+                : parent.pojoFactory.derive(typedObjectFactory, pmSuppliers);
+        this.objectFactories = objectFactories(primitiveSuppliers, pmSuppliers, arraySizeSupplier);
+    }
 
-        // proxy handler
-        final Handler handler = new Handler(new DefaultTypedObjectFactory(this), pmSuppliers);
+    /**
+     * Creates a factory of other suppliers and providers, which starts with the suppliers resolved for classes,
+     * the plans of POJOs and the generators of generic types of this factory that don't depend on a changed
+     * supplier.
+     *
+     * @param primitiveSuppliers suppliers for primitives.
+     * @param pmSuppliers suppliers for method of proxy object or property of POJO.
+     * @param arraySizeSupplier supplies size for array.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalStateException if this factory was given its factories.
+     */
+    public DefaultObjectFactory derive(final Map<Class<?>, Supplier> primitiveSuppliers,
+                                       final Map<String, Supplier> pmSuppliers,
+                                       final Supplier<Integer> arraySizeSupplier,
+                                       final Map<Class<?>, CollectionProvider> collectionProviders,
+                                       final Map<Class<?>, MapProvider> mapProviders) {
+        checkState(pojoFactory != null, "a factory given its factories cannot be derived");
 
-        // the order matters
-        this.objectFactories = ImmutableList.of(
-                new BasicObjectFactory(primitiveSuppliers),
-                new ObjectArrayFactory(this, arraySizeSupplier),
-                new EnumFactory(),
-                PojoFactory.create(this),
-                new InterfaceFactory(this),
-                new InterfaceProxyFactory(handler),
-                new AbstractClassProxyFactory(handler)
-        );
+        return new DefaultObjectFactory(this, primitiveSuppliers, pmSuppliers, arraySizeSupplier,
+                collectionProviders, mapProviders);
     }
+    //CHECKSTYLE:UNSUPPRESS:ParameterNumber
 
     /**
      * Instantiates a new {@link DefaultObjectFactory}.
@@ -56,6 +135,9 @@ public final class DefaultObjectFactory implements ObjectFactory {
      */
     DefaultObjectFactory(final List<ObjectFactory> objectFactories) {
         this.objectFactories = checkNotNull(objectFactories, "objectFactories cannot be null");
+        this.basicFactory = null;
+        this.pojoFactory = null;
+        this.typedObjectFactory = null;
     }
 
     @Override
@@ -69,4 +151,27 @@ public final class DefaultObjectFactory implements ObjectFactory {
                 .orElse(null);
     }
 
+    /**
+     * @param primitiveSuppliers suppliers for primitives.
+     * @param pmSuppliers suppliers for method of proxy object or property of POJO.
+     * @param arraySizeSupplier supplies size for array.
+     * @return the factories to create objects with, in order.
+     */
+    private List<ObjectFactory> objectFactories(final Map<Class<?>, Supplier> primitiveSuppliers,
+                                                final Map<String, Supplier> pmSuppliers,
+                                                final Supplier<Integer> arraySizeSupplier) {
+        final Handler handler = new Handler(typedObjectFactory, pmSuppliers);
+
+        // the order matters
+        return ImmutableList.of(
+                basicFactory,
+                new ObjectArrayFactory(this, arraySizeSupplier, primitiveSuppliers),
+                new EnumFactory(),
+                pojoFactory,
+                new InterfaceFactory(this),
+                new InterfaceProxyFactory(handler),
+                new AbstractClassProxyFactory(handler)
+        );
+    }
+
 }
@@ -2,17 +2,23 @@ package com.amazon.mqa.datagen.rof;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import com.amazon.mqa.datagen.supplier.Randoms;
 
 /**
  * Creates object from enumeration type.
  */
 final class EnumFactory implements ObjectFactory {
 
-    /** Creates random numbers. */
-    private static final Random RANDOM = new Random();
+    /** Constants of each enum class, cached since {@link Class#getEnumConstants()} clones them on every call. */
+    private static final ClassValue<Object[]> CONSTANTS = new ClassValue<Object[]>() {
+        @Override
+        protected Object[] computeValue(final Class<?> type) {
+            return type.getEnumConstants();
+        }
+    };
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T create(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
@@ -20,9 +26,9 @@ final class EnumFactory implements ObjectFactory {
             return null;
         }
 
-        final T[] constants = clazz.getEnumConstants();
+        final Object[] constants = CONSTANTS.get(clazz);
 
-        return constants.length == 0 ? null : constants[RANDOM.nextInt(constants.length)];
+        return constants.length == 0 ? null : (T) constants[Randoms.current().nextInt(constants.length)];
     }
 
 }
@@ -40,8 +40,9 @@ final class Handler extends AbstractInvocationHandler implements InvocationHandl
         checkNotNull(method, "method cannot be null");
         checkNotNull(args, "args cannot be null");
 
-        if (pmSuppliers.containsKey(method.getName())) {
-            return pmSuppliers.get(method.getName()).get();
+        final Supplier supplier = PropertyNames.find(pmSuppliers, method.getName());
+        if (supplier != null) {
+            return supplier.get();
         }
 
         return factory.create(method.getReturnType());
@@ -3,13 +3,15 @@ package com.amazon.mqa.datagen.rof;
 import static java.util.Objects.requireNonNull;
 
 import java.lang.reflect.Modifier;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 import org.reflections.Reflections;
 
+import com.google.common.collect.ImmutableList;
+
 /**
  * {@link ObjectFactory} that attempts to create instances of interfaces that have a concrete implementation on the
  * classpath that is supported. This supports interface types using the Java Immutables library for POJO
@@ -17,11 +19,23 @@ import org.reflections.Reflections;
  */
 public final class InterfaceFactory implements ObjectFactory {
 
+    /** Map from interface to its supported implementations, public ones first, scanned on first use. */
+    private static final ClassValue<List<Class<?>>> IMPLEMENTATIONS = new ClassValue<List<Class<?>>>() {
+        @Override
+        protected List<Class<?>> computeValue(final Class<?> type) {
+            return implementationsOf(type);
+        }
+    };
+
     /** The object factory to delegate to. */
     private final ObjectFactory factory;
 
-    /** Classes that are currently attempting to be created (used to avoid circular type references). */
-    private final Set<Class<?>> classesInProgress = Collections.synchronizedSet(new HashSet<>());
+    /**
+     * Classes that the current thread is attempting to create (used to avoid circular type references). Kept per
+     * thread, since other threads may create the same classes concurrently, and without locking, which would pin
+     * virtual threads.
+     */
+    private final ThreadLocal<Set<Class<?>>> classesInProgress = ThreadLocal.withInitial(HashSet::new);
 
     /**
      * Instantiates a new {@link InterfaceFactory}.
@@ -37,16 +51,15 @@ public final class InterfaceFactory implements ObjectFactory {
     public <T> T create(final Class<T> clazz) {
         requireNonNull(clazz, "clazz cannot be null");
 
-        if (!clazz.isInterface() || classesInProgress.contains(clazz)) {
+        final Set<Class<?>> inProgress = classesInProgress.get();
+        if (!clazz.isInterface() || !inProgress.add(clazz)) {
             return null;
         }
 
-        classesInProgress.add(clazz);
-
         try {
             return createInternal(clazz);
         } finally {
-            classesInProgress.remove(clazz);
+            inProgress.remove(clazz);
         }
     }
 
@@ -57,22 +70,36 @@ public final class InterfaceFactory implements ObjectFactory {
      * @param <T> - the type.
      * @return the instance, or <code>null</code> if it cannot be created.
      */
+    @SuppressWarnings("unchecked")
     private <T> T createInternal(final Class<T> clazz) {
         assert clazz != null : "clazz cannot be null";
 
+        return (T) IMPLEMENTATIONS.get(clazz).stream()
+                .map(factory::create)
+                .filter(e -> e != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * Scans the package of an interface for its implementations, which is far more expensive than creating
+     * an object.
+     *
+     * @param clazz - the interface.
+     * @return the implementations that are not deprecated, public ones first.
+     */
+    private static List<Class<?>> implementationsOf(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
         final Reflections reflections = new Reflections(clazz.getPackage().getName());
-        final Set<Class<? extends T>> allTypes = reflections.getSubTypesOf(clazz);
 
-        final Comparator<? super Class<? extends T>> publicClassesFirst = (one, two) ->
+        final Comparator<Class<?>> publicClassesFirst = (one, two) ->
                 (two.getModifiers() & Modifier.PUBLIC) - (one.getModifiers() & Modifier.PUBLIC);
 
-        return allTypes.stream()
+        return reflections.getSubTypesOf(clazz).stream()
                 .filter(e -> !e.isAnnotationPresent(Deprecated.class))
                 .sorted(publicClassesFirst)
-                .map(factory::create)
-                .filter(e -> e != null)
-                .findFirst()
-                .orElse(null);
+                .collect(ImmutableList.toImmutableList());
     }
 
 }
@@ -2,9 +2,12 @@ package com.amazon.mqa.datagen.rof;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.amazon.mqa.datagen.supplier.PrimitiveSuppliers;
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
 
 import java.lang.reflect.Array;
+import java.util.Map;
 
 /**
  * Creates Object array with each element being instantiated with some specific value.
@@ -17,6 +20,9 @@ final class ObjectArrayFactory implements ObjectFactory {
     /** Supplies array size. */
     private final Supplier<Integer> arraySizeSupplier;
 
+    /** Map from class to supplier, used to fill primitive arrays without boxing. */
+    private final Map<Class<?>, Supplier> suppliers;
+
     /**
      * Instantiates a new {@link ObjectArrayFactory}.
      *
@@ -25,8 +31,24 @@ final class ObjectArrayFactory implements ObjectFactory {
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     ObjectArrayFactory(final ObjectFactory objectFactory, final Supplier<Integer> arraySizeSupplier) {
+        this(objectFactory, arraySizeSupplier, ImmutableMap.of());
+    }
+
+    /**
+     * Instantiates a new {@link ObjectArrayFactory}.
+     *
+     * @param objectFactory creates objects.
+     * @param arraySizeSupplier supplies array size.
+     * @param suppliers map from class to supplier, primitive arrays are filled by the primitive interface of
+     *        the supplier registered for their component type, eg. {@link java.util.function.IntSupplier}.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    ObjectArrayFactory(final ObjectFactory objectFactory,
+                       final Supplier<Integer> arraySizeSupplier,
+                       final Map<Class<?>, Supplier> suppliers) {
         this.objectFactory = checkNotNull(objectFactory, "objectFactory cannot be null");
         this.arraySizeSupplier = checkNotNull(arraySizeSupplier, "arraySizeSupplier cannot be null");
+        this.suppliers = ImmutableMap.copyOf(checkNotNull(suppliers, "suppliers cannot be null"));
     }
 
     @SuppressWarnings("unchecked")
@@ -39,7 +61,15 @@ final class ObjectArrayFactory implements ObjectFactory {
         }
 
         final Class<?> componentType = clazz.getComponentType();
-        final int howMany = arraySizeSupplier.get();
+        final int howMany = PrimitiveSuppliers.getAsInt(arraySizeSupplier);
+
+        final Supplier<?> supplier = suppliers.get(componentType);
+        if (componentType.isPrimitive() && supplier != null) {
+            final Object primitiveArray = PrimitiveSuppliers.newArray(componentType, supplier, howMany);
+            if (primitiveArray != null) {
+                return (T) primitiveArray;
+            }
+        }
 
         final Object array = Array.newInstance(componentType, howMany);
         for (int i = 0; i < howMany; i++) {
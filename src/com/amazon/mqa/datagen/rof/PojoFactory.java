@@ -6,13 +6,17 @@ import com.amazon.mqa.datagen.rof.typed.DefaultTypedObjectFactory;
 import com.amazon.mqa.datagen.rof.typed.TypedObjectFactory;
 import com.amazon.mqa.datagen.rof.spy.ClassSpy;
 import com.amazon.mqa.datagen.rof.spy.DefaultClassSpy;
-import com.google.common.collect.Lists;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Create any plain old java objects (POJO) other than primitive, interface, enum or abstract class.
@@ -25,6 +29,15 @@ final class PojoFactory implements ObjectFactory {
     /** Creates objects from its type. */
     private final TypedObjectFactory typedObjectFactory;
 
+    /** Suppliers for setter or property name. */
+    private final Map<String, Supplier> propertySuppliers;
+
+    /**
+     * Map from class to its creation plan, resolved on first use. Plans depend on the property suppliers, so they
+     * live as long as the factory rather than in a {@link ClassValue}, which would keep them as long as the class.
+     */
+    private final Map<Class<?>, Plan<?>> plans = new ConcurrentHashMap<>();
+
     /**
      * Creates a {@link PojoFactory}.
      *
@@ -48,8 +61,44 @@ final class PojoFactory implements ObjectFactory {
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     PojoFactory(final TypedObjectFactory typedObjectFactory, final ClassSpy spy) {
+        this(typedObjectFactory, spy, ImmutableMap.of());
+    }
+
+    /**
+     * Instantiates a new {@link PojoFactory}.
+     *
+     * @param spy finds constructor or setter of a class.
+     * @param typedObjectFactory creates object from its type.
+     * @param propertySuppliers suppliers for setter or property name, which take precedence over the type.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    PojoFactory(final TypedObjectFactory typedObjectFactory,
+                final ClassSpy spy,
+                final Map<String, Supplier> propertySuppliers) {
         this.typedObjectFactory = checkNotNull(typedObjectFactory, "typeFactory cannot be null");
         this.spy = checkNotNull(spy, "spy cannot be null");
+        this.propertySuppliers = checkNotNull(propertySuppliers, "propertySuppliers cannot be null");
+    }
+
+    /**
+     * Creates a factory of other property suppliers, which starts with the plans of this factory whose setters
+     * have the same suppliers.
+     *
+     * @param derivedTypedObjectFactory creates object from its type.
+     * @param derivedPropertySuppliers suppliers for setter or property name, which take precedence over the type.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    PojoFactory derive(final TypedObjectFactory derivedTypedObjectFactory,
+                       final Map<String, Supplier> derivedPropertySuppliers) {
+        final PojoFactory derived = new PojoFactory(derivedTypedObjectFactory, spy, derivedPropertySuppliers);
+        for (final Map.Entry<Class<?>, Plan<?>> plan : plans.entrySet()) {
+            if (plan.getValue().isBoundTo(derivedPropertySuppliers)) {
+                derived.plans.put(plan.getKey(), plan.getValue());
+            }
+        }
+
+        return derived;
     }
 
     @Override
@@ -60,9 +109,11 @@ final class PojoFactory implements ObjectFactory {
             return null;
         }
 
-        final T object = createObject(clazz);
+        @SuppressWarnings("unchecked")
+        final Plan<T> plan = (Plan<T>) plans.computeIfAbsent(clazz, this::plan);
+        final T object = plan.instantiate(typedObjectFactory);
 
-        return object == null ? null : populateFields(object);
+        return object == null ? null : plan.populate(object, typedObjectFactory);
     }
 
     /**
@@ -78,59 +129,142 @@ final class PojoFactory implements ObjectFactory {
     }
 
     /**
-     * Creates objects by calling the class's constructor with constructor argument properly created.
+     * Resolves how to create objects of a class: its constructor, and each setter with the supplier of its
+     * property if any.
      *
      * @param clazz the class to create.
      * @param <T> the type of class.
-     * @return the object, or <code>null</code> if failed to instantiate the object.
+     * @return the plan.
      */
-    private <T> T createObject(final Class<T> clazz) {
+    private <T> Plan<T> plan(final Class<T> clazz) {
         assert clazz != null : "clazz cannot be null";
 
         final Constructor<T> constructor = spy.findConstructor(clazz);
         // allow the invocation of non-public constructor
         constructor.setAccessible(true);
 
-        final List<Object> constructorArgs = Lists.newArrayList();
-        for (final Type genericType : constructor.getGenericParameterTypes()) {
-            constructorArgs.add(typedObjectFactory.create(genericType));
-        }
-
-        final T object;
-        try {
-            object = constructor.newInstance(constructorArgs.toArray());
-        } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
-            return null;
+        final ImmutableList.Builder<Setter> setters = ImmutableList.builder();
+        for (final Method setter : spy.findMethods(clazz, "set")) {
+            // assumes setter only has one input argument
+            if (setter.getParameterCount() == 1) {
+                setters.add(new Setter(setter, PropertyNames.find(propertySuppliers, setter.getName())));
+            }
         }
 
-        return object;
+        return new Plan<>(constructor, setters.build());
     }
 
     /**
-     * Populating object fields by calling setters.
+     * How to create objects of a class, resolved once per class.
      *
-     * @param object the object to set.
-     * @param <T> the type of object.
-     * @return the object with field being set.
+     * @param <T> the type of class.
      */
-    private <T> T populateFields(final T object) {
-        assert object != null : "object cannot be null";
+    private static final class Plan<T> {
 
-        final List<Method> setters = spy.findMethods(object.getClass(), "set");
-        for (final Method setter : setters) {
-            final Type[] genericSetterParamTypes = setter.getGenericParameterTypes();
-            // assumes setter only has one input argument
-            if (genericSetterParamTypes.length == 1) {
+        /** The constructor. */
+        private final Constructor<T> constructor;
+
+        /** The generic types of the constructor parameters. */
+        private final Type[] parameterTypes;
+
+        /** The setters. */
+        private final List<Setter> setters;
+
+        /**
+         * Instantiates a new {@link Plan}.
+         *
+         * @param constructor the constructor.
+         * @param setters the setters.
+         */
+        Plan(final Constructor<T> constructor, final List<Setter> setters) {
+            this.constructor = constructor;
+            this.parameterTypes = constructor.getGenericParameterTypes();
+            this.setters = setters;
+        }
+
+        /**
+         * Creates objects by calling the class's constructor with constructor argument properly created.
+         *
+         * @param typedObjectFactory creates the constructor arguments.
+         * @return the object, or <code>null</code> if failed to instantiate the object.
+         */
+        T instantiate(final TypedObjectFactory typedObjectFactory) {
+            final Object[] constructorArgs = new Object[parameterTypes.length];
+            for (int i = 0; i < parameterTypes.length; i++) {
+                constructorArgs[i] = typedObjectFactory.create(parameterTypes[i]);
+            }
+
+            final T object;
+            try {
+                object = constructor.newInstance(constructorArgs);
+            } catch (final InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                return null;
+            }
+
+            return object;
+        }
+
+        /**
+         * Populating object fields by calling setters.
+         *
+         * @param object the object to set.
+         * @param typedObjectFactory creates the setter arguments without supplier.
+         * @return the object with field being set.
+         */
+        T populate(final T object, final TypedObjectFactory typedObjectFactory) {
+            assert object != null : "object cannot be null";
+
+            for (final Setter setter : setters) {
                 try {
-                    setter.invoke(object, typedObjectFactory.create(genericSetterParamTypes[0]));
+                    setter.method.invoke(object, setter.supplier == null
+                            ? typedObjectFactory.create(setter.parameterType)
+                            : setter.supplier.get());
                 } catch (final IllegalAccessException | InvocationTargetException e) {
                     // make setter invoke not fail on error
                     // intentionally ignored
                 }
             }
+
+            return object;
         }
 
-        return object;
+        /**
+         * @param propertySuppliers suppliers for setter or property name.
+         * @return whether each setter has the supplier it would be resolved with from the suppliers.
+         */
+        boolean isBoundTo(final Map<String, Supplier> propertySuppliers) {
+            assert propertySuppliers != null : "propertySuppliers cannot be null";
+
+            return setters.stream().allMatch(
+                    setter -> PropertyNames.find(propertySuppliers, setter.method.getName()) == setter.supplier);
+        }
+    }
+
+    /**
+     * A setter and where its argument comes from.
+     */
+    private static final class Setter {
+
+        /** The setter. */
+        private final Method method;
+
+        /** The generic type of the argument. */
+        private final Type parameterType;
+
+        /** Supplies the argument, <code>null</code> to create it from its type. */
+        private final Supplier supplier;
+
+        /**
+         * Instantiates a new {@link Setter}.
+         *
+         * @param method the setter.
+         * @param supplier supplies the argument, <code>null</code> to create it from its type.
+         */
+        Setter(final Method method, final Supplier supplier) {
+            this.method = method;
+            this.parameterType = method.getGenericParameterTypes()[0];
+            this.supplier = supplier;
+        }
     }
 
 }
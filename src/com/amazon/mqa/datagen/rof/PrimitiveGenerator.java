@@ -0,0 +1,235 @@
+package com.amazon.mqa.datagen.rof;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.supplier.RandomDoubleSupplier;
+import com.amazon.mqa.datagen.supplier.RandomIntegerSupplier;
+import com.amazon.mqa.datagen.supplier.RandomLongSupplier;
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.base.Supplier;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * <p>Generates primitive values in bulk without going through the object factory chain.</p>
+ *
+ * <p>
+ * Unless a custom supplier is registered for the primitive class, values are drawn straight from the random
+ * source into arrays or primitive streams, with no boxing. A custom supplier is honored, without boxing if it
+ * implements the primitive interface, eg. {@link IntSupplier}, otherwise unboxing each value once.
+ * </p>
+ *
+ * <p>
+ * Streams are consumed after the call returns, possibly in parallel, so they never draw from the generator of
+ * the calling thread. A custom supplier draws each element in a scope seeded for its index, and the random source
+ * fills blocks of values, each in a scope seeded for the block, from a seed split off at the call. The streams of
+ * a seeded factory are therefore reproducible, sequential or parallel, and parallel streams split at block bounds
+ * rather than share a generator. Arrays are filled before the call returns, on the calling thread.
+ * </p>
+ */
+public final class PrimitiveGenerator {
+
+    /** The number of values of a stream drawn from the random source in one block. */
+    private static final int BLOCK_SIZE = 1024;
+
+    /** Supplier of int, <code>null</code> if the random source is used directly. */
+    private final IntSupplier intSupplier;
+
+    /** Supplier of long, <code>null</code> if the random source is used directly. */
+    private final LongSupplier longSupplier;
+
+    /** Supplier of double, <code>null</code> if the random source is used directly. */
+    private final DoubleSupplier doubleSupplier;
+
+    /**
+     * Instantiates a new {@link PrimitiveGenerator}.
+     *
+     * @param suppliers a map from class to the supplier that can supply object of that class.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    @SuppressWarnings("unchecked")
+    public PrimitiveGenerator(final Map<Class<?>, Supplier> suppliers) {
+        checkNotNull(suppliers, "suppliers cannot be null");
+
+        final Supplier<Integer> customInt = custom(suppliers.get(int.class), RandomIntegerSupplier.class);
+        final Supplier<Long> customLong = custom(suppliers.get(long.class), RandomLongSupplier.class);
+        final Supplier<Double> customDouble = custom(suppliers.get(double.class), RandomDoubleSupplier.class);
+
+        // suppliers that don't implement the primitive interface are unboxed per value
+        this.intSupplier = customInt == null || customInt instanceof IntSupplier
+                ? (IntSupplier) customInt : customInt::get;
+        this.longSupplier = customLong == null || customLong instanceof LongSupplier
+                ? (LongSupplier) customLong : customLong::get;
+        this.doubleSupplier = customDouble == null || customDouble instanceof DoubleSupplier
+                ? (DoubleSupplier) customDouble : customDouble::get;
+    }
+
+    /**
+     * @param howMany the number of ints.
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public int[] ints(final int howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        return intSupplier == null
+                ? Randoms.current().ints(howMany).toArray()
+                : intStream(howMany).toArray();
+    }
+
+    /**
+     * Generates ints within a range, always drawn from the random source.
+     *
+     * @param howMany the number of ints.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random ints.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    public int[] ints(final int howMany, final int min, final int max) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+        checkArgument(min < max, "min is greater or equal to max");
+
+        return Randoms.current().ints(howMany, min, max).toArray();
+    }
+
+    /**
+     * @param howMany the number of longs.
+     * @return an array of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public long[] longs(final int howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        return longSupplier == null
+                ? Randoms.current().longs(howMany).toArray()
+                : longStream(howMany).toArray();
+    }
+
+    /**
+     * @param howMany the number of doubles.
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public double[] doubles(final int howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        return doubleSupplier == null
+                ? Randoms.current().doubles(howMany).toArray()
+                : doubleStream(howMany).toArray();
+    }
+
+    /**
+     * Generates doubles within a range, always drawn from the random source.
+     *
+     * @param howMany the number of doubles.
+     * @param min the min (inclusive).
+     * @param max the max (exclusive).
+     * @return an array of random doubles.
+     * @throws IllegalArgumentException if the number is negative or min is not less than max.
+     */
+    public double[] doubles(final int howMany, final double min, final double max) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+        checkArgument(min < max, "min is greater or equal to max");
+
+        return Randoms.current().doubles(howMany, min, max).toArray();
+    }
+
+    /**
+     * @param howMany the number of ints.
+     * @return a sequential stream of random ints.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public IntStream intStream(final long howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        if (intSupplier == null) {
+            final LongFunction<int[]> blockAt =
+                    Randoms.deferredAt(() -> Randoms.current().ints(BLOCK_SIZE).toArray());
+            return blocks(howMany).mapToObj(
+                    block -> Arrays.stream(blockAt.apply(block), 0, blockLength(howMany, block)))
+                    .flatMapToInt(Function.identity());
+        }
+
+        final LongFunction<Integer> elementAt = Randoms.deferredAt(intSupplier::getAsInt);
+        return LongStream.range(0, howMany).mapToInt(elementAt::apply);
+    }
+
+    /**
+     * @param howMany the number of longs.
+     * @return a sequential stream of random longs.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public LongStream longStream(final long howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        if (longSupplier == null) {
+            final LongFunction<long[]> blockAt =
+                    Randoms.deferredAt(() -> Randoms.current().longs(BLOCK_SIZE).toArray());
+            return blocks(howMany).flatMap(
+                    block -> Arrays.stream(blockAt.apply(block), 0, blockLength(howMany, block)));
+        }
+
+        final LongFunction<Long> elementAt = Randoms.deferredAt(longSupplier::getAsLong);
+        return LongStream.range(0, howMany).map(elementAt::apply);
+    }
+
+    /**
+     * @param howMany the number of doubles.
+     * @return a sequential stream of random doubles.
+     * @throws IllegalArgumentException if the number is negative.
+     */
+    public DoubleStream doubleStream(final long howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        if (doubleSupplier == null) {
+            final LongFunction<double[]> blockAt =
+                    Randoms.deferredAt(() -> Randoms.current().doubles(BLOCK_SIZE).toArray());
+            return blocks(howMany).mapToObj(
+                    block -> Arrays.stream(blockAt.apply(block), 0, blockLength(howMany, block)))
+                    .flatMapToDouble(Function.identity());
+        }
+
+        final LongFunction<Double> elementAt = Randoms.deferredAt(doubleSupplier::getAsDouble);
+        return LongStream.range(0, howMany).mapToDouble(elementAt::apply);
+    }
+
+    /**
+     * @param howMany the number of values of a stream.
+     * @return the indexes of the blocks of the values.
+     */
+    private static LongStream blocks(final long howMany) {
+        return LongStream.range(0, (howMany + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+
+    /**
+     * @param howMany the number of values of a stream.
+     * @param block the index of a block of the values.
+     * @return the number of values of the block, less than the block size for the last block.
+     */
+    private static int blockLength(final long howMany, final long block) {
+        return (int) Math.min(BLOCK_SIZE, howMany - block * BLOCK_SIZE);
+    }
+
+    /**
+     * @param supplier the registered supplier, can be <code>null</code>.
+     * @param builtIn the built-in random supplier class.
+     * @return the supplier if it is a custom one, otherwise <code>null</code>.
+     */
+    private static Supplier custom(final Supplier supplier, final Class<? extends Supplier> builtIn) {
+        assert builtIn != null : "builtIn cannot be null";
+
+        return supplier == null || builtIn.isInstance(supplier) ? null : supplier;
+    }
+
+}
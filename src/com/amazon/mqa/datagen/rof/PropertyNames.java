@@ -0,0 +1,65 @@
+package com.amazon.mqa.datagen.rof;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+
+import java.beans.Introspector;
+import java.util.Map;
+
+/**
+ * Finds the suppliers registered by method or property name, see
+ * {@link com.amazon.mqa.datagen.Config#withSupplier(String, Supplier)}.
+ */
+public final class PropertyNames {
+
+    /** Accessor prefixes. */
+    private static final String[] PREFIXES = {"get", "set", "is"};
+
+    /**
+     * @param suppliers map from method or property name to its supplier.
+     * @param methodName the method name.
+     * @return the supplier registered by the method name, otherwise by its property name, <code>null</code> if
+     *         none.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier find(final Map<String, Supplier> suppliers, final String methodName) {
+        checkNotNull(suppliers, "suppliers cannot be null");
+        checkNotNull(methodName, "methodName cannot be null");
+
+        if (suppliers.isEmpty()) {
+            return null;
+        }
+
+        final Supplier supplier = suppliers.get(methodName);
+        if (supplier != null) {
+            return supplier;
+        }
+
+        final String propertyName = of(methodName);
+        return propertyName == null ? null : suppliers.get(propertyName);
+    }
+
+    /**
+     * @param methodName the method name, eg. <code>setName</code>, <code>getName</code> or <code>isValid</code>.
+     * @return the property name, eg. <code>name</code> or <code>valid</code>, <code>null</code> if the method
+     *         isn't named like an accessor, ie. a prefix followed by a capitalized name, eg. <code>issue</code>.
+     */
+    static String of(final String methodName) {
+        assert methodName != null : "methodName cannot be null";
+
+        for (final String prefix : PREFIXES) {
+            if (methodName.length() > prefix.length() && methodName.startsWith(prefix)
+                    && Character.isUpperCase(methodName.charAt(prefix.length()))) {
+                return Introspector.decapitalize(methodName.substring(prefix.length()));
+            }
+        }
+
+        return null;
+    }
+
+    /** Utility class. */
+    private PropertyNames() {
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.amazon.mqa.datagen.rof;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.amazon.mqa.datagen.supplier.UniqueSupplier;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Creates a requested number of distinct objects of a class.
+ *
+ * Classes whose value space is known, ie. enums and classes with a {@link UniqueSupplier}, are generated distinct
+ * directly and fail fast if the requested number exceeds the value space. Other classes are created by the
+ * object factory and deduplicated, failing if not enough distinct objects show up within a bounded number of
+ * attempts.
+ */
+public final class UniqueObjectGenerator {
+
+    /** Extra attempts allowed for deduplicated creation on top of twice the requested number. */
+    private static final int RETRY_ALLOWANCE = 100;
+
+    /** Map from class to the supplier that can supply object of that class. */
+    private final Map<Class<?>, Supplier> suppliers;
+
+    /** Creates objects that are not supplied distinct directly. */
+    private final ObjectFactory factory;
+
+    /**
+     * Instantiates a new {@link UniqueObjectGenerator}.
+     *
+     * @param suppliers a map from class to the supplier that can get the object of that class.
+     * @param factory creates objects of classes without known value space.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public UniqueObjectGenerator(final Map<Class<?>, Supplier> suppliers, final ObjectFactory factory) {
+        checkNotNull(suppliers, "suppliers cannot be null");
+
+        this.suppliers = ImmutableMap.copyOf(suppliers);
+        this.factory = checkNotNull(factory, "factory cannot be null");
+    }
+
+    /**
+     * @param clazz the class.
+     * @return the number of distinct objects of the class, {@link Long#MAX_VALUE} if unknown or larger than that.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public long cardinality(final Class<?> clazz) {
+        checkNotNull(clazz, "clazz cannot be null");
+
+        final Supplier supplier = suppliers.get(clazz);
+        if (supplier instanceof UniqueSupplier) {
+            return ((UniqueSupplier) supplier).cardinality();
+        }
+
+        if (clazz.isEnum()) {
+            return clazz.getEnumConstants().length;
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Creates distinct objects.
+     *
+     * @param clazz the class of objects.
+     * @param howMany the number of distinct objects to create.
+     * @param consumer receives each object.
+     * @param <T> the type of objects.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number is negative or larger than the cardinality of the class.
+     * @throws ObjectCreationException if not enough distinct objects could be created.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void generate(final Class<T> clazz, final int howMany, final Consumer<? super T> consumer) {
+        checkNotNull(clazz, "clazz cannot be null");
+        checkNotNull(consumer, "consumer cannot be null");
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+
+        final long cardinality = cardinality(clazz);
+        checkArgument(howMany <= cardinality,
+                "cannot create %s distinct %s, only %s exist", howMany, clazz, cardinality);
+
+        final Supplier supplier = suppliers.get(clazz);
+        if (supplier instanceof UniqueSupplier) {
+            ((UniqueSupplier<T>) supplier).supplyDistinct(howMany, consumer);
+        } else if (clazz.isEnum()) {
+            sampleConstants(clazz.getEnumConstants(), howMany, consumer);
+        } else {
+            deduplicate(clazz, howMany, consumer);
+        }
+    }
+
+    /**
+     * Samples enum constants without replacement by a partial Fisher-Yates shuffle.
+     *
+     * @param constants the enum constants, shuffled in place.
+     * @param howMany the number of constants to sample.
+     * @param consumer receives each constant.
+     * @param <T> the enum type.
+     */
+    private <T> void sampleConstants(final T[] constants, final int howMany, final Consumer<? super T> consumer) {
+        assert constants != null : "constants cannot be null";
+
+        final Random random = Randoms.current();
+        for (int i = 0; i < howMany; i++) {
+            final int j = i + random.nextInt(constants.length - i);
+            final T constant = constants[j];
+            constants[j] = constants[i];
+            constants[i] = constant;
+            consumer.accept(constant);
+        }
+    }
+
+    /**
+     * Creates objects until enough distinct objects are found.
+     *
+     * @param clazz the class of objects.
+     * @param howMany the number of distinct objects to create.
+     * @param consumer receives each object.
+     * @param <T> the type of objects.
+     * @throws ObjectCreationException if not enough distinct objects could be created.
+     */
+    private <T> void deduplicate(final Class<T> clazz, final int howMany, final Consumer<? super T> consumer) {
+        assert clazz != null : "clazz cannot be null";
+
+        final Set<T> seen = Sets.newHashSetWithExpectedSize(howMany);
+        final long maxAttempts = 2L * howMany + RETRY_ALLOWANCE;
+        for (long attempt = 0; attempt < maxAttempts && seen.size() < howMany; attempt++) {
+            final T object = factory.create(clazz);
+            if (object != null && seen.add(object)) {
+                consumer.accept(object);
+            }
+        }
+
+        if (seen.size() < howMany) {
+            throw new ObjectCreationException(String.format("Only %d distinct %s could be created out of %d",
+                    seen.size(), clazz, howMany));
+        }
+    }
+
+}
@@ -8,9 +8,30 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.List;
 
-/** Default implementation of {@link ClassSpy}. */
+/**
+ * Default implementation of {@link ClassSpy}.
+ *
+ * The constructor and methods of each class are looked up once and shared by all instances, since they only
+ * depend on the class.
+ */
 public final class DefaultClassSpy implements ClassSpy {
 
+    /** Map from class to its constructor with least number of parameters. */
+    private static final ClassValue<Constructor<?>> CONSTRUCTORS = new ClassValue<Constructor<?>>() {
+        @Override
+        protected Constructor<?> computeValue(final Class<?> type) {
+            return leastParameterConstructor(type);
+        }
+    };
+
+    /** Map from class to its public methods, including inherited ones. */
+    private static final ClassValue<Method[]> METHODS = new ClassValue<Method[]>() {
+        @Override
+        protected Method[] computeValue(final Class<?> type) {
+            return type.getMethods();
+        }
+    };
+
     /**
      * Finds the constructor with least number of parameters.
      *
@@ -21,16 +42,7 @@ public final class DefaultClassSpy implements ClassSpy {
     public <T> Constructor<T> findConstructor(final Class<T> clazz) {
         checkNotNull(clazz, "clazz cannot be null");
 
-        int minNumberOfParameter = Integer.MAX_VALUE;
-        Constructor<T> result = null;
-        for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
-            if (constructor.getParameterTypes().length < minNumberOfParameter) {
-                minNumberOfParameter = constructor.getParameterTypes().length;
-                result = (Constructor<T>) constructor;
-            }
-        }
-
-        return result;
+        return (Constructor<T>) CONSTRUCTORS.get(clazz);
     }
 
     @Override
@@ -39,7 +51,7 @@ public final class DefaultClassSpy implements ClassSpy {
         checkNotNull(namePrefix, "namePrefix cannot be null");
 
         // Gets inherited methods too
-        final Method[] methods = clazz.getMethods();
+        final Method[] methods = METHODS.get(clazz);
         final List<Method> methodsWithPrefix = Lists.newArrayList();
         for (final Method method : methods) {
             if (method.getName().startsWith(namePrefix)) {
@@ -49,4 +61,23 @@ public final class DefaultClassSpy implements ClassSpy {
 
         return methodsWithPrefix;
     }
+
+    /**
+     * @param clazz the class.
+     * @return the constructor with least number of parameters, <code>null</code> if there is none.
+     */
+    private static Constructor<?> leastParameterConstructor(final Class<?> clazz) {
+        assert clazz != null : "clazz cannot be null";
+
+        int minNumberOfParameter = Integer.MAX_VALUE;
+        Constructor<?> result = null;
+        for (final Constructor<?> constructor : clazz.getDeclaredConstructors()) {
+            if (constructor.getParameterTypes().length < minNumberOfParameter) {
+                minNumberOfParameter = constructor.getParameterTypes().length;
+                result = constructor;
+            }
+        }
+
+        return result;
+    }
 }
@@ -0,0 +1,26 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import com.google.common.base.Supplier;
+
+import java.util.Collection;
+
+/**
+ * Provides a populated collection instance for a collection type.
+ */
+public interface CollectionProvider {
+
+    /**
+     * Provides a collection presized for and populated with the requested number of elements.
+     *
+     * Depending on the collection, the actual size may be smaller than requested, eg. sets drop duplicated
+     * elements and null-hostile collections drop elements that can not be created.
+     *
+     * @param elementClass the class of collection element, or {@link Object} if the element type is not a class.
+     * @param size the number of elements to supply.
+     * @param elementSupplier supplies the elements.
+     * @return the collection, or <code>null</code> if the collection can not hold the element class.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    Collection<?> provide(Class<?> elementClass, int size, Supplier<?> elementSupplier);
+
+}
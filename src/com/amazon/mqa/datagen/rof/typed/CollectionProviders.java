@@ -0,0 +1,298 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableCollection;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ImmutableSortedSet;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.google.common.primitives.Primitives;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Built-in {@link CollectionProvider}s.
+ */
+public final class CollectionProviders {
+
+    /** Provides {@link ArrayList}. */
+    public static final CollectionProvider ARRAY_LIST = (elementClass, size, elementSupplier) ->
+            fill(Lists.newArrayListWithCapacity(size), size, elementSupplier);
+
+    /** Provides {@link LinkedList}. */
+    public static final CollectionProvider LINKED_LIST = (elementClass, size, elementSupplier) ->
+            fill(Lists.newLinkedList(), size, elementSupplier);
+
+    /** Provides {@link CopyOnWriteArrayList}, copying the elements only once. */
+    public static final CollectionProvider COPY_ON_WRITE_ARRAY_LIST = (elementClass, size, elementSupplier) -> {
+        final Object[] elements = new Object[size];
+        for (int i = 0; i < size; i++) {
+            elements[i] = elementSupplier.get();
+        }
+        return new CopyOnWriteArrayList<>(Arrays.asList(elements));
+    };
+
+    /** Provides {@link HashSet}. */
+    public static final CollectionProvider HASH_SET = (elementClass, size, elementSupplier) ->
+            fill(Sets.newHashSetWithExpectedSize(size), size, elementSupplier);
+
+    /** Provides {@link EnumSet} for enum elements, otherwise {@link HashSet}. */
+    public static final CollectionProvider SET = (elementClass, size, elementSupplier) -> elementClass.isEnum()
+            ? fillNonNull(newEnumSet(elementClass), size, elementSupplier)
+            : fill(Sets.newHashSetWithExpectedSize(size), size, elementSupplier);
+
+    /** Provides {@link EnumSet}, which only supports enum elements. */
+    public static final CollectionProvider ENUM_SET = (elementClass, size, elementSupplier) ->
+            elementClass.isEnum()
+            ? fillNonNull(newEnumSet(elementClass), size, elementSupplier)
+            : null;
+
+    /** Provides {@link LinkedHashSet}. */
+    public static final CollectionProvider LINKED_HASH_SET = (elementClass, size, elementSupplier) ->
+            fill(Sets.newLinkedHashSetWithExpectedSize(size), size, elementSupplier);
+
+    /** Provides {@link TreeSet}, which only supports comparable elements. */
+    public static final CollectionProvider TREE_SET = (elementClass, size, elementSupplier) ->
+            isComparable(elementClass)
+            ? fillNonNull(new TreeSet<>(), size, elementSupplier)
+            : null;
+
+    /** Provides {@link ArrayDeque}. */
+    public static final CollectionProvider ARRAY_DEQUE = (elementClass, size, elementSupplier) ->
+            fillNonNull(new ArrayDeque<>(size), size, elementSupplier);
+
+    /** Provides {@link PriorityQueue}, which only supports comparable elements. */
+    public static final CollectionProvider PRIORITY_QUEUE = (elementClass, size, elementSupplier) ->
+            isComparable(elementClass)
+            ? fillNonNull(new PriorityQueue<>(Math.max(1, size)), size, elementSupplier)
+            : null;
+
+    /** Provides {@link ConcurrentLinkedQueue}. */
+    public static final CollectionProvider CONCURRENT_LINKED_QUEUE = (elementClass, size, elementSupplier) ->
+            fillNonNull(new ConcurrentLinkedQueue<>(), size, elementSupplier);
+
+    /** Provides {@link ImmutableList}, built directly without intermediate collection. */
+    public static final CollectionProvider IMMUTABLE_LIST = (elementClass, size, elementSupplier) ->
+            build(ImmutableList.builderWithExpectedSize(size), size, elementSupplier);
+
+    /** Provides {@link ImmutableSet}, built directly without intermediate collection. */
+    public static final CollectionProvider IMMUTABLE_SET = (elementClass, size, elementSupplier) ->
+            build(ImmutableSet.builderWithExpectedSize(size), size, elementSupplier);
+
+    /** Provides {@link ImmutableSortedSet} in natural order, which only supports comparable elements. */
+    public static final CollectionProvider IMMUTABLE_SORTED_SET = (elementClass, size, elementSupplier) ->
+            isComparable(elementClass)
+            ? build(ImmutableSortedSet.naturalOrder(), size, elementSupplier)
+            : null;
+
+    /**
+     * Provides an unmodifiable list of fixed size whose elements are supplied only when accessed or iterated,
+     * and remembered afterwards.
+     */
+    public static final CollectionProvider LAZY_LIST = (elementClass, size, elementSupplier) ->
+            new LazyList<>(size, elementSupplier);
+
+    /** Map from interface or concrete collection class to its provider. */
+    private static final Map<Class<?>, CollectionProvider> DEFAULTS =
+            new ImmutableMap.Builder<Class<?>, CollectionProvider>()
+                    .put(Collection.class, ARRAY_LIST)
+                    .put(List.class, ARRAY_LIST)
+                    .put(ArrayList.class, ARRAY_LIST)
+                    .put(LinkedList.class, LINKED_LIST)
+                    .put(CopyOnWriteArrayList.class, COPY_ON_WRITE_ARRAY_LIST)
+                    .put(Set.class, SET)
+                    .put(HashSet.class, HASH_SET)
+                    .put(EnumSet.class, ENUM_SET)
+                    .put(LinkedHashSet.class, LINKED_HASH_SET)
+                    .put(SortedSet.class, TREE_SET)
+                    .put(NavigableSet.class, TREE_SET)
+                    .put(TreeSet.class, TREE_SET)
+                    .put(Queue.class, ARRAY_DEQUE)
+                    .put(Deque.class, ARRAY_DEQUE)
+                    .put(ArrayDeque.class, ARRAY_DEQUE)
+                    .put(PriorityQueue.class, PRIORITY_QUEUE)
+                    .put(ConcurrentLinkedQueue.class, CONCURRENT_LINKED_QUEUE)
+                    .put(ImmutableCollection.class, IMMUTABLE_LIST)
+                    .put(ImmutableList.class, IMMUTABLE_LIST)
+                    .put(ImmutableSet.class, IMMUTABLE_SET)
+                    .put(ImmutableSortedSet.class, IMMUTABLE_SORTED_SET)
+                    .build();
+
+    /**
+     * @return the default map from interface or concrete collection class to its provider.
+     */
+    public static Map<Class<?>, CollectionProvider> defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Decorates a set provider to defer providing the set until the set is first accessed.
+     *
+     * The set is provided as a whole on first access, since its size depends on how many distinct elements are
+     * supplied. A <code>null</code> set from the decorated provider is seen as empty.
+     *
+     * @param setProvider provides sets.
+     * @return the lazy provider.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static CollectionProvider lazySet(final CollectionProvider setProvider) {
+        checkNotNull(setProvider, "setProvider cannot be null");
+
+        return new LazySetProvider(setProvider);
+    }
+
+    /**
+     * Adds supplied elements to the collection.
+     *
+     * @param collection the collection to fill.
+     * @param size the number of elements to supply.
+     * @param elementSupplier supplies the elements.
+     * @param <T> the collection type.
+     * @return the collection.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Collection> T fill(final T collection,
+                                                 final int size,
+                                                 final Supplier<?> elementSupplier) {
+        checkNotNull(elementSupplier, "elementSupplier cannot be null");
+
+        for (int i = 0; i < size; i++) {
+            collection.add(elementSupplier.get());
+        }
+
+        return collection;
+    }
+
+    /**
+     * Adds supplied elements to a collection that doesn't permit <code>null</code>, skipping <code>null</code>s.
+     *
+     * @param collection the collection to fill.
+     * @param size the number of elements to supply.
+     * @param elementSupplier supplies the elements.
+     * @param <T> the collection type.
+     * @return the collection.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Collection> T fillNonNull(final T collection,
+                                                        final int size,
+                                                        final Supplier<?> elementSupplier) {
+        checkNotNull(elementSupplier, "elementSupplier cannot be null");
+
+        for (int i = 0; i < size; i++) {
+            final Object element = elementSupplier.get();
+            if (element != null) {
+                collection.add(element);
+            }
+        }
+
+        return collection;
+    }
+
+    /**
+     * Adds supplied elements to an immutable collection builder, skipping <code>null</code>s.
+     *
+     * @param builder the builder.
+     * @param size the number of elements to supply.
+     * @param elementSupplier supplies the elements.
+     * @return the built collection.
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<?> build(final ImmutableCollection.Builder builder,
+                                       final int size,
+                                       final Supplier<?> elementSupplier) {
+        checkNotNull(elementSupplier, "elementSupplier cannot be null");
+
+        for (int i = 0; i < size; i++) {
+            final Object element = elementSupplier.get();
+            if (element != null) {
+                builder.add(element);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param clazz the class of elements or keys.
+     * @return <code>true</code> if the objects of the class can be sorted in their natural order.
+     */
+    static boolean isComparable(final Class<?> clazz) {
+        return Comparable.class.isAssignableFrom(Primitives.wrap(clazz));
+    }
+
+    /**
+     * @param elementClass the enum class.
+     * @return an empty enum set.
+     */
+    @SuppressWarnings("unchecked")
+    private static EnumSet newEnumSet(final Class elementClass) {
+        return EnumSet.noneOf(elementClass);
+    }
+
+    /** Utility class. */
+    private CollectionProviders() {
+    }
+
+    /**
+     * Provides lazy sets, equal to another if decorating the same provider so that configurations stay equal.
+     */
+    private static final class LazySetProvider implements CollectionProvider {
+
+        /** Provides the sets. */
+        private final CollectionProvider setProvider;
+
+        /**
+         * Instantiates a new {@link LazySetProvider}.
+         *
+         * @param setProvider provides the sets.
+         */
+        LazySetProvider(final CollectionProvider setProvider) {
+            this.setProvider = setProvider;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Collection<?> provide(final Class<?> elementClass,
+                                     final int size,
+                                     final Supplier<?> elementSupplier) {
+            return new LazySet<>(Randoms.deferred(() -> {
+                final Set<Object> set = (Set<Object>) setProvider.provide(elementClass, size, elementSupplier);
+                return set == null ? ImmutableSet.of() : set;
+            }));
+        }
+
+        @Override
+        public int hashCode() {
+            return setProvider.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof LazySetProvider && setProvider.equals(((LazySetProvider) other).setProvider);
+        }
+    }
+
+}
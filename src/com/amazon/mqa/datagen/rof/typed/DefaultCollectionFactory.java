@@ -3,23 +3,29 @@ package com.amazon.mqa.datagen.rof.typed;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
+import com.amazon.mqa.datagen.supplier.PrimitiveSuppliers;
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
 
 import java.lang.reflect.Type;
 import java.util.Collection;
+import java.util.Map;
 
-/** Creates list, set and collection. */
+/** Creates collections with the {@link CollectionProvider} registered for the collection class. */
 final class DefaultCollectionFactory implements CollectionFactory {
 
     /**
      * Creates a {@link DefaultCollectionFactory}.
      *
      * @param typedObjectFactory create objects from its type.
+     * @param providers map from collection class to its provider.
      * @return the default instance.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
-    public static DefaultCollectionFactory create(final TypedObjectFactory typedObjectFactory) {
+    public static DefaultCollectionFactory create(final TypedObjectFactory typedObjectFactory,
+                                                  final Map<Class<?>, CollectionProvider> providers) {
         checkNotNull(typedObjectFactory, "typeFactory cannot be null");
+        checkNotNull(providers, "providers cannot be null");
 
         final int minSize = 1;
         final int maxSize = 11;
@@ -27,7 +33,7 @@ final class DefaultCollectionFactory implements CollectionFactory {
         return new DefaultCollectionFactory(
                 typedObjectFactory,
                 new MinMaxIntegerSupplier(minSize, maxSize),
-                DefaultCollectionInstanceProvider.INSTANCE
+                providers
         );
     }
 
@@ -37,23 +43,23 @@ final class DefaultCollectionFactory implements CollectionFactory {
     /** Supplies list size. */
     private final Supplier<Integer> sizeSupplier;
 
-    /** Collection provider. */
-    private final CollectionInstanceProvider provider;
+    /** Map from collection class to its provider. */
+    private final Map<Class<?>, CollectionProvider> providers;
 
     /**
      * Instantiates a new {@link DefaultCollectionFactory}.
      *
      * @param typedObjectFactory create objects from its type.
      * @param sizeSupplier supplies collection size.
-     * @param provider provides concretes collection instance.
+     * @param providers map from collection class to its provider.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     DefaultCollectionFactory(final TypedObjectFactory typedObjectFactory,
-                                    final Supplier<Integer> sizeSupplier,
-                                    final CollectionInstanceProvider provider) {
+                             final Supplier<Integer> sizeSupplier,
+                             final Map<Class<?>, CollectionProvider> providers) {
         this.typedObjectFactory = checkNotNull(typedObjectFactory, "typeFactory cannot be null");
         this.sizeSupplier = checkNotNull(sizeSupplier, "sizeSupplier cannot be null");
-        this.provider = checkNotNull(provider, "provider cannot be null");
+        this.providers = ImmutableMap.copyOf(checkNotNull(providers, "providers cannot be null"));
     }
 
     @SuppressWarnings("unchecked")
@@ -62,16 +68,15 @@ final class DefaultCollectionFactory implements CollectionFactory {
         checkNotNull(collectionClazz, "collectionClazz cannot be null");
         checkNotNull(elementType, "elementType cannot be null");
 
-        final T collection = provider.provide(collectionClazz);
-
-        if (collection != null) {
-            final int howMany = sizeSupplier.get();
-            for (int i = 0; i < howMany; i++) {
-                collection.add(typedObjectFactory.create(elementType));
-            }
+        final CollectionProvider provider = providers.get(collectionClazz);
+        if (provider == null) {
+            return null;
         }
 
-        return collection;
+        final Class<?> elementClass = elementType instanceof Class ? (Class<?>) elementType : Object.class;
+
+        return (T) provider.provide(elementClass, PrimitiveSuppliers.getAsInt(sizeSupplier),
+                () -> typedObjectFactory.create(elementType));
     }
 
 }
@@ -3,14 +3,15 @@ package com.amazon.mqa.datagen.rof.typed;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
+import com.amazon.mqa.datagen.supplier.PrimitiveSuppliers;
 import com.google.common.base.Supplier;
-import com.google.common.collect.Maps;
+import com.google.common.collect.ImmutableMap;
 
 import java.lang.reflect.Type;
 import java.util.Map;
 
 /**
- * Create map as hash-map.
+ * Creates maps with the {@link MapProvider} registered for the map class.
  */
 final class DefaultMapFactory implements MapFactory {
 
@@ -20,20 +21,26 @@ final class DefaultMapFactory implements MapFactory {
     /** Creates typed object. */
     private final TypedObjectFactory typedObjectFactory;
 
+    /** Map from map class to its provider. */
+    private final Map<Class<?>, MapProvider> providers;
+
     /**
      * Creates a {@link DefaultMapFactory}.
      *
      * @param typedObjectFactory creates objects from type.
+     * @param providers map from map class to its provider.
      * @return the default instance.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
-    public static DefaultMapFactory create(final TypedObjectFactory typedObjectFactory) {
+    public static DefaultMapFactory create(final TypedObjectFactory typedObjectFactory,
+                                           final Map<Class<?>, MapProvider> providers) {
         checkNotNull(typedObjectFactory, "typedObjectFactory cannot be null");
+        checkNotNull(providers, "providers cannot be null");
 
         final int minSize = 1;
         final int maxSize = 11;
 
-        return new DefaultMapFactory(typedObjectFactory, new MinMaxIntegerSupplier(minSize, maxSize));
+        return new DefaultMapFactory(typedObjectFactory, new MinMaxIntegerSupplier(minSize, maxSize), providers);
     }
 
     /**
@@ -41,26 +48,32 @@ final class DefaultMapFactory implements MapFactory {
      *
      * @param typedObjectFactory creates objects from type.
      * @param sizeSupplier supplies array size.
+     * @param providers map from map class to its provider.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
-    DefaultMapFactory(final TypedObjectFactory typedObjectFactory, final Supplier<Integer> sizeSupplier) {
+    DefaultMapFactory(final TypedObjectFactory typedObjectFactory,
+                      final Supplier<Integer> sizeSupplier,
+                      final Map<Class<?>, MapProvider> providers) {
         this.typedObjectFactory = checkNotNull(typedObjectFactory, "typeFactory cannot be null");
         this.sizeSupplier = checkNotNull(sizeSupplier, "sizeSupplier cannot be null");
+        this.providers = ImmutableMap.copyOf(checkNotNull(providers, "providers cannot be null"));
     }
 
-    @SuppressWarnings("unchecked")
     @Override
-    public Map create(final Type keyType, final Type valueType) {
+    public Map create(final Class<?> mapClazz, final Type keyType, final Type valueType) {
+        checkNotNull(mapClazz, "mapClazz cannot be null");
         checkNotNull(keyType, "keyType cannot be null");
         checkNotNull(valueType, "valueType cannot be null");
 
-        final Map map = Maps.newHashMap();
-
-        final int howMany = sizeSupplier.get();
-        for (int i = 0; i < howMany; i++) {
-            map.put(typedObjectFactory.create(keyType), typedObjectFactory.create(valueType));
+        final MapProvider provider = providers.get(mapClazz);
+        if (provider == null) {
+            return null;
         }
 
-        return map;
+        final Class<?> keyClass = keyType instanceof Class ? (Class<?>) keyType : Object.class;
+
+        return provider.provide(keyClass, PrimitiveSuppliers.getAsInt(sizeSupplier),
+                () -> typedObjectFactory.create(keyType),
+                () -> typedObjectFactory.create(valueType));
     }
 }
@@ -3,14 +3,22 @@ package com.amazon.mqa.datagen.rof.typed;
 import static com.google.common.base.Preconditions.checkNotNull;
 
 import com.amazon.mqa.datagen.rof.ObjectFactory;
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.reflect.TypeToken;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default implementation of {@link TypedObjectFactory}.
+ *
+ * Each distinct type is resolved once into a generator which is cached by type identity, so repeated creation
+ * of the same (possibly deeply generic) type does not analyze the type again. Generators are given the factory
+ * to create with, so a derived factory shares them.
  */
 public final class DefaultTypedObjectFactory implements TypedObjectFactory {
 
@@ -26,19 +34,55 @@ public final class DefaultTypedObjectFactory implements TypedObjectFactory {
     /** Creates optional objects. */
     private final OptionalFactory optionalFactory;
 
+    /** Map from type to the generator compiled for it, shared with the derived factories. */
+    private final Map<Type, Generator> generators;
+
     /**
-     * Instantiates a new {@link DefaultTypedObjectFactory}.
+     * Instantiates a new {@link DefaultTypedObjectFactory} with the default collection and map providers.
      *
      * @param objectFactory creates objects.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
     public DefaultTypedObjectFactory(final ObjectFactory objectFactory) {
+        this(objectFactory, CollectionProviders.defaults(), MapProviders.defaults());
+    }
+
+    /**
+     * Instantiates a new {@link DefaultTypedObjectFactory}.
+     *
+     * @param objectFactory creates objects.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public DefaultTypedObjectFactory(final ObjectFactory objectFactory,
+                                     final Map<Class<?>, CollectionProvider> collectionProviders,
+                                     final Map<Class<?>, MapProvider> mapProviders) {
+        this(objectFactory, collectionProviders, mapProviders, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Instantiates a new {@link DefaultTypedObjectFactory}.
+     *
+     * @param objectFactory creates objects.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @param generators map from type to the generator compiled for it.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    private DefaultTypedObjectFactory(final ObjectFactory objectFactory,
+                                      final Map<Class<?>, CollectionProvider> collectionProviders,
+                                      final Map<Class<?>, MapProvider> mapProviders,
+                                      final Map<Type, Generator> generators) {
         checkNotNull(objectFactory, "objectFactory cannot be null");
+        checkNotNull(collectionProviders, "collectionProviders cannot be null");
+        checkNotNull(mapProviders, "mapProviders cannot be null");
 
         this.objectFactory = objectFactory;
-        this.collectionFactory =  DefaultCollectionFactory.create(this);
-        this.mapFactory = DefaultMapFactory.create(this);
+        this.collectionFactory = DefaultCollectionFactory.create(this, collectionProviders);
+        this.mapFactory = DefaultMapFactory.create(this, mapProviders);
         this.optionalFactory = new DefaultOptionalFactory(this);
+        this.generators = generators;
     }
 
     /**
@@ -58,15 +102,53 @@ public final class DefaultTypedObjectFactory implements TypedObjectFactory {
         this.collectionFactory = checkNotNull(collectionFactory, "collectionFactory cannot be null");
         this.mapFactory = checkNotNull(mapFactory, "objectFactory cannot be null");
         this.optionalFactory = checkNotNull(optionalFactory, "optionalFactory cannot be null");
+        this.generators = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a factory of other objects and providers, which shares the generators compiled by this factory.
+     *
+     * @param objectFactory creates objects.
+     * @param collectionProviders map from collection class to its provider.
+     * @param mapProviders map from map class to its provider.
+     * @return the derived factory.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public DefaultTypedObjectFactory derive(final ObjectFactory objectFactory,
+                                            final Map<Class<?>, CollectionProvider> collectionProviders,
+                                            final Map<Class<?>, MapProvider> mapProviders) {
+        return new DefaultTypedObjectFactory(objectFactory, collectionProviders, mapProviders, generators);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public Object create(final Type type) {
         checkNotNull(type, "type cannot be null");
 
+        Generator generator = generators.get(type);
+        if (generator == null) {
+            // compiling is idempotent, so a racing thread at worst compiles the same generator twice
+            generator = compile(type);
+            generators.putIfAbsent(type, generator);
+        }
+
+        // each object gets its own random stream split off its parent's when seeded
+        final Generator compiled = generator;
+        return Randoms.fork(() -> compiled.generate(this));
+    }
+
+    /**
+     * Compiles the type into a generator.
+     *
+     * @param type the type.
+     * @return the generator, which generates <code>null</code> if the type is not supported.
+     */
+    @SuppressWarnings("unchecked")
+    private static Generator compile(final Type type) {
+        assert type != null : "type cannot be null";
+
         if (type instanceof Class) {
-            return objectFactory.create((Class) type);
+            final Class clazz = (Class) type;
+            return factory -> factory.objectFactory.create(clazz);
         }
 
         if (type instanceof ParameterizedType) {
@@ -75,15 +157,52 @@ public final class DefaultTypedObjectFactory implements TypedObjectFactory {
             final Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
 
             //TODO: add robust way to check if type can be handled
-            if (rawType.equals(Map.class)) {
-                return mapFactory.create(actualTypeArguments[0], actualTypeArguments[1]);
+            if (Map.class.isAssignableFrom(rawType)) {
+                // sub types may have other type parameters, eg. StringKeyedMap<V> extends HashMap<String, V>
+                final Type[] keyAndValue = typeArgumentsOf(type, Map.class);
+                return factory -> factory.mapFactory.create(rawType, keyAndValue[0], keyAndValue[1]);
             } else if (rawType.equals(Optional.class)) {
-                return optionalFactory.create(actualTypeArguments[0]);
+                return factory -> factory.optionalFactory.create(actualTypeArguments[0]);
             } else {
-                return collectionFactory.create(rawType, actualTypeArguments[0]);
+                final Type elementType = Collection.class.isAssignableFrom(rawType)
+                        ? typeArgumentsOf(type, Collection.class)[0]
+                        : actualTypeArguments[0];
+                return factory -> factory.collectionFactory.create(rawType, elementType);
             }
         }
 
-        return null;
+        return factory -> null;
     }
+
+    /**
+     * @param type a parameterized type.
+     * @param superType a generic super type of the type.
+     * @return the type arguments of the super type as resolved for the type, its type parameters if the type
+     *         extends its raw type.
+     */
+    @SuppressWarnings("unchecked")
+    private static Type[] typeArgumentsOf(final Type type, final Class superType) {
+        assert type != null : "type cannot be null";
+        assert superType != null : "superType cannot be null";
+
+        final Type resolved = TypeToken.of(type).getSupertype(superType).getType();
+
+        return resolved instanceof ParameterizedType
+                ? ((ParameterizedType) resolved).getActualTypeArguments()
+                : superType.getTypeParameters();
+    }
+
+    /**
+     * Generates objects of a compiled type.
+     */
+    @FunctionalInterface
+    private interface Generator {
+
+        /**
+         * @param factory the factory to create with.
+         * @return the object, <code>null</code> if the type is not supported.
+         */
+        Object generate(DefaultTypedObjectFactory factory);
+    }
+
 }
@@ -0,0 +1,80 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.base.Supplier;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.IntFunction;
+
+/**
+ * Unmodifiable list of fixed size whose elements are supplied on first access and remembered afterwards.
+ *
+ * If created while generation is seeded, each element is supplied from its own seed, so the elements don't depend
+ * on the order in which they are accessed.
+ *
+ * @param <E> the type of element.
+ */
+final class LazyList<E> extends AbstractList<E> implements RandomAccess {
+
+    /** Marks an element that is not supplied yet. */
+    private static final Object UNSET = new Object();
+
+    /** Supplies the element at an index. */
+    private final IntFunction<? extends E> elementAt;
+
+    /** The supplied elements, {@link LazyList#UNSET} if not supplied yet. */
+    private final Object[] elements;
+
+    /** Guards the elements, without pinning virtual threads while an element is supplied. */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * Instantiates a new {@link LazyList}.
+     *
+     * @param size the size of list.
+     * @param elementSupplier supplies the elements.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the size is negative.
+     */
+    LazyList(final int size, final Supplier<? extends E> elementSupplier) {
+        checkArgument(size >= 0, "size cannot be negative");
+
+        checkNotNull(elementSupplier, "elementSupplier cannot be null");
+
+        // the seeds of the elements are fixed now, so that they don't depend on the order of access
+        this.elementAt = Randoms.deferredIndexed(elementSupplier);
+        this.elements = new Object[size];
+        Arrays.fill(elements, UNSET);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public E get(final int index) {
+        checkElementIndex(index, elements.length);
+
+        lock.lock();
+        try {
+            if (elements[index] == UNSET) {
+                elements[index] = elementAt.apply(index);
+            }
+
+            return (E) elements[index];
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return elements.length;
+    }
+
+}
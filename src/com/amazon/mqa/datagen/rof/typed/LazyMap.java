@@ -0,0 +1,61 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ForwardingMap;
+
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Map view that provides the underlying map on first access of any kind, including {@link Map#size()}.
+ *
+ * @param <K> the type of key.
+ * @param <V> the type of value.
+ */
+final class LazyMap<K, V> extends ForwardingMap<K, V> {
+
+    /** Guards the provision of the underlying map, without pinning virtual threads while it is provided. */
+    private final Lock lock = new ReentrantLock();
+
+    /** Provides the underlying map, <code>null</code> once provided. */
+    private Supplier<Map<K, V>> mapSupplier;
+
+    /** The underlying map, <code>null</code> until provided. */
+    private volatile Map<K, V> map;
+
+    /**
+     * Instantiates a new {@link LazyMap}.
+     *
+     * @param mapSupplier provides the underlying map, not <code>null</code>, called at most once.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    LazyMap(final Supplier<Map<K, V>> mapSupplier) {
+        checkNotNull(mapSupplier, "mapSupplier cannot be null");
+
+        this.mapSupplier = mapSupplier;
+    }
+
+    @Override
+    protected Map<K, V> delegate() {
+        Map<K, V> provided = map;
+        if (provided == null) {
+            lock.lock();
+            try {
+                provided = map;
+                if (provided == null) {
+                    provided = mapSupplier.get();
+                    map = provided;
+                    mapSupplier = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return provided;
+    }
+
+}
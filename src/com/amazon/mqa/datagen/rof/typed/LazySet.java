@@ -0,0 +1,63 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ForwardingSet;
+
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Set view that provides the underlying set on first access of any kind, including {@link Set#size()}.
+ *
+ * Unlike {@link LazyList}, the set can not be supplied element by element because its size depends on how many
+ * of the supplied elements are distinct.
+ *
+ * @param <E> the type of element.
+ */
+final class LazySet<E> extends ForwardingSet<E> {
+
+    /** Guards the provision of the underlying set, without pinning virtual threads while it is provided. */
+    private final Lock lock = new ReentrantLock();
+
+    /** Provides the underlying set, <code>null</code> once provided. */
+    private Supplier<Set<E>> setSupplier;
+
+    /** The underlying set, <code>null</code> until provided. */
+    private volatile Set<E> set;
+
+    /**
+     * Instantiates a new {@link LazySet}.
+     *
+     * @param setSupplier provides the underlying set, not <code>null</code>, called at most once.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    LazySet(final Supplier<Set<E>> setSupplier) {
+        checkNotNull(setSupplier, "setSupplier cannot be null");
+
+        this.setSupplier = setSupplier;
+    }
+
+    @Override
+    protected Set<E> delegate() {
+        Set<E> provided = set;
+        if (provided == null) {
+            lock.lock();
+            try {
+                provided = set;
+                if (provided == null) {
+                    provided = setSupplier.get();
+                    set = provided;
+                    setSupplier = null;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        return provided;
+    }
+
+}
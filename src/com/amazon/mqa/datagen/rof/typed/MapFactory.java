@@ -11,11 +11,12 @@ interface MapFactory {
     /**
      * Creates an Map.
      *
+     * @param mapClazz the sub-type of map (eg. SortedMap or HashMap).
      * @param keyType the key type of map.
      * @param valueType the value type of map.
-     * @return the map.
+     * @return the map, or <code>null</code> if the map class is not supported.
      * @throws NullPointerException if any argument is <code>null</code>.
      */
-    Map create(Type keyType, Type valueType);
+    Map create(Class<?> mapClazz, Type keyType, Type valueType);
 
 }
@@ -0,0 +1,26 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import com.google.common.base.Supplier;
+
+import java.util.Map;
+
+/**
+ * Provides a populated map instance for a map type.
+ */
+public interface MapProvider {
+
+    /**
+     * Provides a map presized for and populated with the requested number of entries.
+     *
+     * The actual size may be smaller than requested if duplicated keys are supplied.
+     *
+     * @param keyClass the class of map key, or {@link Object} if the key type is not a class.
+     * @param size the number of entries to supply.
+     * @param keySupplier supplies the keys.
+     * @param valueSupplier supplies the values.
+     * @return the map, or <code>null</code> if the map can not hold the key class.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    Map<?, ?> provide(Class<?> keyClass, int size, Supplier<?> keySupplier, Supplier<?> valueSupplier);
+
+}
@@ -0,0 +1,243 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Built-in {@link MapProvider}s.
+ */
+public final class MapProviders {
+
+    /** Provides {@link HashMap}. */
+    public static final MapProvider HASH_MAP = (keyClass, size, keySupplier, valueSupplier) ->
+            fill(Maps.newHashMapWithExpectedSize(size), size, keySupplier, valueSupplier);
+
+    /** Provides {@link EnumMap} for enum keys, otherwise {@link HashMap}. */
+    public static final MapProvider MAP = (keyClass, size, keySupplier, valueSupplier) -> keyClass.isEnum()
+            ? fillNonNull(newEnumMap(keyClass), size, keySupplier, valueSupplier)
+            : fill(Maps.newHashMapWithExpectedSize(size), size, keySupplier, valueSupplier);
+
+    /** Provides {@link EnumMap}, which only supports enum keys. */
+    public static final MapProvider ENUM_MAP = (keyClass, size, keySupplier, valueSupplier) -> keyClass.isEnum()
+            ? fillNonNull(newEnumMap(keyClass), size, keySupplier, valueSupplier)
+            : null;
+
+    /** Provides {@link LinkedHashMap}. */
+    public static final MapProvider LINKED_HASH_MAP = (keyClass, size, keySupplier, valueSupplier) ->
+            fill(Maps.newLinkedHashMapWithExpectedSize(size), size, keySupplier, valueSupplier);
+
+    /** Provides {@link TreeMap}, which only supports comparable keys. */
+    public static final MapProvider TREE_MAP = (keyClass, size, keySupplier, valueSupplier) ->
+            CollectionProviders.isComparable(keyClass)
+            ? fillNonNull(new TreeMap<>(), size, keySupplier, valueSupplier)
+            : null;
+
+    /** Provides {@link ConcurrentHashMap}. */
+    public static final MapProvider CONCURRENT_HASH_MAP = (keyClass, size, keySupplier, valueSupplier) ->
+            fillNonNull(new ConcurrentHashMap<>(size), size, keySupplier, valueSupplier);
+
+    /** Provides {@link ConcurrentSkipListMap}, which only supports comparable keys. */
+    public static final MapProvider CONCURRENT_SKIP_LIST_MAP = (keyClass, size, keySupplier, valueSupplier) ->
+            CollectionProviders.isComparable(keyClass)
+            ? fillNonNull(new ConcurrentSkipListMap<>(), size, keySupplier, valueSupplier)
+            : null;
+
+    /** Provides {@link ImmutableMap}, built directly without intermediate map. */
+    public static final MapProvider IMMUTABLE_MAP = MapProviders::buildImmutableMap;
+
+    /** Map from interface or concrete map class to its provider. */
+    private static final Map<Class<?>, MapProvider> DEFAULTS =
+            new ImmutableMap.Builder<Class<?>, MapProvider>()
+                    .put(Map.class, MAP)
+                    .put(HashMap.class, HASH_MAP)
+                    .put(EnumMap.class, ENUM_MAP)
+                    .put(LinkedHashMap.class, LINKED_HASH_MAP)
+                    .put(SortedMap.class, TREE_MAP)
+                    .put(NavigableMap.class, TREE_MAP)
+                    .put(TreeMap.class, TREE_MAP)
+                    .put(ConcurrentMap.class, CONCURRENT_HASH_MAP)
+                    .put(ConcurrentHashMap.class, CONCURRENT_HASH_MAP)
+                    .put(ConcurrentNavigableMap.class, CONCURRENT_SKIP_LIST_MAP)
+                    .put(ConcurrentSkipListMap.class, CONCURRENT_SKIP_LIST_MAP)
+                    .put(ImmutableMap.class, IMMUTABLE_MAP)
+                    .build();
+
+    /**
+     * @return the default map from interface or concrete map class to its provider.
+     */
+    public static Map<Class<?>, MapProvider> defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Decorates a map provider to defer providing the map until the map is first accessed.
+     *
+     * A <code>null</code> map from the decorated provider is seen as empty.
+     *
+     * @param mapProvider provides maps.
+     * @return the lazy provider.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static MapProvider lazy(final MapProvider mapProvider) {
+        checkNotNull(mapProvider, "mapProvider cannot be null");
+
+        return new LazyMapProvider(mapProvider);
+    }
+
+    /**
+     * Puts supplied entries into the map.
+     *
+     * @param map the map to fill.
+     * @param size the number of entries to supply.
+     * @param keySupplier supplies the keys.
+     * @param valueSupplier supplies the values.
+     * @param <T> the map type.
+     * @return the map.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Map> T fill(final T map,
+                                          final int size,
+                                          final Supplier<?> keySupplier,
+                                          final Supplier<?> valueSupplier) {
+        checkNotNull(keySupplier, "keySupplier cannot be null");
+        checkNotNull(valueSupplier, "valueSupplier cannot be null");
+
+        for (int i = 0; i < size; i++) {
+            map.put(keySupplier.get(), valueSupplier.get());
+        }
+
+        return map;
+    }
+
+    /**
+     * Puts supplied entries into a map that doesn't permit <code>null</code>, skipping <code>null</code>s.
+     *
+     * @param map the map to fill.
+     * @param size the number of entries to supply.
+     * @param keySupplier supplies the keys.
+     * @param valueSupplier supplies the values.
+     * @param <T> the map type.
+     * @return the map.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T extends Map> T fillNonNull(final T map,
+                                                 final int size,
+                                                 final Supplier<?> keySupplier,
+                                                 final Supplier<?> valueSupplier) {
+        checkNotNull(keySupplier, "keySupplier cannot be null");
+        checkNotNull(valueSupplier, "valueSupplier cannot be null");
+
+        for (int i = 0; i < size; i++) {
+            final Object key = keySupplier.get();
+            final Object value = valueSupplier.get();
+            if (key != null && value != null) {
+                map.put(key, value);
+            }
+        }
+
+        return map;
+    }
+
+    /**
+     * Builds an {@link ImmutableMap}, skipping duplicated keys and <code>null</code>s.
+     *
+     * @param keyClass the class of map key.
+     * @param size the number of entries to supply.
+     * @param keySupplier supplies the keys.
+     * @param valueSupplier supplies the values.
+     * @return the map.
+     */
+    private static Map<?, ?> buildImmutableMap(final Class<?> keyClass,
+                                               final int size,
+                                               final Supplier<?> keySupplier,
+                                               final Supplier<?> valueSupplier) {
+        checkNotNull(keySupplier, "keySupplier cannot be null");
+        checkNotNull(valueSupplier, "valueSupplier cannot be null");
+
+        // the builder fails on duplicated keys instead of replacing the entry
+        final Set<Object> keys = Sets.newHashSetWithExpectedSize(size);
+        final ImmutableMap.Builder<Object, Object> builder = ImmutableMap.builderWithExpectedSize(size);
+        for (int i = 0; i < size; i++) {
+            final Object key = keySupplier.get();
+            final Object value = valueSupplier.get();
+            if (key != null && value != null && keys.add(key)) {
+                builder.put(key, value);
+            }
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * @param keyClass the enum class.
+     * @return an empty enum map.
+     */
+    @SuppressWarnings("unchecked")
+    private static EnumMap newEnumMap(final Class keyClass) {
+        return new EnumMap(keyClass);
+    }
+
+    /** Utility class. */
+    private MapProviders() {
+    }
+
+    /**
+     * Provides lazy maps, equal to another if decorating the same provider so that configurations stay equal.
+     */
+    private static final class LazyMapProvider implements MapProvider {
+
+        /** Provides the maps. */
+        private final MapProvider mapProvider;
+
+        /**
+         * Instantiates a new {@link LazyMapProvider}.
+         *
+         * @param mapProvider provides the maps.
+         */
+        LazyMapProvider(final MapProvider mapProvider) {
+            this.mapProvider = mapProvider;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<?, ?> provide(final Class<?> keyClass,
+                                 final int size,
+                                 final Supplier<?> keySupplier,
+                                 final Supplier<?> valueSupplier) {
+            return new LazyMap<>(Randoms.deferred(() -> {
+                final Map<Object, Object> map =
+                        (Map<Object, Object>) mapProvider.provide(keyClass, size, keySupplier, valueSupplier);
+                return map == null ? ImmutableMap.of() : map;
+            }));
+        }
+
+        @Override
+        public int hashCode() {
+            return mapProvider.hashCode();
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof LazyMapProvider && mapProvider.equals(((LazyMapProvider) other).mapProvider);
+        }
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Random;
+
+/**
+ * <p>Samples indices with given weights in constant time, by Vose's alias method.</p>
+ *
+ * <p>
+ * Building the table takes linear time, after which each sample costs two random draws and two array reads with
+ * no allocation, regardless of the number of indices or the skew of the weights.
+ * </p>
+ */
+public final class AliasTable {
+
+    /** Probability of keeping each index rather than taking its alias. */
+    private final double[] probabilities;
+
+    /** Alias of each index. */
+    private final int[] aliases;
+
+    /**
+     * Instantiates a new {@link AliasTable}.
+     *
+     * @param weights the weight of each index, not necessarily normalized.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or not finite, or all
+     *         weights are 0.
+     */
+    public AliasTable(final double[] weights) {
+        checkNotNull(weights, "weights cannot be null");
+        checkArgument(weights.length > 0, "weights cannot be empty");
+
+        double sum = 0;
+        for (final double weight : weights) {
+            checkArgument(weight >= 0 && !Double.isInfinite(weight), "invalid weight %s", weight);
+            sum += weight;
+        }
+        checkArgument(sum > 0 && !Double.isInfinite(sum), "weights must have a positive and finite sum");
+
+        this.probabilities = new double[weights.length];
+        this.aliases = new int[weights.length];
+        build(weights, sum);
+    }
+
+    /**
+     * Fills the probabilities and aliases.
+     *
+     * @param weights the weight of each index.
+     * @param sum the sum of weights.
+     */
+    private void build(final double[] weights, final double sum) {
+        assert weights != null : "weights cannot be null";
+
+        final int size = weights.length;
+
+        // scaled weights, which average to 1, are split into the under and over full
+        final int[] small = new int[size];
+        final int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < size; i++) {
+            probabilities[i] = weights[i] * size / sum;
+            if (probabilities[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // each under full index is topped up by an over full alias
+        while (smallCount > 0 && largeCount > 0) {
+            final int less = small[--smallCount];
+            final int more = large[--largeCount];
+            aliases[less] = more;
+            probabilities[more] += probabilities[less] - 1;
+            if (probabilities[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // whatever is left is full up to rounding errors
+        while (largeCount > 0) {
+            probabilities[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {
+            probabilities[small[--smallCount]] = 1;
+        }
+    }
+
+    /**
+     * @return the number of indices.
+     */
+    public int size() {
+        return probabilities.length;
+    }
+
+    /**
+     * @param random the random source.
+     * @return an index in [0, size), drawn with probability proportional to its weight.
+     */
+    public int sample(final Random random) {
+        final int index = random.nextInt(probabilities.length);
+
+        return random.nextDouble() < probabilities[index] ? index : aliases[index];
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * <p>Immutable set of Latin-1 characters that strings are generated from.</p>
+ *
+ * <p>
+ * The characters are kept in a byte table, and each 64-bit random word fills several characters: eight bits per
+ * character for alphabets whose size is a power of two, otherwise sixteen bits scaled to the alphabet size, which
+ * skews the distribution by less than the alphabet size over 65536.
+ * </p>
+ */
+public final class Alphabet {
+
+    /** Digits, upper and lower case letters. */
+    public static final Alphabet ALPHANUMERIC =
+            of("0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+
+    /** Upper and lower case letters. */
+    public static final Alphabet ALPHABETIC = of("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz");
+
+    /** Lower case letters. */
+    public static final Alphabet LOWER_CASE = of("abcdefghijklmnopqrstuvwxyz");
+
+    /** Digits. */
+    public static final Alphabet NUMERIC = of("0123456789");
+
+    /** Lower case hexadecimal digits. */
+    public static final Alphabet HEX = of("0123456789abcdef");
+
+    /** Printable ASCII characters, including space. */
+    public static final Alphabet PRINTABLE_ASCII = printableAscii();
+
+    /** Bits of a random word used for a character of an alphabet whose size is not a power of two. */
+    private static final int SCALED_BITS = 16;
+
+    /** The largest alphabet. */
+    private static final int MAX_SIZE = 256;
+
+    /**
+     * Creates an alphabet.
+     *
+     * @param characters the characters, all in Latin-1.
+     * @return the alphabet.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if there are no characters, more than 256, or some are not in Latin-1.
+     */
+    public static Alphabet of(final String characters) {
+        checkNotNull(characters, "characters cannot be null");
+        checkArgument(!characters.isEmpty() && characters.length() <= MAX_SIZE,
+                "alphabet must have 1 to %s characters", MAX_SIZE);
+        checkArgument(characters.chars().allMatch(c -> c < MAX_SIZE), "characters must be in Latin-1");
+
+        return new Alphabet(characters.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    /**
+     * @return the printable ASCII alphabet.
+     */
+    private static Alphabet printableAscii() {
+        final StringBuilder characters = new StringBuilder();
+        for (char c = ' '; c <= '~'; c++) {
+            characters.append(c);
+        }
+        return of(characters.toString());
+    }
+
+    /** The characters. */
+    private final byte[] table;
+
+    /** Bits of a random word used for a character. */
+    private final int bitsPerChar;
+
+    /** Masks the bits of a character. */
+    private final long mask;
+
+    /** Whether the alphabet size is a power of two, so the bits index the table without scaling. */
+    private final boolean powerOfTwo;
+
+    /**
+     * Instantiates a new {@link Alphabet}.
+     *
+     * @param table the characters.
+     */
+    private Alphabet(final byte[] table) {
+        assert table != null : "table cannot be null";
+
+        this.table = table;
+        this.powerOfTwo = table.length > 1 && Integer.bitCount(table.length) == 1;
+        this.bitsPerChar = powerOfTwo ? Integer.numberOfTrailingZeros(table.length) : SCALED_BITS;
+        this.mask = (1L << bitsPerChar) - 1;
+    }
+
+    /**
+     * @return the number of characters.
+     */
+    public int size() {
+        return table.length;
+    }
+
+    /**
+     * @param index the index of character.
+     * @return the character.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public char charAt(final int index) {
+        return (char) (table[index] & (MAX_SIZE - 1));
+    }
+
+    /**
+     * Fills a range of a Latin-1 byte array with random characters.
+     *
+     * @param bytes the array.
+     * @param from the start of range (inclusive).
+     * @param to the end of range (exclusive).
+     * @param random the generator.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public void fill(final byte[] bytes, final int from, final int to, final Random random) {
+        checkNotNull(bytes, "bytes cannot be null");
+        checkNotNull(random, "random cannot be null");
+
+        final int charsPerWord = Long.SIZE / bitsPerChar;
+        int i = from;
+        while (i < to) {
+            long word = random.nextLong();
+            for (int k = 0; k < charsPerWord && i < to; k++, i++) {
+                final long bits = word & mask;
+                final int index = powerOfTwo ? (int) bits : (int) ((bits * table.length) >>> bitsPerChar);
+                bytes[i] = table[index];
+                word >>>= bitsPerChar;
+            }
+        }
+    }
+
+}
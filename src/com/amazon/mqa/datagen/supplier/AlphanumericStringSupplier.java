@@ -1,16 +1,63 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
-import org.apache.commons.lang3.RandomStringUtils;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
 
 /** Supplier for alphanumeric string. */
-public final class AlphanumericStringSupplier implements Supplier<String> {
+public final class AlphanumericStringSupplier implements UniqueSupplier<String> {
 
     /** The default length for generated strings. */
     public static final int DEFAULT_STRING_LENGTH = 50;
 
+    /** The alphanumeric characters. */
+    static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    /** Generates the strings. */
+    private final StringGenerator generator =
+            new StringGenerator(Alphabet.ALPHANUMERIC, LengthDistributions.fixed(DEFAULT_STRING_LENGTH));
+
     @Override
     public String get() {
-        return RandomStringUtils.randomAlphanumeric(DEFAULT_STRING_LENGTH);
+        return generator.get();
+    }
+
+    @Override
+    public long cardinality() {
+        // 62^50 doesn't fit in a long
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Supplies random strings whose last characters encode a sequence number, which keeps them distinct.
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super String> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(Long.MAX_VALUE, howMany);
+
+        final int radix = ALPHANUMERIC.length();
+
+        // the fewest digits that can encode howMany distinct sequence numbers
+        int digits = 1;
+        long capacity = radix;
+        while (capacity < howMany) {
+            digits++;
+            capacity *= radix;
+        }
+
+        // random start so that separate calls don't share the same suffixes
+        final long start = Sampling.nextLong(Randoms.current(), capacity - howMany + 1);
+        for (int i = 0; i < howMany; i++) {
+            final char[] chars = get().toCharArray();
+            long sequence = start + i;
+            for (int j = chars.length - 1; j >= chars.length - digits; j--) {
+                chars[j] = ALPHANUMERIC.charAt((int) (sequence % radix));
+                sequence /= radix;
+            }
+            consumer.accept(new String(chars));
+        }
     }
 }
@@ -0,0 +1,77 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Unique long values handed out from blocks that each thread reserves off a shared counter.</p>
+ *
+ * <p>
+ * A thread touches the shared counter once per block and otherwise increments its own block, so threads never
+ * contend on a hot counter and never see the same value. Values are increasing within a thread but only roughly
+ * ordered across threads.
+ * </p>
+ */
+final class BlockSequence {
+
+    /** Start of the next block to reserve. */
+    private final AtomicLong next;
+
+    /** The number of values in a block. */
+    private final int blockSize;
+
+    /** The lowest value a block may start at, <code>null</code> if unbounded. */
+    private final LongSupplier floor;
+
+    /** Current block of each thread, ie. the next value and the end of the block (exclusive). */
+    private final ThreadLocal<long[]> blocks = ThreadLocal.withInitial(() -> new long[2]);
+
+    /**
+     * Instantiates a new {@link BlockSequence}.
+     *
+     * @param start the first value.
+     * @param blockSize the number of values in a block, must be positive.
+     * @param floor the lowest value a block may start at, which also retires blocks that fell below it,
+     *              <code>null</code> if unbounded.
+     */
+    BlockSequence(final long start, final int blockSize, final LongSupplier floor) {
+        assert blockSize > 0 : "blockSize must be positive";
+
+        this.next = new AtomicLong(start);
+        this.blockSize = blockSize;
+        this.floor = floor;
+    }
+
+    /**
+     * @return the next value of the calling thread.
+     */
+    long next() {
+        final long[] block = blocks.get();
+        if (block[0] == block[1] || floor != null && block[0] < floor.getAsLong()) {
+            reserve(block);
+        }
+
+        return block[0]++;
+    }
+
+    /**
+     * Reserves a new block for the calling thread.
+     *
+     * @param block the block to overwrite.
+     */
+    private void reserve(final long[] block) {
+        if (floor == null) {
+            block[0] = next.getAndAdd(blockSize);
+        } else {
+            long current;
+            long start;
+            do {
+                current = next.get();
+                start = Math.max(current, floor.getAsLong());
+            } while (!next.compareAndSet(current, start + blockSize));
+            block[0] = start;
+        }
+        block[1] = block[0] + blockSize;
+    }
+
+}
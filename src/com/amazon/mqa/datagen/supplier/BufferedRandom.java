@@ -0,0 +1,74 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.util.Random;
+
+/**
+ * Unsynchronized {@link Random} that draws 64-bit words from a buffer refilled in batches, so that the
+ * cost of the underlying generator is amortized over a batch.
+ */
+abstract class BufferedRandom extends Random {
+
+    /** Serial version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The number of words generated per batch. */
+    private static final int BATCH_SIZE = 16;
+
+    /** The number of random bits of a double. */
+    private static final int DOUBLE_PRECISION = 53;
+
+    /** Scales the random bits of a double to [0, 1). */
+    private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+    /** The buffered words. */
+    private final long[] buffer = new long[BATCH_SIZE];
+
+    /** The position of the next word, refills the buffer when at the end. */
+    private int position = BATCH_SIZE;
+
+    /**
+     * Instantiates a new {@link BufferedRandom}.
+     */
+    BufferedRandom() {
+        // a fixed seed avoids the shared seed uniquifier of the default constructor, the seed is unused anyway
+        super(0L);
+    }
+
+    /**
+     * Fills the buffer with random words.
+     *
+     * @param words the buffer to fill.
+     */
+    protected abstract void fill(long[] words);
+
+    @Override
+    protected final int next(final int bits) {
+        return (int) (nextLong() >>> (Long.SIZE - bits));
+    }
+
+    @Override
+    public final long nextLong() {
+        if (position == buffer.length) {
+            fill(buffer);
+            position = 0;
+        }
+
+        return buffer[position++];
+    }
+
+    @Override
+    public final int nextInt() {
+        return (int) (nextLong() >>> Integer.SIZE);
+    }
+
+    @Override
+    public final double nextDouble() {
+        return (nextLong() >>> (Long.SIZE - DOUBLE_PRECISION)) * DOUBLE_UNIT;
+    }
+
+    @Override
+    public final boolean nextBoolean() {
+        return nextLong() < 0;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.amazon.mqa.datagen.supplier;
+
+/**
+ * Supplies byte values without boxing.
+ */
+@FunctionalInterface
+public interface ByteSupplier {
+
+    /**
+     * @return a byte value.
+     */
+    byte getAsByte();
+
+}
@@ -0,0 +1,14 @@
+package com.amazon.mqa.datagen.supplier;
+
+/**
+ * Supplies char values without boxing.
+ */
+@FunctionalInterface
+public interface CharSupplier {
+
+    /**
+     * @return a char value.
+     */
+    char getAsChar();
+
+}
@@ -0,0 +1,249 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.Maps;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Suppliers of skewed values, eg. weighted enum states, Zipf distributed IDs or hot and cold keys.</p>
+ *
+ * <p>
+ * Discrete distributions are sampled from an {@link AliasTable} built once, so each value costs constant time and
+ * no allocation even with millions of categories. Numeric suppliers also implement the primitive supplier
+ * interface, so arrays of primitives are filled without boxing.
+ * </p>
+ */
+public final class Distributions {
+
+    /**
+     * @param weights map from value to its weight, not necessarily normalized.
+     * @param <T> the type of values.
+     * @return a supplier of the values, each with probability proportional to its weight.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if there are no weights, a weight is negative or not finite, or all
+     *         weights are 0.
+     */
+    public static <T> Supplier<T> weighted(final Map<T, ? extends Number> weights) {
+        checkNotNull(weights, "weights cannot be null");
+
+        final Object[] values = new Object[weights.size()];
+        final double[] doubles = new double[weights.size()];
+        int i = 0;
+        for (final Map.Entry<T, ? extends Number> weight : weights.entrySet()) {
+            values[i] = weight.getKey();
+            doubles[i++] = checkNotNull(weight.getValue(), "weight cannot be null").doubleValue();
+        }
+
+        return new OfValues<>(values, new AliasTable(doubles));
+    }
+
+    /**
+     * @param enumClass the enum class.
+     * @param weights the weight of each constant, in declaration order.
+     * @param <E> the enum type.
+     * @return a supplier of the constants, each with probability proportional to its weight.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number of weights differs from the number of constants, a weight
+     *         is negative or not finite, or all weights are 0.
+     */
+    public static <E extends Enum<E>> Supplier<E> weighted(final Class<E> enumClass, final double... weights) {
+        checkNotNull(enumClass, "enumClass cannot be null");
+        checkNotNull(weights, "weights cannot be null");
+
+        final E[] constants = enumClass.getEnumConstants();
+        checkArgument(weights.length == constants.length,
+                "expected %s weights for %s, got %s", constants.length, enumClass, weights.length);
+
+        return new OfValues<>(constants, new AliasTable(weights));
+    }
+
+    /**
+     * Draws values with the frequencies they have in a sample, eg. production data.
+     *
+     * @param sample the sample.
+     * @param <T> the type of values.
+     * @return a supplier of the distinct values of the sample.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the sample is empty.
+     */
+    public static <T> Supplier<T> empirical(final Iterable<T> sample) {
+        checkNotNull(sample, "sample cannot be null");
+
+        final Map<T, Integer> counts = Maps.newLinkedHashMap();
+        for (final T value : sample) {
+            counts.merge(value, 1, Integer::sum);
+        }
+
+        return weighted(counts);
+    }
+
+    /**
+     * Zipf distributed ranks, where rank k is drawn with probability proportional to 1 / k<sup>exponent</sup>,
+     * eg. customer IDs of which a few are far more active than the rest.
+     *
+     * @param size the number of ranks.
+     * @param exponent the skew, 0 for uniform, commonly around 1.
+     * @return a supplier of ranks from 1 to size (inclusive).
+     * @throws IllegalArgumentException if the size is not positive or the exponent is negative.
+     */
+    public static Supplier<Integer> zipf(final int size, final double exponent) {
+        checkArgument(size > 0, "size must be positive");
+        checkArgument(exponent >= 0, "exponent cannot be negative");
+
+        final double[] weights = new double[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = Math.pow(i + 1, -exponent);
+        }
+
+        return new Ranks(new AliasTable(weights));
+    }
+
+    /**
+     * @param mean the mean.
+     * @param standardDeviation the standard deviation.
+     * @return a supplier of normally distributed doubles.
+     * @throws IllegalArgumentException if the standard deviation is negative.
+     */
+    public static Supplier<Double> normal(final double mean, final double standardDeviation) {
+        checkArgument(standardDeviation >= 0, "standardDeviation cannot be negative");
+
+        return new OfDoubles(() -> mean + standardDeviation * Randoms.current().nextGaussian());
+    }
+
+    /**
+     * Draws doubles following the histogram of a sample: a bin is drawn with the frequency of the sample in it,
+     * then a value uniformly within the bin.
+     *
+     * @param sample the sample.
+     * @param bins the number of bins of equal width between the min and max of the sample.
+     * @return a supplier of doubles within the range of the sample.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the sample is empty or not finite, or the number of bins is not
+     *         positive.
+     */
+    public static Supplier<Double> histogram(final double[] sample, final int bins) {
+        checkNotNull(sample, "sample cannot be null");
+        checkArgument(sample.length > 0, "sample cannot be empty");
+        checkArgument(bins > 0, "bins must be positive");
+
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (final double value : sample) {
+            checkArgument(!Double.isNaN(value) && !Double.isInfinite(value), "invalid value %s", value);
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+
+        final double width = (max - min) / bins;
+        final double[] counts = new double[bins];
+        for (final double value : sample) {
+            counts[width == 0 ? 0 : Math.min(bins - 1, (int) ((value - min) / width))]++;
+        }
+
+        final double lower = min;
+        final AliasTable table = new AliasTable(counts);
+        return new OfDoubles(() -> {
+            final Random random = Randoms.current();
+            return lower + width * (table.sample(random) + random.nextDouble());
+        });
+    }
+
+    /**
+     * Supplies values by their index in an alias table.
+     *
+     * @param <T> the type of values.
+     */
+    private static final class OfValues<T> implements Supplier<T> {
+
+        /** The values. */
+        private final Object[] values;
+
+        /** Samples the index of values. */
+        private final AliasTable table;
+
+        /**
+         * Instantiates a new {@link OfValues}.
+         *
+         * @param values the values.
+         * @param table samples the index of values.
+         */
+        OfValues(final Object[] values, final AliasTable table) {
+            this.values = values;
+            this.table = table;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get() {
+            return (T) values[table.sample(Randoms.current())];
+        }
+    }
+
+    /**
+     * Supplies the 1 based index in an alias table.
+     */
+    private static final class Ranks implements Supplier<Integer>, IntSupplier {
+
+        /** Samples the index. */
+        private final AliasTable table;
+
+        /**
+         * Instantiates a new {@link Ranks}.
+         *
+         * @param table samples the index.
+         */
+        Ranks(final AliasTable table) {
+            this.table = table;
+        }
+
+        @Override
+        public Integer get() {
+            return getAsInt();
+        }
+
+        @Override
+        public int getAsInt() {
+            return table.sample(Randoms.current()) + 1;
+        }
+    }
+
+    /**
+     * Supplies doubles from a primitive supplier.
+     */
+    private static final class OfDoubles implements Supplier<Double>, DoubleSupplier {
+
+        /** Supplies the doubles. */
+        private final DoubleSupplier supplier;
+
+        /**
+         * Instantiates a new {@link OfDoubles}.
+         *
+         * @param supplier supplies the doubles.
+         */
+        OfDoubles(final DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Double get() {
+            return getAsDouble();
+        }
+
+        @Override
+        public double getAsDouble() {
+            return supplier.getAsDouble();
+        }
+    }
+
+    /** Utility class. */
+    private Distributions() {
+    }
+
+}
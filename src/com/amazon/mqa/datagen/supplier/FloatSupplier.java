@@ -0,0 +1,14 @@
+package com.amazon.mqa.datagen.supplier;
+
+/**
+ * Supplies float values without boxing.
+ */
+@FunctionalInterface
+public interface FloatSupplier {
+
+    /**
+     * @return a float value.
+     */
+    float getAsFloat();
+
+}
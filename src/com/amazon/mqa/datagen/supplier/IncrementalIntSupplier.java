@@ -1,12 +1,23 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-/** Supplies Integer in the way that current value is 1 larger than the previous value. */
-public final class IncrementalIntSupplier implements Supplier<Integer> {
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Supplies Integer in the way that current value is 1 larger than the previous value.
+ *
+ * Safe to share across threads, though all threads increment the same counter; see {@link IntSequenceSupplier}
+ * for distinct integers without contention.
+ */
+public final class IncrementalIntSupplier implements UniqueSupplier<Integer> {
+
+    /** The number of distinct integers before the value wraps around. */
+    private static final long CARDINALITY = 1L << Integer.SIZE;
 
     /** The next value to return. */
-    private int value;
+    private final AtomicInteger value;
 
     /**
      * Instantiates a new {@link IncrementalIntSupplier}.
@@ -14,11 +25,26 @@ public final class IncrementalIntSupplier implements Supplier<Integer> {
      * @param startValue the start value.
      */
     public IncrementalIntSupplier(final int startValue) {
-        this.value = startValue;
+        this.value = new AtomicInteger(startValue);
     }
 
     @Override
     public Integer get() {
-        return value++;
+        return value.getAndIncrement();
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Integer> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(CARDINALITY, howMany);
+
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(get());
+        }
     }
 }
@@ -0,0 +1,75 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * <p>Supplies distinct integers from a start value, safely and without contention across threads.</p>
+ *
+ * <p>
+ * Each thread reserves a block of consecutive values at a time, so values increase within a thread but are only
+ * roughly ordered across threads, and values in the unused rest of a block are skipped. Use
+ * {@link IncrementalIntSupplier} where values must be strictly consecutive.
+ * </p>
+ */
+public final class IntSequenceSupplier implements UniqueSupplier<Integer>, IntSupplier {
+
+    /** The number of distinct integers before the value wraps around. */
+    private static final long CARDINALITY = 1L << Integer.SIZE;
+
+    /** The default number of values reserved by a thread at a time. */
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /** The values. */
+    private final BlockSequence sequence;
+
+    /**
+     * Instantiates a new {@link IntSequenceSupplier} with the default block size.
+     *
+     * @param startValue the start value.
+     */
+    public IntSequenceSupplier(final int startValue) {
+        this(startValue, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Instantiates a new {@link IntSequenceSupplier}.
+     *
+     * @param startValue the start value.
+     * @param blockSize the number of values reserved by a thread at a time.
+     * @throws IllegalArgumentException if the block size is not positive.
+     */
+    public IntSequenceSupplier(final int startValue, final int blockSize) {
+        checkArgument(blockSize > 0, "blockSize must be positive");
+
+        this.sequence = new BlockSequence(startValue, blockSize, null);
+    }
+
+    @Override
+    public Integer get() {
+        return getAsInt();
+    }
+
+    @Override
+    public int getAsInt() {
+        return (int) sequence.next();
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Integer> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(CARDINALITY, howMany);
+
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(getAsInt());
+        }
+    }
+}
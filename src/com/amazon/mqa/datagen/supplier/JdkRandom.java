@@ -0,0 +1,47 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.lang.invoke.MethodHandle;
+
+/**
+ * Adapts a <code>java.util.random.RandomGenerator</code> of Java 17 or later, called reflectively so that the
+ * library still runs on Java 8. Drawing in batches amortizes the cost of the reflective call.
+ */
+final class JdkRandom extends BufferedRandom {
+
+    /** Serial version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The adapted generator. */
+    private final transient Object generator;
+
+    /** Calls <code>RandomGenerator.nextLong()</code>. */
+    private final transient MethodHandle nextLong;
+
+    /**
+     * Instantiates a new {@link JdkRandom}.
+     *
+     * @param generator the adapted generator.
+     * @param nextLong calls <code>RandomGenerator.nextLong()</code>.
+     */
+    JdkRandom(final Object generator, final MethodHandle nextLong) {
+        assert generator != null : "generator cannot be null";
+        assert nextLong != null : "nextLong cannot be null";
+
+        this.generator = generator;
+        this.nextLong = nextLong;
+    }
+
+    //CHECKSTYLE:SUPPRESS:IllegalCatch
+    @Override
+    protected void fill(final long[] words) {
+        try {
+            for (int i = 0; i < words.length; i++) {
+                words[i] = (long) nextLong.invoke(generator);
+            }
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Failed to generate random number", e);
+        }
+    }
+    //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+
+}
@@ -0,0 +1,19 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.util.Random;
+
+/**
+ * Distribution of the length of generated strings.
+ *
+ * @see LengthDistributions
+ */
+@FunctionalInterface
+public interface LengthDistribution {
+
+    /**
+     * @param random the generator to draw from.
+     * @return a non-negative length.
+     */
+    int nextLength(Random random);
+
+}
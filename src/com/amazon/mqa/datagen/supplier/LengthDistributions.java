@@ -0,0 +1,64 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Built-in {@link LengthDistribution}s.
+ */
+public final class LengthDistributions {
+
+    /** Spread of the realistic distribution, in which lengths mostly fall within half to twice the median. */
+    private static final double REALISTIC_SIGMA = 0.5;
+
+    /**
+     * @param length the length.
+     * @return a distribution that always gives the length.
+     * @throws IllegalArgumentException if the length is negative.
+     */
+    public static LengthDistribution fixed(final int length) {
+        checkArgument(length >= 0, "length cannot be negative");
+
+        return random -> length;
+    }
+
+    /**
+     * @param min the min length (inclusive).
+     * @param max the max length (inclusive).
+     * @return a distribution that gives every length within the range equally likely.
+     * @throws IllegalArgumentException if min is negative or greater than max.
+     */
+    public static LengthDistribution uniform(final int min, final int max) {
+        checkArgument(min >= 0, "min cannot be negative");
+        checkArgument(min <= max, "min is greater than max");
+
+        final long range = (long) max - min + 1;
+
+        return random -> (int) (min + Sampling.nextLong(random, range));
+    }
+
+    /**
+     * Log-normal lengths, the shape of lengths of real world names, words and sentences: most are close to the
+     * median with a long tail of longer ones.
+     *
+     * @param median the median length.
+     * @param max the max length (inclusive).
+     * @return the distribution, giving lengths from 1 to max.
+     * @throws IllegalArgumentException if median is not positive or greater than max.
+     */
+    public static LengthDistribution realistic(final int median, final int max) {
+        checkArgument(median > 0, "median must be positive");
+        checkArgument(median <= max, "median is greater than max");
+
+        final double mu = Math.log(median);
+
+        return random -> {
+            final long length = Math.round(Math.exp(mu + REALISTIC_SIGMA * random.nextGaussian()));
+            return (int) Math.max(1, Math.min(max, length));
+        };
+    }
+
+    /** Utility class. */
+    private LengthDistributions() {
+    }
+
+}
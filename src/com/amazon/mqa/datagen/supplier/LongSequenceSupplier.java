@@ -0,0 +1,71 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Supplies distinct longs from a start value, safely and without contention across threads.</p>
+ *
+ * <p>
+ * Each thread reserves a block of consecutive values at a time, so values increase within a thread but are only
+ * roughly ordered across threads, and values in the unused rest of a block are skipped.
+ * </p>
+ */
+public final class LongSequenceSupplier implements UniqueSupplier<Long>, LongSupplier {
+
+    /** The default number of values reserved by a thread at a time. */
+    private static final int DEFAULT_BLOCK_SIZE = 1024;
+
+    /** The values. */
+    private final BlockSequence sequence;
+
+    /**
+     * Instantiates a new {@link LongSequenceSupplier} with the default block size.
+     *
+     * @param startValue the start value.
+     */
+    public LongSequenceSupplier(final long startValue) {
+        this(startValue, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Instantiates a new {@link LongSequenceSupplier}.
+     *
+     * @param startValue the start value.
+     * @param blockSize the number of values reserved by a thread at a time.
+     * @throws IllegalArgumentException if the block size is not positive.
+     */
+    public LongSequenceSupplier(final long startValue, final int blockSize) {
+        checkArgument(blockSize > 0, "blockSize must be positive");
+
+        this.sequence = new BlockSequence(startValue, blockSize, null);
+    }
+
+    @Override
+    public Long get() {
+        return getAsLong();
+    }
+
+    @Override
+    public long getAsLong() {
+        return sequence.next();
+    }
+
+    @Override
+    public long cardinality() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Long> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(Long.MAX_VALUE, howMany);
+
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(getAsLong());
+        }
+    }
+}
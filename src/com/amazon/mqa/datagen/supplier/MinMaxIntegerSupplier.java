@@ -1,13 +1,15 @@
 package com.amazon.mqa.datagen.supplier;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import com.google.common.base.Supplier;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 
 /**
  * Supplies integer within min(inclusive), max(exclusive).
  */
-public final class MinMaxIntegerSupplier implements Supplier<Integer> {
+public final class MinMaxIntegerSupplier implements UniqueSupplier<Integer>, IntSupplier {
 
     /** The default min size. */
     public static final int DEFAULT_MIN_SIZE = 1;
@@ -24,9 +26,6 @@ public final class MinMaxIntegerSupplier implements Supplier<Integer> {
         return new MinMaxIntegerSupplier(DEFAULT_MIN_SIZE, DEFAULT_MAX_SIZE);
     }
 
-    /** Supplies create integers. */
-    private final Supplier<Integer> supplier = new RandomIntegerSupplier();
-
     /** The min value. */
     private final int min;
 
@@ -49,6 +48,24 @@ public final class MinMaxIntegerSupplier implements Supplier<Integer> {
 
     @Override
     public Integer get() {
-        return Math.abs(supplier.get()) % (max - min) + min;
+        return getAsInt();
+    }
+
+    @Override
+    public int getAsInt() {
+        return (int) (min + Sampling.nextLong(Randoms.current(), cardinality()));
+    }
+
+    @Override
+    public long cardinality() {
+        return (long) max - min;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Integer> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+
+        Sampling.sampleWithoutReplacement(Randoms.current(), cardinality(), howMany,
+                value -> consumer.accept((int) (min + value)));
     }
 }
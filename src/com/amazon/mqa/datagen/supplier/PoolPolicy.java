@@ -0,0 +1,88 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Immutable size and refresh policy of a {@link PooledSupplier}.
+ */
+public final class PoolPolicy {
+
+    /** The number of pre-generated values. */
+    private final int size;
+
+    /** The number of passes a thread makes over the pool before regenerating it, 0 to never regenerate. */
+    private final int refreshCycles;
+
+    /**
+     * Instantiates a new {@link PoolPolicy}.
+     *
+     * @param size the number of pre-generated values.
+     * @param refreshCycles the number of passes over the pool before regenerating it.
+     */
+    private PoolPolicy(final int size, final int refreshCycles) {
+        this.size = size;
+        this.refreshCycles = refreshCycles;
+    }
+
+    /**
+     * Creates a policy for a pool that is generated once and never regenerated.
+     *
+     * @param size the number of pre-generated values.
+     * @return the policy.
+     * @throws IllegalArgumentException if the size is not positive.
+     */
+    public static PoolPolicy of(final int size) {
+        checkArgument(size > 0, "size must be positive");
+
+        return new PoolPolicy(size, 0);
+    }
+
+    /**
+     * Creates a policy like this one which regenerates the pool once a thread has handed out all of its values
+     * the given number of times, trading some of the saving for more variety over long runs.
+     *
+     * @param cycles the number of passes over the pool before regenerating it, 0 to never regenerate.
+     * @return the policy.
+     * @throws IllegalArgumentException if the number of passes is negative.
+     */
+    public PoolPolicy refreshEvery(final int cycles) {
+        checkArgument(cycles >= 0, "cycles cannot be negative");
+
+        return new PoolPolicy(size, cycles);
+    }
+
+    /**
+     * @return the number of pre-generated values.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of passes over the pool before regenerating it, 0 if never regenerated.
+     */
+    public int getRefreshCycles() {
+        return refreshCycles;
+    }
+
+    @Override
+    public int hashCode() {
+        return HashCodeBuilder.reflectionHashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return EqualsBuilder.reflectionEquals(this, other);
+    }
+
+    @Override
+    public String toString() {
+        return ToStringBuilder.reflectionToString(this, ToStringStyle.SIMPLE_STYLE);
+    }
+
+}
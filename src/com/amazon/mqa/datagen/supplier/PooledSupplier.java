@@ -0,0 +1,114 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Supplies values from a pool of values pre-generated by another supplier.</p>
+ *
+ * <p>
+ * The pool is generated on first use and read as a ring buffer: each thread walks it with its own cursor, which
+ * starts at a random position, so handing out a value costs an array read and no synchronization. Once a thread
+ * has passed over the pool as many times as the {@link PoolPolicy} allows, it regenerates the pool for all
+ * threads. Pooled values are shared between objects, so only pool immutable values or values that are never
+ * modified, eg. {@link java.util.Date}s that are only read.
+ * </p>
+ *
+ * @param <T> the type of values.
+ */
+public final class PooledSupplier<T> implements Supplier<T> {
+
+    /** Generates the values of the pool. */
+    private final Supplier<? extends T> delegate;
+
+    /** The size and refresh policy. */
+    private final PoolPolicy policy;
+
+    /** Cursor of each thread. */
+    private final ThreadLocal<Cursor> cursors = ThreadLocal.withInitial(Cursor::new);
+
+    /** Guards the regeneration of the pool, without pinning virtual threads while the delegate runs. */
+    private final Lock lock = new ReentrantLock();
+
+    /** The pooled values, <code>null</code> until first use. */
+    private volatile Object[] pool;
+
+    /**
+     * Instantiates a new {@link PooledSupplier}.
+     *
+     * @param delegate generates the values of the pool.
+     * @param policy the size and refresh policy.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public PooledSupplier(final Supplier<? extends T> delegate, final PoolPolicy policy) {
+        this.delegate = checkNotNull(delegate, "delegate cannot be null");
+        this.policy = checkNotNull(policy, "policy cannot be null");
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get() {
+        Object[] values = pool;
+        if (values == null) {
+            values = refill(null);
+        }
+
+        final Cursor cursor = cursors.get();
+        if (cursor.position < 0) {
+            cursor.position = Randoms.current().nextInt(values.length);
+        }
+
+        final T value = (T) values[cursor.position];
+        if (++cursor.position == values.length) {
+            cursor.position = 0;
+            if (policy.getRefreshCycles() > 0 && ++cursor.cycles == policy.getRefreshCycles()) {
+                cursor.cycles = 0;
+                refill(values);
+            }
+        }
+
+        return value;
+    }
+
+    /**
+     * Regenerates the pool unless another thread already replaced the stale one.
+     *
+     * @param stale the pool to replace, <code>null</code> if not generated yet.
+     * @return the current pool.
+     */
+    private Object[] refill(final Object[] stale) {
+        lock.lock();
+        try {
+            if (pool != stale) {
+                return pool;
+            }
+
+            final Object[] values = new Object[policy.getSize()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = delegate.get();
+            }
+            pool = values;
+
+            return values;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Position of a thread in the pool.
+     */
+    private static final class Cursor {
+
+        /** Index of the next value, negative until first use. */
+        private int position = -1;
+
+        /** The number of passes over the pool since it was last regenerated. */
+        private int cycles;
+    }
+
+}
@@ -0,0 +1,463 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Adapts primitive suppliers so that they can be registered like any other supplier, eg.
+ * <code>config.withSupplier(int.class, PrimitiveSuppliers.ofInt(() -&gt; 42))</code>.</p>
+ *
+ * <p>
+ * Factories call the primitive interface of a registered supplier where they deal with primitives, ie. primitive
+ * arrays, bulk primitives and collection sizes, without boxing. The built-in random suppliers implement the
+ * primitive interfaces as well.
+ * </p>
+ */
+public final class PrimitiveSuppliers {
+
+    /**
+     * @param supplier supplies int values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Integer> ofInt(final IntSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfInt(supplier);
+    }
+
+    /**
+     * @param supplier supplies long values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Long> ofLong(final LongSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfLong(supplier);
+    }
+
+    /**
+     * @param supplier supplies double values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Double> ofDouble(final DoubleSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfDouble(supplier);
+    }
+
+    /**
+     * @param supplier supplies boolean values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Boolean> ofBoolean(final BooleanSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfBoolean(supplier);
+    }
+
+    /**
+     * @param supplier supplies byte values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Byte> ofByte(final ByteSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfByte(supplier);
+    }
+
+    /**
+     * @param supplier supplies short values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Short> ofShort(final ShortSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfShort(supplier);
+    }
+
+    /**
+     * @param supplier supplies char values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Character> ofChar(final CharSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfChar(supplier);
+    }
+
+    /**
+     * @param supplier supplies float values.
+     * @return a supplier that supplies both boxed and primitive values.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Supplier<Float> ofFloat(final FloatSupplier supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return new OfFloat(supplier);
+    }
+
+    /**
+     * Gets an int, unboxed if the supplier is an {@link IntSupplier}.
+     *
+     * @param supplier the supplier.
+     * @return the int.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static int getAsInt(final Supplier<Integer> supplier) {
+        checkNotNull(supplier, "supplier cannot be null");
+
+        return supplier instanceof IntSupplier ? ((IntSupplier) supplier).getAsInt() : supplier.get();
+    }
+
+    /**
+     * Creates a primitive array filled by the primitive interface of the supplier.
+     *
+     * @param componentType the primitive component type.
+     * @param supplier the supplier registered for the component type.
+     * @param length the array length.
+     * @return the array, or <code>null</code> if the supplier doesn't implement the primitive interface of the
+     *         component type.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the length is negative.
+     */
+    public static Object newArray(final Class<?> componentType, final Object supplier, final int length) {
+        checkNotNull(componentType, "componentType cannot be null");
+        checkNotNull(supplier, "supplier cannot be null");
+        checkArgument(length >= 0, "length cannot be negative");
+
+        if (componentType == int.class && supplier instanceof IntSupplier) {
+            return ints((IntSupplier) supplier, length);
+        } else if (componentType == long.class && supplier instanceof LongSupplier) {
+            return longs((LongSupplier) supplier, length);
+        } else if (componentType == double.class && supplier instanceof DoubleSupplier) {
+            return doubles((DoubleSupplier) supplier, length);
+        } else if (componentType == boolean.class && supplier instanceof BooleanSupplier) {
+            return booleans((BooleanSupplier) supplier, length);
+        } else if (componentType == byte.class && supplier instanceof ByteSupplier) {
+            return bytes((ByteSupplier) supplier, length);
+        } else if (componentType == short.class && supplier instanceof ShortSupplier) {
+            return shorts((ShortSupplier) supplier, length);
+        } else if (componentType == char.class && supplier instanceof CharSupplier) {
+            return chars((CharSupplier) supplier, length);
+        } else if (componentType == float.class && supplier instanceof FloatSupplier) {
+            return floats((FloatSupplier) supplier, length);
+        }
+
+        return null;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static int[] ints(final IntSupplier supplier, final int length) {
+        final int[] array = new int[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsInt();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static long[] longs(final LongSupplier supplier, final int length) {
+        final long[] array = new long[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsLong();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static double[] doubles(final DoubleSupplier supplier, final int length) {
+        final double[] array = new double[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsDouble();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static boolean[] booleans(final BooleanSupplier supplier, final int length) {
+        final boolean[] array = new boolean[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsBoolean();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static byte[] bytes(final ByteSupplier supplier, final int length) {
+        final byte[] array = new byte[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsByte();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static short[] shorts(final ShortSupplier supplier, final int length) {
+        final short[] array = new short[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsShort();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static char[] chars(final CharSupplier supplier, final int length) {
+        final char[] array = new char[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsChar();
+        }
+        return array;
+    }
+
+    /**
+     * @param supplier the supplier.
+     * @param length the array length.
+     * @return the filled array.
+     */
+    private static float[] floats(final FloatSupplier supplier, final int length) {
+        final float[] array = new float[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = supplier.getAsFloat();
+        }
+        return array;
+    }
+
+    /** Utility class. */
+    private PrimitiveSuppliers() {
+    }
+
+    /** Adapts {@link IntSupplier}. */
+    private static final class OfInt implements Supplier<Integer>, IntSupplier {
+
+        /** The adapted supplier. */
+        private final IntSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfInt(final IntSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Integer get() {
+            return supplier.getAsInt();
+        }
+
+        @Override
+        public int getAsInt() {
+            return supplier.getAsInt();
+        }
+    }
+
+    /** Adapts {@link LongSupplier}. */
+    private static final class OfLong implements Supplier<Long>, LongSupplier {
+
+        /** The adapted supplier. */
+        private final LongSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfLong(final LongSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Long get() {
+            return supplier.getAsLong();
+        }
+
+        @Override
+        public long getAsLong() {
+            return supplier.getAsLong();
+        }
+    }
+
+    /** Adapts {@link DoubleSupplier}. */
+    private static final class OfDouble implements Supplier<Double>, DoubleSupplier {
+
+        /** The adapted supplier. */
+        private final DoubleSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfDouble(final DoubleSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Double get() {
+            return supplier.getAsDouble();
+        }
+
+        @Override
+        public double getAsDouble() {
+            return supplier.getAsDouble();
+        }
+    }
+
+    /** Adapts {@link BooleanSupplier}. */
+    private static final class OfBoolean implements Supplier<Boolean>, BooleanSupplier {
+
+        /** The adapted supplier. */
+        private final BooleanSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfBoolean(final BooleanSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Boolean get() {
+            return supplier.getAsBoolean();
+        }
+
+        @Override
+        public boolean getAsBoolean() {
+            return supplier.getAsBoolean();
+        }
+    }
+
+    /** Adapts {@link ByteSupplier}. */
+    private static final class OfByte implements Supplier<Byte>, ByteSupplier {
+
+        /** The adapted supplier. */
+        private final ByteSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfByte(final ByteSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Byte get() {
+            return supplier.getAsByte();
+        }
+
+        @Override
+        public byte getAsByte() {
+            return supplier.getAsByte();
+        }
+    }
+
+    /** Adapts {@link ShortSupplier}. */
+    private static final class OfShort implements Supplier<Short>, ShortSupplier {
+
+        /** The adapted supplier. */
+        private final ShortSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfShort(final ShortSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Short get() {
+            return supplier.getAsShort();
+        }
+
+        @Override
+        public short getAsShort() {
+            return supplier.getAsShort();
+        }
+    }
+
+    /** Adapts {@link CharSupplier}. */
+    private static final class OfChar implements Supplier<Character>, CharSupplier {
+
+        /** The adapted supplier. */
+        private final CharSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfChar(final CharSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Character get() {
+            return supplier.getAsChar();
+        }
+
+        @Override
+        public char getAsChar() {
+            return supplier.getAsChar();
+        }
+    }
+
+    /** Adapts {@link FloatSupplier}. */
+    private static final class OfFloat implements Supplier<Float>, FloatSupplier {
+
+        /** The adapted supplier. */
+        private final FloatSupplier supplier;
+
+        /**
+         * @param supplier the adapted supplier.
+         */
+        OfFloat(final FloatSupplier supplier) {
+            this.supplier = supplier;
+        }
+
+        @Override
+        public Float get() {
+            return supplier.getAsFloat();
+        }
+
+        @Override
+        public float getAsFloat() {
+            return supplier.getAsFloat();
+        }
+    }
+
+}
@@ -1,17 +1,42 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
 
 /** Boolean supplier. */
-public final class RandomBooleanSupplier implements Supplier<Boolean> {
+public final class RandomBooleanSupplier implements UniqueSupplier<Boolean>, BooleanSupplier {
 
-    /** Random. */
-    private final Random random = new Random();
+    /** The number of distinct booleans. */
+    private static final long CARDINALITY = 2;
 
     @Override
     public Boolean get() {
-        return random.nextBoolean();
+        return getAsBoolean();
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return Randoms.current().nextBoolean();
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Boolean> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(CARDINALITY, howMany);
+
+        final boolean first = Randoms.current().nextBoolean();
+        if (howMany > 0) {
+            consumer.accept(first);
+        }
+        if (howMany > 1) {
+            consumer.accept(!first);
+        }
     }
 }
@@ -1,17 +1,35 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import java.util.function.Consumer;
 
 /** byte supplier. */
-public final class RandomByteSupplier implements Supplier<Byte> {
+public final class RandomByteSupplier implements UniqueSupplier<Byte>, ByteSupplier {
 
-    /** Random. */
-    private final Random random = new Random();
+    /** The number of distinct bytes. */
+    private static final long CARDINALITY = 1 << Byte.SIZE;
 
     @Override
     public Byte get() {
-        return (byte) (random.nextInt() % Byte.MAX_VALUE);
+        return getAsByte();
+    }
+
+    @Override
+    public byte getAsByte() {
+        return (byte) (Randoms.current().nextInt() % Byte.MAX_VALUE);
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Byte> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+
+        Sampling.sampleWithoutReplacement(Randoms.current(), CARDINALITY, howMany,
+                value -> consumer.accept((byte) (value + Byte.MIN_VALUE)));
     }
 }
@@ -1,13 +1,34 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
-import org.apache.commons.lang3.RandomStringUtils;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
 
 /** Random Character supplier. */
-public final class RandomCharacterSupplier implements Supplier<Character> {
+public final class RandomCharacterSupplier implements UniqueSupplier<Character>, CharSupplier {
 
     @Override
     public Character get() {
-        return RandomStringUtils.randomAlphanumeric(1).charAt(0);
+        return getAsChar();
+    }
+
+    @Override
+    public char getAsChar() {
+        final String alphabet = AlphanumericStringSupplier.ALPHANUMERIC;
+
+        return alphabet.charAt(Randoms.current().nextInt(alphabet.length()));
+    }
+
+    @Override
+    public long cardinality() {
+        return AlphanumericStringSupplier.ALPHANUMERIC.length();
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Character> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+
+        Sampling.sampleWithoutReplacement(Randoms.current(), cardinality(), howMany,
+                value -> consumer.accept(AlphanumericStringSupplier.ALPHANUMERIC.charAt((int) value)));
     }
 }
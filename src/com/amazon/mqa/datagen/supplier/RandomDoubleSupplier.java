@@ -2,16 +2,19 @@ package com.amazon.mqa.datagen.supplier;
 
 import com.google.common.base.Supplier;
 
-import java.util.Random;
+import java.util.function.DoubleSupplier;
 
-/** Random double supplier. */
-public final class RandomDoubleSupplier implements Supplier<Double> {
 
-    /** Random. */
-    private final Random random = new Random();
+/** Random double supplier. */
+public final class RandomDoubleSupplier implements Supplier<Double>, DoubleSupplier {
 
     @Override
     public Double get() {
-        return random.nextDouble();
+        return getAsDouble();
+    }
+
+    @Override
+    public double getAsDouble() {
+        return Randoms.current().nextDouble();
     }
 }
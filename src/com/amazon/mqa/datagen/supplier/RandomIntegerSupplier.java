@@ -1,17 +1,40 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 
 /** Random Integer supplier. */
-public final class RandomIntegerSupplier implements Supplier<Integer> {
+public final class RandomIntegerSupplier implements UniqueSupplier<Integer>, IntSupplier {
+
+    /** The number of distinct integers. */
+    private static final long CARDINALITY = 1L << Integer.SIZE;
 
-    /** Random. */
-    private final Random random = new Random();
-    
     @Override
     public Integer get() {
-        return random.nextInt();
+        return getAsInt();
+    }
+
+    @Override
+    public int getAsInt() {
+        return Randoms.current().nextInt();
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Integer> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(CARDINALITY, howMany);
+
+        // mixing a counter from a random start is a bijection, so the values never collide
+        final int start = Randoms.current().nextInt();
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(Sampling.mix32(start + i));
+        }
     }
 }
@@ -1,17 +1,37 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
 
 /** Random Long supplier. */
-public final class RandomLongSupplier implements Supplier<Long> {
-
-    /** Random. */
-    private final Random random = new Random();
+public final class RandomLongSupplier implements UniqueSupplier<Long>, LongSupplier {
 
     @Override
     public Long get() {
-        return random.nextLong();
+        return getAsLong();
+    }
+
+    @Override
+    public long getAsLong() {
+        return Randoms.current().nextLong();
+    }
+
+    @Override
+    public long cardinality() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Long> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(Long.MAX_VALUE, howMany);
+
+        // mixing a counter from a random start is a bijection, so the values never collide
+        final long start = Randoms.current().nextLong();
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(Sampling.mix64(start + i));
+        }
     }
 }
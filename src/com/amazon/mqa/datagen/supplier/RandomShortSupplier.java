@@ -1,17 +1,35 @@
 package com.amazon.mqa.datagen.supplier;
 
-import com.google.common.base.Supplier;
+import static com.google.common.base.Preconditions.checkNotNull;
 
-import java.util.Random;
+import java.util.function.Consumer;
 
 /** short supplier. */
-public final class RandomShortSupplier implements Supplier<Short> {
+public final class RandomShortSupplier implements UniqueSupplier<Short>, ShortSupplier {
 
-    /** Random. */
-    private final Random random = new Random();
+    /** The number of distinct shorts. */
+    private static final long CARDINALITY = 1 << Short.SIZE;
 
     @Override
     public Short get() {
-        return (short) (random.nextInt() % Short.MAX_VALUE);
+        return getAsShort();
+    }
+
+    @Override
+    public short getAsShort() {
+        return (short) (Randoms.current().nextInt() % Short.MAX_VALUE);
+    }
+
+    @Override
+    public long cardinality() {
+        return CARDINALITY;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Short> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+
+        Sampling.sampleWithoutReplacement(Randoms.current(), CARDINALITY, howMany,
+                value -> consumer.accept((short) (value + Short.MIN_VALUE)));
     }
 }
@@ -0,0 +1,20 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.util.Random;
+
+/**
+ * Creates the random number generators that suppliers and factories draw from.
+ *
+ * @see RandomSources
+ */
+public interface RandomSource {
+
+    /**
+     * Creates a generator. The generator is used by a single thread only, so it doesn't need to be thread safe.
+     *
+     * @param seed the seed, generators created from equal seeds must generate equal sequences.
+     * @return the generator.
+     */
+    Random create(long seed);
+
+}
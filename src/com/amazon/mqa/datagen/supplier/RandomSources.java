@@ -0,0 +1,72 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Optional;
+
+/**
+ * Built-in {@link RandomSource}s.
+ */
+public final class RandomSources {
+
+    /** {@link java.util.SplittableRandom}, the default. */
+    public static final RandomSource SPLITTABLE = SeededRandom::new;
+
+    /** xoshiro256**, generated in batches. */
+    public static final RandomSource XOSHIRO_256_STAR_STAR = Xoshiro256StarStarRandom::new;
+
+    /**
+     * Finds a <code>java.util.random.RandomGenerator</code> algorithm, available on Java 17 or later.
+     *
+     * @param algorithm the algorithm name, eg. <code>L64X128MixRandom</code>.
+     * @return the source, or empty if the algorithm is not available on this Java runtime.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static Optional<RandomSource> jdk(final String algorithm) {
+        checkNotNull(algorithm, "algorithm cannot be null");
+
+        final Object factory;
+        final MethodHandle create;
+        final MethodHandle nextLong;
+        try {
+            final Class<?> factoryClass = Class.forName("java.util.random.RandomGeneratorFactory");
+            final Class<?> generatorClass = Class.forName("java.util.random.RandomGenerator");
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+
+            factory = factoryClass.getMethod("of", String.class).invoke(null, algorithm);
+            create = lookup.findVirtual(factoryClass, "create", MethodType.methodType(generatorClass, long.class));
+            nextLong = lookup.findVirtual(generatorClass, "nextLong", MethodType.methodType(long.class));
+        } catch (final ReflectiveOperationException e) {
+            // older runtime, or unknown algorithm
+            return Optional.empty();
+        }
+
+        return Optional.of(seed -> new JdkRandom(invoke(create, factory, seed), nextLong));
+    }
+
+    //CHECKSTYLE:SUPPRESS:IllegalCatch
+    /**
+     * @param create calls <code>RandomGeneratorFactory.create(long)</code>.
+     * @param factory the generator factory.
+     * @param seed the seed.
+     * @return the generator.
+     */
+    private static Object invoke(final MethodHandle create, final Object factory, final long seed) {
+        assert create != null : "create cannot be null";
+
+        try {
+            return create.invoke(factory, seed);
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Failed to create random generator", e);
+        }
+    }
+    //CHECKSTYLE:UNSUPPRESS:IllegalCatch
+
+    /** Utility class. */
+    private RandomSources() {
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Sets;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * <p>Supplies random version 4 {@link UUID}s drawn from {@link Randoms}.</p>
+ *
+ * <p>
+ * Unlike {@link UUID#randomUUID()}, which draws from a shared {@link java.security.SecureRandom}, each thread
+ * draws from its own generator, so UUIDs are cheap and follow the seed of the configuration. With 122 random bits,
+ * UUIDs don't collide in practice, and {@link #supplyDistinct(int, Consumer)} makes sure of it.
+ * </p>
+ */
+public final class RandomUuidSupplier implements UniqueSupplier<UUID> {
+
+    /** Clears the version bits of the most significant long. */
+    private static final long VERSION_MASK = 0xffffffffffff0fffL;
+
+    /** Version 4, ie. random. */
+    private static final long VERSION_4 = 0x0000000000004000L;
+
+    /** Clears the variant bits of the least significant long. */
+    private static final long VARIANT_MASK = 0x3fffffffffffffffL;
+
+    /** The IETF variant. */
+    private static final long VARIANT_IETF = 0x8000000000000000L;
+
+    @Override
+    public UUID get() {
+        final Random random = Randoms.current();
+        final long mostSigBits = random.nextLong() & VERSION_MASK | VERSION_4;
+        final long leastSigBits = random.nextLong() & VARIANT_MASK | VARIANT_IETF;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    @Override
+    public long cardinality() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super UUID> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(Long.MAX_VALUE, howMany);
+
+        final Set<UUID> seen = Sets.newHashSetWithExpectedSize(howMany);
+        while (seen.size() < howMany) {
+            final UUID uuid = get();
+            if (seen.add(uuid)) {
+                consumer.accept(uuid);
+            }
+        }
+    }
+}
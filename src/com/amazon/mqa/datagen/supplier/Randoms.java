@@ -0,0 +1,246 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * <p>Source of random numbers for suppliers and factories.</p>
+ *
+ * <p>
+ * Each thread draws from its own generator, so concurrent generation doesn't contend on a shared seed. The
+ * returned generator must not be shared with other threads. Outside of any scope, the generator is
+ * {@link ThreadLocalRandom}.
+ * </p>
+ *
+ * <p>
+ * Within {@link Randoms#withSeed(RandomSource, long, Supplier)} the generator is seeded, and
+ * {@link Randoms#fork(Supplier)} gives each subtree of generation its own generator seeded from its parent's.
+ * Generated values then depend only on the seed and the position in the object graph, not on which thread or in
+ * which order the subtrees are generated.
+ * </p>
+ */
+public final class Randoms {
+
+    /** Generator scope of the current thread, <code>null</code> if not in a scope. */
+    private static final ThreadLocal<Scope> SCOPE = new ThreadLocal<>();
+
+    /**
+     * @return the random number generator of the current thread.
+     */
+    public static Random current() {
+        final Scope scope = SCOPE.get();
+
+        return scope == null ? ThreadLocalRandom.current() : scope.random;
+    }
+
+    /**
+     * @return <code>true</code> if the current thread draws from a seeded generator.
+     */
+    public static boolean isSeeded() {
+        final Scope scope = SCOPE.get();
+
+        return scope != null && scope.seeded;
+    }
+
+    /**
+     * Runs an action that draws from a generator, unseeded.
+     *
+     * @param random the generator, used by the current thread only.
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> T with(final Random random, final Supplier<T> action) {
+        checkNotNull(random, "random cannot be null");
+        checkNotNull(action, "action cannot be null");
+
+        return run(new Scope(null, random, false), action);
+    }
+
+    /**
+     * Runs an action that draws from a generator created from a seed.
+     *
+     * @param source creates the generator, and the generators of forked subtrees.
+     * @param seed the seed.
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> T withSeed(final RandomSource source, final long seed, final Supplier<T> action) {
+        checkNotNull(source, "source cannot be null");
+        checkNotNull(action, "action cannot be null");
+
+        return run(new Scope(source, source.create(seed), true), action);
+    }
+
+    /**
+     * <p>Runs an action that draws from a generator seeded for an index of a seeded sequence.</p>
+     *
+     * <p>
+     * The seed of the index is a hash of the seed and the index, so any index of the sequence is reached directly,
+     * without drawing the indexes before it, and disjoint ranges of indexes can be generated independently.
+     * </p>
+     *
+     * @param source creates the generator, and the generators of forked subtrees.
+     * @param seed the seed of the sequence.
+     * @param index the index in the sequence.
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> T at(final RandomSource source,
+                           final long seed,
+                           final long index,
+                           final Supplier<T> action) {
+        // the mixed seed plus the index differs for every index, and mixing again decorrelates neighbours
+        return withSeed(source, Sampling.mix64(Sampling.mix64(seed) + index), action);
+    }
+
+    /**
+     * Runs an action that draws from a generator split off the current seeded generator, or runs it as is if not
+     * seeded.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> T fork(final Supplier<T> action) {
+        checkNotNull(action, "action cannot be null");
+
+        final Scope scope = SCOPE.get();
+        if (scope == null || !scope.seeded) {
+            return action.get();
+        }
+
+        return withSeed(scope.source, scope.random.nextLong(), action);
+    }
+
+    /**
+     * Splits a seed off the current seeded generator now, for an action that runs later.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the action seeded with the split seed, or the action itself if not seeded.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> Supplier<T> deferred(final Supplier<T> action) {
+        checkNotNull(action, "action cannot be null");
+
+        final Scope scope = SCOPE.get();
+        if (scope == null || !scope.seeded) {
+            return action;
+        }
+
+        final RandomSource source = scope.source;
+        final long seed = scope.random.nextLong();
+
+        return () -> withSeed(source, seed, action);
+    }
+
+    /**
+     * Splits a seed off the current seeded generator now, for an action that runs later any number of times with
+     * different indexes, eg. for the elements of a lazy list.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return a function from index to the result of the action seeded for the index, or the action itself if not
+     *         seeded.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> IntFunction<T> deferredIndexed(final Supplier<T> action) {
+        final LongFunction<T> elementAt = deferredAt(action);
+
+        return elementAt::apply;
+    }
+
+    /**
+     * Splits a seed off the current seeded generator now, for an action that runs later any number of times with
+     * different long indexes, eg. for the elements of a lazy stream.
+     *
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return a function from index to the result of the action seeded for the index, or the action itself if not
+     *         seeded.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public static <T> LongFunction<T> deferredAt(final Supplier<T> action) {
+        checkNotNull(action, "action cannot be null");
+
+        final Scope scope = SCOPE.get();
+        if (scope == null || !scope.seeded) {
+            return index -> action.get();
+        }
+
+        final RandomSource source = scope.source;
+        final long seed = scope.random.nextLong();
+
+        // mixed, so that sources that don't mix their seed still give unrelated sequences for consecutive indexes
+        return index -> withSeed(source, Sampling.mix64(seed + index), action);
+    }
+
+    /**
+     * Runs an action in a scope.
+     *
+     * @param scope the scope.
+     * @param action the action.
+     * @param <T> the type of result.
+     * @return the result of the action.
+     */
+    private static <T> T run(final Scope scope, final Supplier<T> action) {
+        assert scope != null : "scope cannot be null";
+
+        final Scope previous = SCOPE.get();
+        SCOPE.set(scope);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                SCOPE.remove();
+            } else {
+                SCOPE.set(previous);
+            }
+        }
+    }
+
+    /** Utility class. */
+    private Randoms() {
+    }
+
+    /**
+     * Generator of the current thread.
+     */
+    private static final class Scope {
+
+        /** Creates generators for forked subtrees, <code>null</code> if not seeded. */
+        private final RandomSource source;
+
+        /** The generator. */
+        private final Random random;
+
+        /** Whether the generator is seeded. */
+        private final boolean seeded;
+
+        /**
+         * Instantiates a new {@link Scope}.
+         *
+         * @param source creates generators for forked subtrees.
+         * @param random the generator.
+         * @param seeded whether the generator is seeded.
+         */
+        Scope(final RandomSource source, final Random random, final boolean seeded) {
+            this.source = source;
+            this.random = random;
+            this.seeded = seeded;
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.Sets;
+
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongConsumer;
+
+/**
+ * Random sampling helpers for {@link UniqueSupplier}s.
+ */
+final class Sampling {
+
+    /** Ranges at most this many times the sample size are shuffled instead of sampled by rejection. */
+    private static final int DENSE_FACTOR = 4;
+
+    /** The largest range that is shuffled in an array. */
+    private static final int MAX_DENSE_RANGE = 1_048_576;
+
+    /**
+     * Checks that the number of distinct values can be supplied.
+     *
+     * @param cardinality the number of distinct values available.
+     * @param howMany the number of distinct values requested.
+     * @throws IllegalArgumentException if the number is negative or larger than the cardinality.
+     */
+    static void checkDistinct(final long cardinality, final int howMany) {
+        checkArgument(howMany >= 0, "howMany cannot be negative");
+        checkArgument(howMany <= cardinality,
+                "cannot supply %s distinct values, only %s exist", howMany, cardinality);
+    }
+
+    /**
+     * Returns a uniformly distributed value in [0, bound).
+     *
+     * @param random the random source.
+     * @param bound the bound (exclusive), must be positive.
+     * @return the value.
+     */
+    static long nextLong(final Random random, final long bound) {
+        assert bound > 0 : "bound must be positive";
+
+        if (bound <= Integer.MAX_VALUE) {
+            return random.nextInt((int) bound);
+        }
+
+        // same rejection scheme as Random#nextInt(int), on 63 bits
+        long bits;
+        long value;
+        do {
+            bits = random.nextLong() >>> 1;
+            value = bits % bound;
+        } while (bits - value + (bound - 1) < 0);
+
+        return value;
+    }
+
+    /**
+     * Samples distinct values in [0, range) without replacement, in random order.
+     *
+     * @param random the random source.
+     * @param range the size of the range.
+     * @param howMany the number of values to sample.
+     * @param consumer receives each value.
+     * @throws IllegalArgumentException if the number is negative or larger than the range.
+     */
+    static void sampleWithoutReplacement(final Random random,
+                                         final long range,
+                                         final int howMany,
+                                         final LongConsumer consumer) {
+        checkNotNull(random, "random cannot be null");
+        checkNotNull(consumer, "consumer cannot be null");
+        checkDistinct(range, howMany);
+
+        if (range <= MAX_DENSE_RANGE && range <= (long) DENSE_FACTOR * howMany) {
+            // partial Fisher-Yates shuffle
+            final int[] values = new int[(int) range];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i;
+            }
+            for (int i = 0; i < howMany; i++) {
+                final int j = i + random.nextInt(values.length - i);
+                final int value = values[j];
+                values[j] = values[i];
+                values[i] = value;
+                consumer.accept(value);
+            }
+        } else {
+            // sparse sample, at most 1 in DENSE_FACTOR draws is a collision
+            final Set<Long> seen = Sets.newHashSetWithExpectedSize(howMany);
+            while (seen.size() < howMany) {
+                final long value = nextLong(random, range);
+                if (seen.add(value)) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
+    /**
+     * Murmur3 32 bit finalizer, a bijection on int which turns a counter into well mixed distinct values.
+     *
+     * @param value the value to mix.
+     * @return the mixed value.
+     */
+    //CHECKSTYLE:SUPPRESS:MagicNumber
+    static int mix32(final int value) {
+        int h = value;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    /**
+     * Murmur3 64 bit finalizer, a bijection on long which turns a counter into well mixed distinct values.
+     *
+     * @param value the value to mix.
+     * @return the mixed value.
+     */
+    static long mix64(final long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+    //CHECKSTYLE:UNSUPPRESS:MagicNumber
+
+    /** Utility class. */
+    private Sampling() {
+    }
+}
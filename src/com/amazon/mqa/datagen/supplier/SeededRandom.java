@@ -0,0 +1,58 @@
+package com.amazon.mqa.datagen.supplier;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Unsynchronized {@link Random} backed by a {@link SplittableRandom}, for use by a single thread.
+ */
+final class SeededRandom extends Random {
+
+    /** Serial version. */
+    private static final long serialVersionUID = 1L;
+
+    /** Generates the values. */
+    private final SplittableRandom random;
+
+    /**
+     * Instantiates a new {@link SeededRandom}.
+     *
+     * @param seed the seed, mixed so that close seeds give unrelated sequences.
+     */
+    SeededRandom(final long seed) {
+        // a fixed seed avoids the shared seed uniquifier of the default constructor, the seed is unused anyway
+        super(0L);
+        this.random = new SplittableRandom(Sampling.mix64(seed));
+    }
+
+    @Override
+    protected int next(final int bits) {
+        return random.nextInt() >>> (Integer.SIZE - bits);
+    }
+
+    @Override
+    public int nextInt() {
+        return random.nextInt();
+    }
+
+    @Override
+    public int nextInt(final int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public long nextLong() {
+        return random.nextLong();
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public boolean nextBoolean() {
+        return random.nextBoolean();
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.amazon.mqa.datagen.supplier;
+
+/**
+ * Supplies short values without boxing.
+ */
+@FunctionalInterface
+public interface ShortSupplier {
+
+    /**
+     * @return a short value.
+     */
+    short getAsShort();
+
+}
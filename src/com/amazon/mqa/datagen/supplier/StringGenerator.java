@@ -0,0 +1,49 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.base.Supplier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * <p>Supplies random strings of an {@link Alphabet}, with lengths drawn from a {@link LengthDistribution}.</p>
+ *
+ * <p>
+ * Strings are built as Latin-1 bytes filled from bulk random words, so each string costs one byte array and
+ * a few random words. Register it by class or by proxy method name, eg.
+ * <code>config.withSupplier("getName", new StringGenerator(Alphabet.ALPHABETIC,
+ * LengthDistributions.realistic(6, 20)))</code>.
+ * </p>
+ */
+public final class StringGenerator implements Supplier<String> {
+
+    /** The characters. */
+    private final Alphabet alphabet;
+
+    /** The lengths. */
+    private final LengthDistribution lengths;
+
+    /**
+     * Instantiates a new {@link StringGenerator}.
+     *
+     * @param alphabet the characters.
+     * @param lengths the distribution of lengths.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    public StringGenerator(final Alphabet alphabet, final LengthDistribution lengths) {
+        this.alphabet = checkNotNull(alphabet, "alphabet cannot be null");
+        this.lengths = checkNotNull(lengths, "lengths cannot be null");
+    }
+
+    @Override
+    public String get() {
+        final Random random = Randoms.current();
+        final byte[] bytes = new byte[lengths.nextLength(random)];
+        alphabet.fill(bytes, 0, bytes.length, random);
+
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * <p>Supplies distinct 64 bit IDs that sort by the time they were supplied.</p>
+ *
+ * <p>
+ * An ID is the current time in milliseconds shifted left by {@value #SEQUENCE_BITS} bits, plus a sequence number
+ * within the millisecond. Threads reserve small blocks of IDs that start no earlier than the current time, so IDs
+ * are unique across threads without a hot counter, increasing within a thread and ordered across threads to
+ * within a few milliseconds. Beyond 4096 IDs per millisecond, IDs run ahead of the clock until it catches up.
+ * </p>
+ */
+public final class TimeOrderedIdSupplier implements UniqueSupplier<Long>, LongSupplier {
+
+    /** The number of bits of the sequence number within a millisecond. */
+    public static final int SEQUENCE_BITS = 12;
+
+    /** The number of IDs reserved by a thread at a time. */
+    private static final int BLOCK_SIZE = 64;
+
+    /** The IDs. */
+    private final BlockSequence sequence = new BlockSequence(0L, BLOCK_SIZE,
+            () -> System.currentTimeMillis() << SEQUENCE_BITS);
+
+    /**
+     * @param id an ID.
+     * @return the time in milliseconds encoded in the ID.
+     */
+    public static long timestampOf(final long id) {
+        return id >>> SEQUENCE_BITS;
+    }
+
+    @Override
+    public Long get() {
+        return getAsLong();
+    }
+
+    @Override
+    public long getAsLong() {
+        return sequence.next();
+    }
+
+    @Override
+    public long cardinality() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public void supplyDistinct(final int howMany, final Consumer<? super Long> consumer) {
+        checkNotNull(consumer, "consumer cannot be null");
+        Sampling.checkDistinct(Long.MAX_VALUE, howMany);
+
+        for (int i = 0; i < howMany; i++) {
+            consumer.accept(getAsLong());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.amazon.mqa.datagen.supplier;
+
+import com.google.common.base.Supplier;
+
+import java.util.function.Consumer;
+
+/**
+ * Supplier that knows the size of its value space and can supply distinct values directly, without generating
+ * and discarding duplicates.
+ *
+ * @param <T> the type of supplied value.
+ */
+public interface UniqueSupplier<T> extends Supplier<T> {
+
+    /**
+     * @return the number of distinct values this supplier can supply, {@link Long#MAX_VALUE} if it is larger
+     *         than that.
+     */
+    long cardinality();
+
+    /**
+     * Supplies distinct values.
+     *
+     * @param howMany the number of distinct values to supply.
+     * @param consumer receives each value.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     * @throws IllegalArgumentException if the number is negative or larger than {@link #cardinality()}.
+     */
+    void supplyDistinct(int howMany, Consumer<? super T> consumer);
+
+}
@@ -0,0 +1,63 @@
+package com.amazon.mqa.datagen.supplier;
+
+/**
+ * The xoshiro256** generator of Blackman and Vigna: fast, with a period of 2^256 - 1 and no known statistical
+ * weaknesses, unlike the linear congruential generator of {@link java.util.Random}.
+ */
+final class Xoshiro256StarStarRandom extends BufferedRandom {
+
+    /** Serial version. */
+    private static final long serialVersionUID = 1L;
+
+    /** The golden gamma of SplitMix64, which expands the seed into the state. */
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+    /** The first word of state. */
+    private long s0;
+
+    /** The second word of state. */
+    private long s1;
+
+    /** The third word of state. */
+    private long s2;
+
+    /** The fourth word of state. */
+    private long s3;
+
+    //CHECKSTYLE:SUPPRESS:MagicNumber
+    /**
+     * Instantiates a new {@link Xoshiro256StarStarRandom}.
+     *
+     * @param seed the seed, expanded to the state by SplitMix64 so that the state is never all zero.
+     */
+    Xoshiro256StarStarRandom(final long seed) {
+        this.s0 = Sampling.mix64(seed + GOLDEN_GAMMA);
+        this.s1 = Sampling.mix64(seed + 2 * GOLDEN_GAMMA);
+        this.s2 = Sampling.mix64(seed + 3 * GOLDEN_GAMMA);
+        this.s3 = Sampling.mix64(seed + 4 * GOLDEN_GAMMA);
+    }
+
+    @Override
+    protected void fill(final long[] words) {
+        long a = s0;
+        long b = s1;
+        long c = s2;
+        long d = s3;
+        for (int i = 0; i < words.length; i++) {
+            words[i] = Long.rotateLeft(b * 5, 7) * 9;
+            final long t = b << 17;
+            c ^= a;
+            d ^= b;
+            b ^= c;
+            a ^= d;
+            c ^= t;
+            d = Long.rotateLeft(d, 45);
+        }
+        s0 = a;
+        s1 = b;
+        s2 = c;
+        s3 = d;
+    }
+    //CHECKSTYLE:UNSUPPRESS:MagicNumber
+
+}
@@ -144,4 +144,28 @@ public final class AbstractObjectFactoryTest extends AbstractObjectFactory {
         // verify
         assertEquals(actual.size(), size);
     }
+
+    /**
+     * Tests creating a set of all enum constants.
+     */
+    @Test
+    public void testSetOfAllEnumConstants() {
+        // set up
+        final int size = EnumClass.values().length;
+
+        // exercise
+        final Set<EnumClass> actual = setOf(EnumClass.class, size);
+
+        // verify
+        assertEquals(actual.size(), size);
+    }
+
+    /**
+     * Tests creating a set larger than the value space.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testSetOfExceedingCardinality() {
+        // exercise
+        setOf(Boolean.class, 2 + 1);
+    }
 }
@@ -1,9 +1,11 @@
 package com.amazon.mqa.datagen;
 
+import com.amazon.mqa.datagen.rof.ObjectCreationException;
 import com.amazon.mqa.datagen.supplier.RandomIntegerSupplier;
 import org.testng.annotations.Test;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
 
 /**
  * Unit test for {@link ObjectFactoryBuilder}.
@@ -41,4 +43,31 @@ public final class ObjectFactoryBuilderTest {
         assertEquals(obj.getInt(), constant);
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests build object factory with prepared classes and packages.
+     */
+    @Test
+    public void testBuildWithPrepare() {
+        // exercise
+        final ObjectFactory factory = new ObjectFactoryBuilder()
+                .prepare(TestClassA.class, InterfaceA.class)
+                .prepare(Foo.class.getPackage().getName())
+                .build();
+
+        // verify
+        assertNotNull(factory.create(TestClassA.class));
+        assertNotNull(factory.create(InterfaceA.class));
+    }
+
+    /**
+     * Tests that a prepared class which cannot be created fails the build.
+     */
+    @Test(expectedExceptions = ObjectCreationException.class)
+    public void testBuildWithPrepareFailure() {
+        // exercise
+        new ObjectFactoryBuilder()
+                .prepare(AbstractClassB.class)
+                .build();
+    }
+
+}
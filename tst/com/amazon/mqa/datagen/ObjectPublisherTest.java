@@ -0,0 +1,105 @@
+package com.amazon.mqa.datagen;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Unit test for {@link ObjectPublisher}.
+ */
+public final class ObjectPublisherTest {
+
+    /** The number of objects published. */
+    private static final int HOW_MANY = 5;
+
+    /** The batch size. */
+    private static final int BATCH_SIZE = 2;
+
+    /**
+     * Tests that objects are signalled as requested, then the completion.
+     */
+    @Test
+    public void testSubscribe() {
+        // set up
+        final ObjectFactory factory = new ReflectionObjectFactory();
+        final ObjectPublisher<TestClassA> publisher =
+                new ObjectPublisher<>(() -> factory.stream(TestClassA.class, HOW_MANY), BATCH_SIZE, Runnable::run);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        // exercise
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(1);
+        final int afterFirstRequest = subscriber.items.size();
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        // verify
+        assertEquals(afterFirstRequest, 1);
+        assertEquals(subscriber.items.size(), HOW_MANY);
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    /**
+     * Tests that a non-positive request is signalled as an error.
+     */
+    @Test
+    public void testSubscribeInvalidRequest() {
+        // set up
+        final ObjectPublisher<TestClassA> publisher = new ObjectPublisher<>(
+                () -> new ReflectionObjectFactory().stream(TestClassA.class), BATCH_SIZE, Runnable::run);
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        // exercise
+        publisher.subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        // verify
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(subscriber.items.isEmpty());
+    }
+
+    /**
+     * Records the signals it receives.
+     */
+    private static final class RecordingSubscriber implements ObjectPublisher.Subscriber<TestClassA> {
+
+        /** The objects received. */
+        private final List<TestClassA> items = Lists.newArrayList();
+
+        /** The subscription. */
+        private ObjectPublisher.Subscription subscription;
+
+        /** The error received, <code>null</code> if none. */
+        private Throwable error;
+
+        /** Whether the completion was received. */
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(final ObjectPublisher.Subscription s) {
+            this.subscription = s;
+        }
+
+        @Override
+        public void onNext(final TestClassA item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.amazon.mqa.datagen;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.TimeUnit;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Unit test for {@link PrefetchingObjectFactory}.
+ */
+public final class PrefetchingObjectFactoryTest {
+
+    /** The queue depth. */
+    private static final int DEPTH = 4;
+
+    /** Time the producers stay idle once the queue is full, in milliseconds. */
+    private static final long IDLE_MILLIS = 50;
+
+    /** Max time to wait for the producers, in milliseconds. */
+    private static final long TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Tests that objects of a prefetched class are taken off the filled queue, which the producers fill again.
+     *
+     * @throws Exception if interrupted.
+     */
+    @Test
+    public void testCreatePrefetched() throws Exception {
+        // set up
+        try (PrefetchingObjectFactory factory = new PrefetchingObjectFactory(new ReflectionObjectFactory(),
+                ImmutableMap.of(TestClassA.class, DEPTH), 2)) {
+            awaitFullCount(factory, 1);
+            Thread.sleep(IDLE_MILLIS);
+            assertEquals(factory.getFullCount(TestClassA.class), 1L, "idle producers counted as full again");
+
+            // exercise
+            for (int i = 0; i < DEPTH; i++) {
+                assertNotNull(factory.create(TestClassA.class));
+            }
+
+            // verify
+            assertEquals(factory.getStarvationCount(TestClassA.class), 0L);
+            awaitFullCount(factory, 2);
+        }
+    }
+
+    /**
+     * Tests that a class the decorated factory creates as <code>null</code> is left to the calling threads, and
+     * that the producer goes on filling the queues of other classes.
+     *
+     * @throws Exception if interrupted.
+     */
+    @Test
+    public void testCreatePrefetchedNull() throws Exception {
+        // set up
+        final ObjectFactory delegate = new ReflectionObjectFactory();
+        final ObjectFactory nullFactory = (ObjectFactory) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {ObjectFactory.class}, (proxy, method, args) ->
+                        "create".equals(method.getName()) && TestClassA.class.equals(args[0])
+                                ? null
+                                : method.invoke(delegate, args));
+        try (PrefetchingObjectFactory factory = new PrefetchingObjectFactory(nullFactory,
+                ImmutableMap.of(TestClassA.class, DEPTH, TestClassB.class, DEPTH), 1)) {
+            // exercise
+            final TestClassA object = factory.create(TestClassA.class);
+
+            // verify
+            assertNull(object);
+            awaitFullCount(factory, TestClassB.class, 1);
+        }
+    }
+
+    /**
+     * Waits until the queue of {@link TestClassA} became full at least a number of times.
+     *
+     * @param factory the factory.
+     * @param count the number of times.
+     * @throws InterruptedException if interrupted.
+     */
+    private static void awaitFullCount(final PrefetchingObjectFactory factory, final long count)
+            throws InterruptedException {
+        awaitFullCount(factory, TestClassA.class, count);
+    }
+
+    /**
+     * Waits until the queue of a class became full at least a number of times.
+     *
+     * @param factory the factory.
+     * @param clazz the prefetched class.
+     * @param count the number of times.
+     * @throws InterruptedException if interrupted.
+     */
+    private static void awaitFullCount(final PrefetchingObjectFactory factory, final Class<?> clazz,
+                                       final long count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (factory.getFullCount(clazz) < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        assertTrue(factory.getFullCount(clazz) >= count, "queue not filled");
+    }
+
+    /**
+     * Tests that objects of other classes are created by the decorated factory.
+     */
+    @Test
+    public void testCreateNotPrefetched() {
+        try (PrefetchingObjectFactory factory = new PrefetchingObjectFactory(new ReflectionObjectFactory(),
+                ImmutableMap.of(TestClassA.class, DEPTH), 1)) {
+            // exercise
+            final TestClassB object = factory.create(TestClassB.class);
+
+            // verify
+            assertNotNull(object);
+        }
+    }
+
+    /**
+     * Tests that metrics are only kept for prefetched classes.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testGetStarvationCountNotPrefetched() {
+        try (PrefetchingObjectFactory factory = new PrefetchingObjectFactory(new ReflectionObjectFactory(),
+                ImmutableMap.of(TestClassA.class, DEPTH), 1)) {
+            // exercise
+            factory.getStarvationCount(TestClassB.class);
+        }
+    }
+
+}
@@ -2,19 +2,34 @@ package com.amazon.mqa.datagen;
 
 import static com.google.common.base.Preconditions.checkNotNull;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Date;
-
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
 import com.amazon.mqa.datagen.Foo.CircularFoo;
 import com.amazon.mqa.datagen.rof.ObjectCreationException;
 import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
+import com.amazon.mqa.datagen.supplier.PoolPolicy;
+import com.amazon.mqa.datagen.supplier.RandomSources;
+import com.google.common.collect.Sets;
+import com.google.common.reflect.TypeToken;
 
 /**
  * Functional test for {@link ReflectionObjectFactory}.
@@ -376,4 +391,362 @@ public final class ReflectionObjectFactoryFunctionalTest {
 
     }
 
+    /**
+     * Tests creating a nested generic type from a type token.
+     */
+    @Test
+    public void testCreateFromTypeToken() {
+        // set up
+        final AbstractObjectFactory factory = new ReflectionObjectFactory();
+        final TypeToken<Map<String, List<TestClassA>>> typeToken =
+                new TypeToken<Map<String, List<TestClassA>>>() { };
+
+        // exercise
+        final Map<String, List<TestClassA>> first = factory.create(typeToken);
+        final Map<String, List<TestClassA>> second = factory.create(typeToken);
+
+        // verify
+        assertTrue(!first.isEmpty(), "map is empty");
+        for (final List<TestClassA> value : first.values()) {
+            assertTrue(!value.isEmpty(), "list is empty");
+            assertEquals(value.get(0).getClass(), TestClassA.class, "wrong class");
+        }
+        assertTrue(!second.isEmpty(), "map is empty");
+    }
+
+    /**
+     * Tests creating an optional from a type token.
+     */
+    @Test
+    public void testCreateOptionalFromTypeToken() {
+        // exercise
+        final Optional<Integer> actual =
+                new ReflectionObjectFactory().create(new TypeToken<Optional<Integer>>() { });
+
+        // verify
+        assertTrue(actual.isPresent(), "optional is empty");
+    }
+
+    /**
+     * Tests creating an unsupported type.
+     */
+    @Test(expectedExceptions = ObjectCreationException.class)
+    public void testCreateUnsupportedType() {
+        // exercise
+        new ReflectionObjectFactory().create(List.class.getTypeParameters()[0]);
+    }
+
+    /**
+     * Tests creating collections and maps of the registered providers.
+     */
+    @Test
+    public void testCreateRegisteredContainers() {
+        // set up
+        final AbstractObjectFactory factory = new ReflectionObjectFactory();
+
+        // exercise
+        final SortedSet<Integer> sortedSet = factory.create(new TypeToken<SortedSet<Integer>>() { });
+        final Map<EnumClass, String> enumMap = factory.create(new TypeToken<Map<EnumClass, String>>() { });
+        final ConcurrentMap<String, Long> concurrentMap =
+                factory.create(new TypeToken<ConcurrentMap<String, Long>>() { });
+
+        // verify
+        assertTrue(!sortedSet.isEmpty(), "sorted set is empty");
+        assertTrue(enumMap instanceof EnumMap, "not an enum map");
+        assertTrue(!concurrentMap.isEmpty(), "concurrent map is empty");
+    }
+
+    /**
+     * Tests creating an object with lazy collection properties.
+     */
+    @Test
+    public void testCreateWithLazyCollections() {
+        // set up
+        final ObjectFactory factory = new ReflectionObjectFactory(Config.createDefault().withLazyCollections());
+
+        // exercise
+        final TestClassA actual = factory.create(TestClassA.class);
+
+        // verify
+        assertTrue(!actual.getList().isEmpty(), "list is empty");
+        assertTrue(actual.getList().get(0) == actual.getList().get(0), "list element not remembered");
+        assertTrue(!actual.getMapField().isEmpty(), "map is empty");
+    }
+
+    /**
+     * Tests that factories with the same seed create the same objects.
+     */
+    @Test
+    public void testCreateWithSeed() {
+        // set up
+        final long seed = 42L;
+        final ObjectFactory factory = new ReflectionObjectFactory(Config.createDefault().withSeed(seed));
+        final ObjectFactory sameSeedFactory = new ReflectionObjectFactory(Config.createDefault().withSeed(seed));
+
+        // exercise
+        final TestClassA actual = factory.create(TestClassA.class);
+        final TestClassA expected = sameSeedFactory.create(TestClassA.class);
+
+        // verify
+        assertTrue(EqualsBuilder.reflectionEquals(actual, expected), "objects differ");
+        assertEquals(factory.listOf(String.class), sameSeedFactory.listOf(String.class));
+    }
+
+    /**
+     * Tests that the primitive streams of seeded factories with a custom supplier are the same, although they are
+     * consumed after the call.
+     */
+    @Test
+    public void testIntsWithSeedAndCustomSupplier() {
+        // set up
+        final long seed = 7L;
+        final int howMany = 5;
+        final int max = 1000;
+        final Config config = Config.createDefault()
+                .withSupplier(int.class, new MinMaxIntegerSupplier(0, max))
+                .withSeed(seed);
+
+        // exercise
+        final int[] actual = new ReflectionObjectFactory(config).ints(howMany).toArray();
+        final int[] expected = new ReflectionObjectFactory(config).ints(howMany).toArray();
+
+        // verify
+        assertEquals(actual, expected);
+    }
+
+    /**
+     * Tests that the primitive streams of seeded factories drawn from the random source are the same in parallel
+     * as in sequence, for a source whose generators aren't thread-safe.
+     */
+    @Test
+    public void testStreamsWithSeedInParallel() {
+        // set up
+        final long seed = 7L;
+        final int howMany = 100_000;
+        final Config config = Config.createDefault()
+                .withRandomSource(RandomSources.XOSHIRO_256_STAR_STAR)
+                .withSeed(seed);
+
+        // exercise
+        final int[] parallelInts = new ReflectionObjectFactory(config).ints(howMany).parallel().toArray();
+        final int[] ints = new ReflectionObjectFactory(config).ints(howMany).toArray();
+        final long[] parallelLongs = new ReflectionObjectFactory(config).longs(howMany).parallel().toArray();
+        final long[] longs = new ReflectionObjectFactory(config).longs(howMany).toArray();
+        final double[] parallelDoubles = new ReflectionObjectFactory(config).doubles(howMany).parallel().toArray();
+        final double[] doubles = new ReflectionObjectFactory(config).doubles(howMany).toArray();
+
+        // verify
+        assertEquals(parallelInts, ints);
+        assertEquals(ints.length, howMany);
+        assertEquals(parallelLongs, longs);
+        assertEquals(parallelDoubles, doubles);
+    }
+
+    /**
+     * Tests that seeded lazy collections don't depend on the order elements are accessed in.
+     */
+    @Test
+    public void testCreateWithSeedAndLazyCollections() {
+        // set up
+        final Config config = Config.createDefault().withSeed(1L).withLazyCollections();
+        final List<List<Integer>> list = new ReflectionObjectFactory(config).create(TestClassA.class).getList();
+        final List<List<Integer>> reversed =
+                new ReflectionObjectFactory(config).create(TestClassA.class).getList();
+
+        // exercise
+        final List<Integer> last = reversed.get(reversed.size() - 1);
+
+        // verify
+        assertEquals(list, reversed);
+        assertEquals(list.get(list.size() - 1), last);
+    }
+
+    /**
+     * Tests creating objects from a seeded custom random source.
+     */
+    @Test
+    public void testCreateWithRandomSource() {
+        // set up
+        final Config config = Config.createDefault()
+                .withRandomSource(RandomSources.XOSHIRO_256_STAR_STAR)
+                .withSeed(1L);
+
+        // exercise
+        final List<String> actual = new ReflectionObjectFactory(config).listOf(String.class);
+        final List<String> expected = new ReflectionObjectFactory(config).listOf(String.class);
+
+        // verify
+        assertEquals(actual, expected);
+    }
+
+    /**
+     * Tests creating objects whose leaf values and POJOs are drawn from pools.
+     */
+    @Test
+    public void testCreateWithValuePools() {
+        // set up
+        final int poolSize = 4;
+        final Config config = Config.createDefault()
+                .withValuePools(PoolPolicy.of(poolSize))
+                .withValuePool(TestClassA.class, PoolPolicy.of(poolSize));
+        final ReflectionObjectFactory factory = new ReflectionObjectFactory(config);
+
+        // exercise
+        final Set<String> strings = Sets.newIdentityHashSet();
+        strings.addAll(factory.listOf(String.class, 2 * poolSize));
+        final Set<TestClassA> objects = Sets.newIdentityHashSet();
+        objects.addAll(factory.listOf(TestClassA.class, 2 * poolSize));
+        final Set<String> distinct = factory.setOf(String.class, 2 * poolSize);
+
+        // verify
+        assertEquals(strings.size(), poolSize);
+        assertEquals(objects.size(), poolSize);
+        assertEquals(distinct.size(), 2 * poolSize);
+    }
+
+    /**
+     * Tests that seeded factories with value pools don't share their pools, ie. create the same objects.
+     */
+    @Test
+    public void testCreateWithSeedAndValuePools() {
+        // set up
+        final long seed = 42L;
+        final int poolSize = 4;
+        final Config config = Config.createDefault().withSeed(seed).withValuePools(PoolPolicy.of(poolSize));
+        final ObjectFactory factory = new ReflectionObjectFactory(config);
+        final ObjectFactory sameConfigFactory = new ReflectionObjectFactory(config);
+
+        // exercise
+        final List<String> actual = factory.listOf(String.class, poolSize + 2);
+        final List<String> expected = sameConfigFactory.listOf(String.class, poolSize + 2);
+
+        // verify
+        assertEquals(actual, expected);
+    }
+
+    /**
+     * Tests that the object at an index of a seeded sequence is the same every time.
+     */
+    @Test
+    public void testAt() {
+        // set up
+        final long seed = 42L;
+        final long index = 1_000_000_000L;
+        final ObjectFactory factory = new ReflectionObjectFactory();
+
+        // exercise
+        final TestClassA actual = factory.at(TestClassA.class, seed, index);
+        final TestClassA expected = new ReflectionObjectFactory().at(TestClassA.class, seed, index);
+        final TestClassA next = factory.at(TestClassA.class, seed, index + 1);
+
+        // verify
+        assertTrue(EqualsBuilder.reflectionEquals(actual, expected), "objects differ");
+        assertTrue(!EqualsBuilder.reflectionEquals(actual, next), "objects are the same");
+    }
+
+    /**
+     * Tests that a derived factory uses the derived configuration, leaving the parent factory unchanged.
+     */
+    @Test
+    public void testDerive() {
+        // set up
+        final String value = "derived";
+        final ObjectFactory parent = new ReflectionObjectFactory();
+
+        // exercise
+        final ObjectFactory child = parent.derive(config -> config.withSupplier(String.class, () -> value));
+
+        // verify
+        assertEquals(child.create(String.class), value);
+        assertNotEquals(parent.create(String.class), value);
+    }
+
+    /**
+     * Tests that a factory derived from a warm factory uses the derived configuration in the objects and generic
+     * types its parent already created.
+     */
+    @Test
+    public void testDeriveFromWarmFactory() {
+        // set up
+        final Integer value = 7;
+        final ObjectFactory parent = new ReflectionObjectFactory();
+        parent.create(TestClassA.class);
+
+        // exercise
+        final ObjectFactory child = parent.derive(config -> config.withSupplier(Integer.class, () -> value));
+
+        // verify
+        final List<List<Integer>> list = child.create(TestClassA.class).getList();
+        assertTrue(list.stream().flatMap(List::stream).allMatch(value::equals), list.toString());
+        assertTrue(parent.create(TestClassA.class).getList().stream().flatMap(List::stream)
+                .anyMatch(element -> !value.equals(element)), "parent uses the derived supplier");
+    }
+
+    /**
+     * Tests that asynchronous creation of a seeded factory depends on the order of calls only.
+     *
+     * @throws Exception if the generation fails.
+     */
+    @Test
+    public void testCreateAsync() throws Exception {
+        // set up
+        final long seed = 42L;
+        final int howMany = 3;
+        final Config config = Config.createDefault().withSeed(seed).withExecutor(Runnable::run);
+        final ObjectFactory factory = new ReflectionObjectFactory(config);
+        final ObjectFactory sameSeedFactory = new ReflectionObjectFactory(config);
+
+        // exercise
+        final CompletableFuture<TestClassA> object = factory.createAsync(TestClassA.class);
+        final CompletableFuture<List<TestClassA>> list = factory.listOfAsync(TestClassA.class, howMany);
+
+        // verify
+        assertTrue(EqualsBuilder.reflectionEquals(object.get(), sameSeedFactory.create(TestClassA.class)),
+                "objects differ");
+        assertEquals(list.get().size(), howMany);
+        assertNotNull(new ReflectionObjectFactory().createAsync(TestClassA.class).get());
+    }
+
+    /**
+     * Tests that a parallel stream of a seeded factory holds the same objects as a sequential one.
+     */
+    @Test
+    public void testStream() {
+        // set up
+        final long seed = 42L;
+        final int howMany = 100;
+        final Config config = Config.createDefault().withSeed(seed);
+
+        // exercise
+        final List<TestClassA> parallel = new ReflectionObjectFactory(config)
+                .stream(TestClassA.class, howMany).parallel().collect(Collectors.toList());
+        final List<TestClassA> sequential = new ReflectionObjectFactory(config)
+                .stream(TestClassA.class).limit(howMany).collect(Collectors.toList());
+
+        // verify
+        assertEquals(parallel.size(), howMany);
+        for (int i = 0; i < howMany; i++) {
+            assertTrue(EqualsBuilder.reflectionEquals(parallel.get(i), sequential.get(i)), "objects differ");
+        }
+    }
+
+    /**
+     * Tests that a virtual list holds the objects of the seeded sequence.
+     */
+    @Test
+    public void testVirtualListOf() {
+        // set up
+        final long seed = 42L;
+        final int size = 50_000_000;
+        final ObjectFactory factory = new ReflectionObjectFactory();
+
+        // exercise
+        final List<TestClassA> list = factory.virtualListOf(TestClassA.class, size, seed);
+
+        // verify
+        assertEquals(list.size(), size);
+        final TestClassA expected = factory.at(TestClassA.class, seed, size - 1);
+        assertTrue(EqualsBuilder.reflectionEquals(list.get(size - 1), expected), "objects differ");
+    }
+
 }
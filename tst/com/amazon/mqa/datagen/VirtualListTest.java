@@ -0,0 +1,80 @@
+package com.amazon.mqa.datagen;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link VirtualList}.
+ */
+public final class VirtualListTest {
+
+    /** A size far larger than could be materialized. */
+    private static final int HUGE = Integer.MAX_VALUE;
+
+    /** The number of elements to stream. */
+    private static final int STREAMED = 10_000;
+
+    /**
+     * Tests that elements are generated from their index.
+     */
+    @Test
+    public void testGet() {
+        // set up
+        final List<Long> list = new VirtualList<>(HUGE, index -> (long) index * 2, 0);
+
+        // exercise
+        final long last = list.get(HUGE - 1);
+
+        // verify
+        assertEquals(list.size(), HUGE);
+        assertEquals(last, (HUGE - 1) * 2L);
+    }
+
+    /**
+     * Tests that views and parallel streams go by index.
+     */
+    @Test
+    public void testSubListParallelStream() {
+        // set up
+        final List<Integer> list = new VirtualList<>(HUGE, index -> index, 0);
+
+        // exercise
+        final List<Integer> actual = list.subList(HUGE - STREAMED, HUGE).parallelStream()
+                .collect(Collectors.toList());
+
+        // verify
+        assertEquals(actual.size(), STREAMED);
+        assertEquals((int) actual.get(0), HUGE - STREAMED);
+        assertEquals((int) actual.get(STREAMED - 1), HUGE - 1);
+    }
+
+    /**
+     * Tests that recently accessed elements are cached.
+     */
+    @Test
+    public void testGetCached() {
+        // set up
+        final AtomicInteger generated = new AtomicInteger();
+        final List<Object> list = new VirtualList<>(HUGE, index -> {
+            generated.incrementAndGet();
+            return new Object();
+        }, 1);
+
+        // exercise
+        final Object first = list.get(0);
+        final Object again = list.get(0);
+        list.get(1);
+        list.get(0);
+
+        // verify
+        assertSame(again, first);
+        assertEquals(generated.get(), 1 + 1 + 1);
+    }
+
+}
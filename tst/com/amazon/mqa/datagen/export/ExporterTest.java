@@ -0,0 +1,174 @@
+package com.amazon.mqa.datagen.export;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.amazon.mqa.datagen.ReflectionObjectFactory;
+import com.amazon.mqa.datagen.TestClassA;
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Unit test for {@link Exporter}.
+ */
+public final class ExporterTest {
+
+    /** The number of generated records. */
+    private static final int HOW_MANY = 100;
+
+    /** The number of bytes of a file before rotating. */
+    private static final long ROTATION_BYTES = 4096;
+
+    /** The count of the first item. */
+    private static final int COUNT = 42;
+
+    /** Directory of the exported files. */
+    private Path directory;
+
+    /**
+     * Set up.
+     *
+     * @throws IOException if the directory cannot be created.
+     */
+    @BeforeMethod
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("export");
+    }
+
+    /**
+     * Tests exporting JSON lines.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Test
+    public void testExportJsonLines() throws IOException {
+        // exercise
+        final ExportReport report = Exporter.of(ExportFormat.JSON_LINES)
+                .export(items(), Item.class, directory.resolve("items"));
+
+        // verify
+        assertEquals(report.getRecords(), 2L);
+        assertEquals(report.getFiles(), ImmutableList.of(directory.resolve("items.jsonl")));
+        assertEquals(Files.readAllLines(report.getFiles().get(0)), ImmutableList.of(
+                "{\"count\":42,\"name\":\"a, \\\"quoted\\\" \u00e9\",\"tags\":[\"x\",\"y\"]}",
+                "{\"count\":-1,\"name\":null,\"tags\":[]}"));
+        assertEquals(report.getBytes(), Files.size(report.getFiles().get(0)));
+    }
+
+    /**
+     * Tests exporting CSV, with values quoted as needed.
+     *
+     * @throws IOException if writing fails.
+     */
+    @Test
+    public void testExportCsv() throws IOException {
+        // exercise
+        final ExportReport report = Exporter.of(ExportFormat.CSV)
+                .export(items(), Item.class, directory.resolve("items"));
+
+        // verify
+        assertEquals(Files.readAllLines(report.getFiles().get(0)), ImmutableList.of(
+                "count,name,tags",
+                "42,\"a, \"\"quoted\"\" \u00e9\",\"[\"\"x\"\",\"\"y\"\"]\"",
+                "-1,,\"[]\""));
+    }
+
+    /**
+     * Tests exporting generated objects to rotated and compressed files.
+     *
+     * @throws IOException if writing or reading fails.
+     */
+    @Test
+    public void testExportRotatedGzipped() throws IOException {
+        // exercise
+        final ExportReport report = Exporter.of(ExportFormat.TSV)
+                .rotateAt(ROTATION_BYTES)
+                .gzipped()
+                .export(new ReflectionObjectFactory().stream(TestClassA.class, HOW_MANY), TestClassA.class,
+                        directory.resolve("generated"));
+
+        // verify
+        assertEquals(report.getRecords(), (long) HOW_MANY);
+        assertTrue(report.getFiles().size() > 1, "files not rotated");
+        assertEquals(report.getFiles().get(1), directory.resolve("generated-00001.tsv.gz"));
+
+        long rows = 0;
+        for (final Path file : report.getFiles()) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+                // each file has a header row
+                rows += reader.lines().count() - 1;
+            }
+        }
+        assertEquals(rows, (long) HOW_MANY);
+    }
+
+    /**
+     * @return items with values to escape.
+     */
+    private static Stream<Item> items() {
+        return Stream.of(new Item("a, \"quoted\" \u00e9", COUNT, ImmutableList.of("x", "y")),
+                new Item(null, -1, ImmutableList.of()));
+    }
+
+    /**
+     * Exported bean.
+     */
+    public static final class Item {
+
+        /** The name. */
+        private final String name;
+
+        /** The count. */
+        private final int count;
+
+        /** The tags. */
+        private final List<String> tags;
+
+        /**
+         * Instantiates a new {@link Item}.
+         *
+         * @param name the name.
+         * @param count the count.
+         * @param tags the tags.
+         */
+        Item(final String name, final int count, final List<String> tags) {
+            this.name = name;
+            this.count = count;
+            this.tags = tags;
+        }
+
+        /**
+         * @return the name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return the count.
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @return the tags.
+         */
+        public List<String> getTags() {
+            return tags;
+        }
+    }
+
+}
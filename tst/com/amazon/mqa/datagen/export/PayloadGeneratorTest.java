@@ -0,0 +1,468 @@
+package com.amazon.mqa.datagen.export;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import com.amazon.mqa.datagen.Config;
+import com.amazon.mqa.datagen.ReflectionObjectFactory;
+import com.amazon.mqa.datagen.supplier.RandomSources;
+import com.amazon.mqa.datagen.supplier.Randoms;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Unit test for {@link PayloadGenerator}.
+ */
+public final class PayloadGeneratorTest {
+
+    /** A default string. */
+    private static final String STRING = "\"[0-9A-Za-z]{50}\"";
+
+    /** A payload of an order, as generated by default. */
+    private static final Pattern ORDER = Pattern.compile("\\{\"count\":-?\\d+,\"created\":\"[^\"]*\","
+            + "\"line\":\\{\"gift\":(true|false),\"quantity\":-?\\d+,\"sku\":" + STRING + "\\},"
+            + "\"name\":" + STRING + ",\"price\":0\\.\\d{16},\"status\":\"(NEW|SHIPPED)\","
+            + "\"tags\":\\[(" + STRING + "(," + STRING + ")*)?\\]\\}");
+
+    /** A key of an object. */
+    private static final Pattern KEY = Pattern.compile("\"(\\w+)\":");
+
+    /** The size of a buffer. */
+    private static final int BUFFER_SIZE = 4096;
+
+    /** The size of a buffer too small for an order. */
+    private static final int SMALL_BUFFER_SIZE = 64;
+
+    /** The position of a buffer before writing. */
+    private static final int POSITION = 3;
+
+    /** A payload of flags, whose map and set entries are captured. */
+    private static final Pattern FLAGS = Pattern.compile("\\{\"counts\":\\{(.*)\\},\"statuses\":\\[(.*)\\]\\}");
+
+    /** A key of a map of flags. */
+    private static final Pattern FLAG_KEY = Pattern.compile("\"(true|false)\":-?\\d+");
+
+    /** A status of flags. */
+    private static final Pattern STATUS = Pattern.compile("\"(NEW|SHIPPED)\"");
+
+    /** The number of payloads of flags to generate. */
+    private static final int FLAGS_COUNT = 100;
+
+    /** The size of arrays larger than the number of booleans or statuses. */
+    private static final int LARGE_SIZE = 5;
+
+    /** The seed. */
+    private static final long SEED = 42;
+
+    /**
+     * Tests writing a payload.
+     */
+    @Test
+    public void testWriteTo() {
+        // set up
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        // exercise
+        final int written = PayloadGenerator.of(Order.class).writeTo(buffer);
+
+        // verify
+        assertEquals(written, buffer.position());
+        final byte[] bytes = new byte[written];
+        buffer.flip();
+        buffer.get(bytes);
+        final String payload = new String(bytes, StandardCharsets.UTF_8);
+        assertTrue(ORDER.matcher(payload).matches(), payload);
+    }
+
+    /**
+     * Tests that a payload has the properties of an exported instance.
+     *
+     * @throws IOException if encoding fails.
+     */
+    @Test
+    public void testNextHasShapeOfExportedInstance() throws IOException {
+        // set up
+        final StringBuilder exported = new StringBuilder();
+        new JsonEncoder().writeValue(new ReflectionObjectFactory().create(Order.class), exported::append, 0);
+
+        // exercise
+        final String payload = new String(PayloadGenerator.of(Order.class).next(), StandardCharsets.UTF_8);
+
+        // verify
+        assertTrue(ORDER.matcher(payload).matches(), payload);
+        assertEquals(keys(payload), keys(exported));
+    }
+
+    /**
+     * Tests writing a payload into a buffer too small.
+     */
+    @Test
+    public void testWriteToOverflow() {
+        // set up
+        final ByteBuffer buffer = ByteBuffer.allocate(SMALL_BUFFER_SIZE);
+        buffer.position(POSITION);
+
+        // exercise
+        try {
+            PayloadGenerator.of(Order.class).writeTo(buffer);
+            fail("expected BufferOverflowException");
+        } catch (final BufferOverflowException e) {
+            // verify
+            assertEquals(buffer.position(), POSITION);
+        }
+    }
+
+    /**
+     * Tests that seeded payloads are reproducible.
+     */
+    @Test
+    public void testNextSeeded() {
+        // set up
+        final PayloadGenerator generator = PayloadGenerator.of(Order.class);
+
+        // exercise
+        final byte[] first = Randoms.withSeed(RandomSources.SPLITTABLE, SEED, generator::next);
+        final byte[] second = Randoms.withSeed(RandomSources.SPLITTABLE, SEED, generator::next);
+
+        // verify
+        assertEquals(first, second);
+    }
+
+    /**
+     * Tests generating payloads with the suppliers and array sizes of a config.
+     */
+    @Test
+    public void testOfConfig() {
+        // set up
+        final Config config = Config.createDefault()
+                .withSupplier("name", () -> "fixed")
+                .withArraySizeSupplier(() -> 0);
+
+        // exercise
+        final String payload = new String(PayloadGenerator.of(Order.class, config).next(), StandardCharsets.UTF_8);
+
+        // verify
+        assertTrue(payload.contains("\"name\":\"fixed\""), payload);
+        assertTrue(payload.contains("\"tags\":[]"), payload);
+    }
+
+    /**
+     * Tests that property suppliers are resolved like the factory does: by setter name or property name, but not
+     * by getter name for a class populated by setters.
+     */
+    @Test
+    public void testOfConfigWithPropertySuppliers() {
+        // set up
+        final int count = 7;
+        final Config config = Config.createDefault()
+                .withSupplier("setCount", () -> count)
+                .withSupplier("name", () -> "fixed")
+                .withSupplier("getPrice", () -> 2.0);
+        final Order order = new ReflectionObjectFactory(config).create(Order.class);
+
+        // exercise
+        final String payload = new String(PayloadGenerator.of(Order.class, config).next(), StandardCharsets.UTF_8);
+
+        // verify
+        assertEquals(order.getCount(), count);
+        assertEquals(order.getName(), "fixed");
+        assertTrue(order.getPrice() < 1, "price supplied by getter name");
+        assertTrue(payload.contains("\"count\":" + order.getCount()), payload);
+        assertTrue(payload.contains("\"name\":\"" + order.getName() + '"'), payload);
+        assertTrue(payload.contains("\"price\":0."), payload);
+    }
+
+    /**
+     * Tests that keys of maps and elements of sets of a small value space are distinct, up to its cardinality.
+     */
+    @Test
+    public void testNextDistinctKeysAndSetElements() {
+        // set up
+        final PayloadGenerator generator = PayloadGenerator.of(Flags.class,
+                Config.createDefault().withArraySizeSupplier(() -> LARGE_SIZE));
+
+        for (int i = 0; i < FLAGS_COUNT; i++) {
+            // exercise
+            final String payload = new String(generator.next(), StandardCharsets.UTF_8);
+
+            // verify
+            final Matcher matcher = FLAGS.matcher(payload);
+            assertTrue(matcher.matches(), payload);
+            assertEquals(ImmutableSet.copyOf(groups(FLAG_KEY, matcher.group(1))), ImmutableSet.of("true", "false"),
+                    payload);
+            assertEquals(groups(FLAG_KEY, matcher.group(1)).size(), 2, payload);
+            assertEquals(ImmutableSet.copyOf(groups(STATUS, matcher.group(2))), ImmutableSet.of("NEW", "SHIPPED"),
+                    payload);
+            assertEquals(groups(STATUS, matcher.group(2)).size(), 2, payload);
+        }
+    }
+
+    /**
+     * @param json a JSON value.
+     * @return the keys of the objects of the value, in order.
+     */
+    private static List<String> keys(final CharSequence json) {
+        return groups(KEY, json);
+    }
+
+    /**
+     * @param pattern the pattern.
+     * @param text the text.
+     * @return the first groups of the matches of the pattern in the text, in order.
+     */
+    private static List<String> groups(final Pattern pattern, final CharSequence text) {
+        final ImmutableList.Builder<String> groups = ImmutableList.builder();
+        final Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            groups.add(matcher.group(1));
+        }
+
+        return groups.build();
+    }
+
+    /**
+     * Status of an order.
+     */
+    public enum Status {
+        /** New. */
+        NEW,
+        /** Shipped. */
+        SHIPPED
+    }
+
+    /**
+     * Line of an order.
+     */
+    public static final class Line {
+
+        /** The sku. */
+        private String sku;
+
+        /** The quantity. */
+        private long quantity;
+
+        /** Whether the line is a gift. */
+        private boolean gift;
+
+        /**
+         * @return the sku.
+         */
+        public String getSku() {
+            return sku;
+        }
+
+        /**
+         * @param sku the sku.
+         */
+        public void setSku(final String sku) {
+            this.sku = sku;
+        }
+
+        /**
+         * @return the quantity.
+         */
+        public long getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * @param quantity the quantity.
+         */
+        public void setQuantity(final long quantity) {
+            this.quantity = quantity;
+        }
+
+        /**
+         * @return whether the line is a gift.
+         */
+        public boolean isGift() {
+            return gift;
+        }
+
+        /**
+         * @param gift whether the line is a gift.
+         */
+        public void setGift(final boolean gift) {
+            this.gift = gift;
+        }
+    }
+
+    /**
+     * Order.
+     */
+    public static final class Order {
+
+        /** The name. */
+        private String name;
+
+        /** The count. */
+        private int count;
+
+        /** The price. */
+        private double price;
+
+        /** The status. */
+        private Status status;
+
+        /** The tags. */
+        private List<String> tags;
+
+        /** The creation date. */
+        private Date created;
+
+        /** The line. */
+        private Line line;
+
+        /**
+         * @return the name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param name the name.
+         */
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        /**
+         * @return the count.
+         */
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * @param count the count.
+         */
+        public void setCount(final int count) {
+            this.count = count;
+        }
+
+        /**
+         * @return the price.
+         */
+        public double getPrice() {
+            return price;
+        }
+
+        /**
+         * @param price the price.
+         */
+        public void setPrice(final double price) {
+            this.price = price;
+        }
+
+        /**
+         * @return the status.
+         */
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @param status the status.
+         */
+        public void setStatus(final Status status) {
+            this.status = status;
+        }
+
+        /**
+         * @return the tags.
+         */
+        public List<String> getTags() {
+            return tags;
+        }
+
+        /**
+         * @param tags the tags.
+         */
+        public void setTags(final List<String> tags) {
+            this.tags = tags;
+        }
+
+        /**
+         * @return the creation date.
+         */
+        public Date getCreated() {
+            return created;
+        }
+
+        /**
+         * @param created the creation date.
+         */
+        public void setCreated(final Date created) {
+            this.created = created;
+        }
+
+        /**
+         * @return the line.
+         */
+        public Line getLine() {
+            return line;
+        }
+
+        /**
+         * @param line the line.
+         */
+        public void setLine(final Line line) {
+            this.line = line;
+        }
+    }
+
+    /**
+     * Flags, of small value spaces.
+     */
+    public static final class Flags {
+
+        /** The counts by flag. */
+        private Map<Boolean, Integer> counts;
+
+        /** The statuses. */
+        private Set<Status> statuses;
+
+        /**
+         * @return the counts by flag.
+         */
+        public Map<Boolean, Integer> getCounts() {
+            return counts;
+        }
+
+        /**
+         * @param counts the counts by flag.
+         */
+        public void setCounts(final Map<Boolean, Integer> counts) {
+            this.counts = counts;
+        }
+
+        /**
+         * @return the statuses.
+         */
+        public Set<Status> getStatuses() {
+            return statuses;
+        }
+
+        /**
+         * @param statuses the statuses.
+         */
+        public void setStatuses(final Set<Status> statuses) {
+            this.statuses = statuses;
+        }
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.amazon.mqa.datagen.export;
+
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableList;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit test for {@link PropertyModel}.
+ */
+public final class PropertyModelTest {
+
+    /**
+     * Tests that only getters named like accessors are properties.
+     */
+    @Test
+    public void testOf() {
+        // exercise
+        final List<String> names = PropertyModel.of(Accessors.class).stream()
+                .map(PropertyModel.Property::getName)
+                .collect(Collectors.toList());
+
+        // verify
+        assertEquals(names, ImmutableList.of("name", "valid"));
+    }
+
+    /**
+     * Class with getters and methods which only start like getters.
+     */
+    public static final class Accessors {
+
+        /**
+         * @return the name.
+         */
+        public String getName() {
+            return "name";
+        }
+
+        /**
+         * @return whether valid.
+         */
+        public boolean isValid() {
+            return true;
+        }
+
+        /**
+         * @return an issue, which isn't a property.
+         */
+        public boolean issue() {
+            return true;
+        }
+
+        /**
+         * @return a getaway, which isn't a property.
+         */
+        public String getaway() {
+            return "getaway";
+        }
+    }
+
+}
@@ -105,4 +105,105 @@ public final class BasicObjectFactoryTest {
         assertNull(actualDouble);
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests creating sub types with the supplier of their super type.
+     */
+    @Test
+    public void testCreateFromSuperType() {
+        // set up
+        final Integer expectedInteger = integerFactory.get();
+        final ObjectFactory numberFactory = new BasicObjectFactory(
+                ImmutableMap.of(Number.class, new SequenceSupplier(expectedInteger)));
+
+        // exercise
+        final Integer actualInteger = numberFactory.create(Integer.class);
+        final Long actualLong = numberFactory.create(Long.class);
+
+        // verify
+        assertEquals(actualInteger, expectedInteger, "wrong integer");
+        assertNull(actualLong);
+    }
+
+    /**
+     * Tests that the supplier of a super type is not called for a sub type it doesn't declare to supply.
+     */
+    @Test
+    public void testCreateFromSuperTypeNotApplicable() {
+        // set up
+        final Integer first = integerFactory.get();
+        final ObjectFactory numberFactory = new BasicObjectFactory(
+                ImmutableMap.of(Number.class, new SequenceSupplier(first)));
+
+        // exercise
+        numberFactory.create(Long.class);
+        numberFactory.create(Long.class);
+
+        // verify
+        assertEquals(numberFactory.create(Integer.class), first, "supplier advanced by other sub types");
+    }
+
+    /**
+     * Tests that a lambda registered for a super type, which doesn't declare what it supplies, is neither used nor
+     * called for sub types.
+     */
+    @Test
+    public void testCreateFromSuperTypeLambda() {
+        // set up
+        final ObjectFactory numberFactory = new BasicObjectFactory(
+                ImmutableMap.of(Number.class, (Supplier<Number>) mockIntegerSupplier::get));
+        mocks.replayAll();
+
+        // exercise
+        final Integer actualInteger = numberFactory.create(Integer.class);
+
+        // verify
+        assertNull(actualInteger);
+        mocks.verifyAll();
+    }
+
+    /**
+     * Tests that a derived factory resolves again the classes whose supplier, or the supplier of a super type,
+     * changed.
+     */
+    @Test
+    public void testDerive() {
+        // set up
+        final Integer parentInteger = 1;
+        final Integer derivedInteger = 2;
+        final BasicObjectFactory parent =
+                new BasicObjectFactory(ImmutableMap.of(Number.class, new SequenceSupplier(parentInteger)));
+        parent.create(Integer.class);
+
+        // exercise
+        final ObjectFactory derived =
+                parent.derive(ImmutableMap.of(Number.class, new SequenceSupplier(derivedInteger)));
+
+        // verify
+        assertEquals(derived.create(Integer.class), derivedInteger, "wrong integer");
+        assertEquals(parent.create(Integer.class), Integer.valueOf(parentInteger + 1), "wrong integer");
+    }
+
+    /**
+     * Supplies consecutive integers, declaring that it supplies {@link Integer}.
+     */
+    private static final class SequenceSupplier implements Supplier<Integer> {
+
+        /** The next integer. */
+        private int next;
+
+        /**
+         * Instantiates a new {@link SequenceSupplier}.
+         *
+         * @param first the first integer.
+         */
+        SequenceSupplier(final int first) {
+            this.next = first;
+        }
+
+        @Override
+        public Integer get() {
+            return next++;
+        }
+    }
+
+}
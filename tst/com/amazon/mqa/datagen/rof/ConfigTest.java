@@ -1,15 +1,18 @@
 package com.amazon.mqa.datagen.rof;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
 
 import com.amazon.mqa.datagen.Config;
 import com.amazon.mqa.datagen.TestClassA;
+import com.amazon.mqa.datagen.rof.typed.CollectionProviders;
 import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
 import com.amazon.mtqa.testutil.MockObjectContainer;
 import com.google.common.base.Supplier;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -80,4 +83,41 @@ public final class ConfigTest {
         assertEquals(actualSuppliers.size(), expectedSuppliersSize, "wrong suppliers size");
         assertEquals(actualSuppliers.get(Integer.class), integerSupplier, "wrong supplier");
     }
-}
\ No newline at end of file
+
+    /**
+     * Tests overriding a collection provider.
+     */
+    @Test
+    public void testWithCollectionProvider() {
+        // set up
+        final Config config = Config.createDefault();
+
+        // exercise
+        final Config actualConfig = config.withCollectionProvider(List.class, CollectionProviders.LINKED_LIST);
+
+        // verify
+        assertEquals(actualConfig.getCollectionProviders().get(List.class), CollectionProviders.LINKED_LIST,
+                "wrong provider");
+        assertEquals(config.getCollectionProviders().get(List.class), CollectionProviders.ARRAY_LIST,
+                "original config changed");
+    }
+
+    /**
+     * Tests that configurations derived the same way are equal.
+     */
+    @Test
+    public void testEquals() {
+        // set up
+        final long seed = 42L;
+
+        // exercise
+        final Config config = Config.createDefault().withSeed(seed).withLazyCollections();
+        final Config sameConfig = Config.createDefault().withSeed(seed).withLazyCollections();
+        final Config otherConfig = Config.createDefault().withSeed(seed + 1).withLazyCollections();
+
+        // verify
+        assertEquals(sameConfig, config);
+        assertEquals(sameConfig.hashCode(), config.hashCode());
+        assertNotEquals(otherConfig, config);
+    }
+}
@@ -1,13 +1,28 @@
 package com.amazon.mqa.datagen.rof;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
 
 import com.amazon.mqa.datagen.Config;
+import com.amazon.mqa.datagen.rof.spy.ClassSpy;
+import com.amazon.mqa.datagen.rof.spy.DefaultClassSpy;
+import com.amazon.mqa.datagen.rof.typed.DefaultTypedObjectFactory;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SortedMap;
+import java.util.SortedSet;
 
 /**
  * Functional test for {@link PojoFactory}.
@@ -58,6 +73,84 @@ public final class PojoFactoryFunctionalTest {
         }
     }
 
+    /**
+     * Class populated by setters.
+     */
+    private static class ClassWithSetters {
+
+        /** Id field. */
+        private long id;
+
+        /** Name field. */
+        private String name;
+
+        /**
+         * @param id the id.
+         */
+        public void setId(final long id) {
+            this.id = id;
+        }
+
+        /**
+         * @param name the name.
+         */
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Class with sorted containers of elements which aren't comparable.
+     */
+    private static class ClassWithSortedContainers {
+
+        /** Sorted set field. */
+        private SortedSet<ClassWithSetters> sortedSet;
+
+        /** Priority queue field. */
+        private PriorityQueue<ClassWithSetters> queue;
+
+        /** Sorted map field. */
+        private SortedMap<ClassWithSetters, String> sortedMap;
+
+        /** Id field. */
+        private long id;
+
+        /**
+         * @param sortedSet the sorted set.
+         */
+        public void setSortedSet(final SortedSet<ClassWithSetters> sortedSet) {
+            this.sortedSet = sortedSet;
+        }
+
+        /**
+         * @param queue the priority queue.
+         */
+        public void setQueue(final PriorityQueue<ClassWithSetters> queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * @param sortedMap the sorted map.
+         */
+        public void setSortedMap(final SortedMap<ClassWithSetters, String> sortedMap) {
+            this.sortedMap = sortedMap;
+        }
+
+        /**
+         * @param id the id.
+         */
+        public void setId(final long id) {
+            this.id = id;
+        }
+    }
+
+    /** The number of factories with distinct suppliers. */
+    private static final int FACTORY_COUNT = 500;
+
+    /** The max number of garbage collections to wait for unreachable suppliers. */
+    private static final int MAX_COLLECTIONS = 20;
+
     /** Instance under test. */
     private final ObjectFactory factory = PojoFactory.create(
             new BasicObjectFactory(Config.createDefault().getSuppliers()));
@@ -93,4 +186,143 @@ public final class PojoFactoryFunctionalTest {
         assertNotNull(object);
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests that suppliers registered by setter or property name take precedence over the type.
+     */
+    @Test
+    public void testCreateWithPropertySuppliers() {
+        // set up
+        final long id = 42L;
+        final ObjectFactory basicFactory = new BasicObjectFactory(Config.createDefault().getSuppliers());
+        final ObjectFactory propertyFactory = new PojoFactory(new DefaultTypedObjectFactory(basicFactory),
+                new DefaultClassSpy(), ImmutableMap.of("id", () -> id, "setName", () -> "name"));
+
+        // exercise
+        final ClassWithSetters object = propertyFactory.create(ClassWithSetters.class);
+
+        // verify
+        assertEquals(object.id, id);
+        assertEquals(object.name, "name");
+    }
+
+    /**
+     * Tests that sorted containers of elements which aren't comparable are left unset rather than failing the
+     * creation.
+     */
+    @Test
+    public void testCreateWithSortedContainersOfNonComparable() {
+        // set up
+        final long id = 42L;
+        final ObjectFactory basicFactory = new BasicObjectFactory(Config.createDefault().getSuppliers());
+        final ObjectFactory propertyFactory = new PojoFactory(new DefaultTypedObjectFactory(basicFactory),
+                new DefaultClassSpy(), ImmutableMap.of("id", () -> id));
+
+        // exercise
+        final ClassWithSortedContainers object = propertyFactory.create(ClassWithSortedContainers.class);
+
+        // verify
+        assertEquals(object.id, id);
+        assertNull(object.sortedSet);
+        assertNull(object.queue);
+        assertNull(object.sortedMap);
+    }
+
+    /**
+     * Tests that factories with distinct suppliers are collected once unused, ie. that their plans don't outlive
+     * them.
+     *
+     * @throws InterruptedException if interrupted while waiting for the collection.
+     */
+    @Test
+    public void testCreateWithDistinctSuppliersDoesNotLeak() throws InterruptedException {
+        // set up
+        final ObjectFactory basicFactory = new BasicObjectFactory(Config.createDefault().getSuppliers());
+        final List<WeakReference<Supplier<String>>> references = new ArrayList<>();
+
+        // exercise
+        for (int i = 0; i < FACTORY_COUNT; i++) {
+            references.add(createWithDistinctSupplier(basicFactory, i));
+        }
+
+        // verify
+        for (int i = 0; i < MAX_COLLECTIONS && references.stream().anyMatch(r -> r.get() != null); i++) {
+            System.gc();
+            Thread.sleep(MAX_COLLECTIONS);
+        }
+        assertTrue(references.stream().allMatch(r -> r.get() == null), "suppliers still reachable");
+    }
+
+    /**
+     * Tests that a derived factory reuses the plans whose setters keep their suppliers, and plans again the
+     * classes with a setter whose supplier changed.
+     */
+    @Test
+    public void testDerive() {
+        // set up
+        final long id = 42L;
+        final Supplier<Long> idSupplier = () -> id;
+        final CountingClassSpy spy = new CountingClassSpy();
+        final ObjectFactory basicFactory = new BasicObjectFactory(Config.createDefault().getSuppliers());
+        final PojoFactory parent = new PojoFactory(new DefaultTypedObjectFactory(basicFactory), spy,
+                ImmutableMap.of("id", idSupplier));
+        parent.create(ClassWithSetters.class);
+
+        // exercise
+        final ClassWithSetters unchanged = parent.derive(new DefaultTypedObjectFactory(basicFactory),
+                ImmutableMap.of("id", idSupplier, "unknown", () -> "unknown"))
+                .create(ClassWithSetters.class);
+        final int unchangedPlans = spy.plans;
+        final ClassWithSetters changed = parent.derive(new DefaultTypedObjectFactory(basicFactory),
+                ImmutableMap.of("id", idSupplier, "name", () -> "derived")).create(ClassWithSetters.class);
+
+        // verify
+        assertEquals(unchangedPlans, 1);
+        assertEquals(unchanged.id, id);
+        assertEquals(spy.plans, 2);
+        assertEquals(changed.id, id);
+        assertEquals(changed.name, "derived");
+    }
+
+    /**
+     * Creates an object from a factory with a supplier of its own, then drops the factory.
+     *
+     * @param basicFactory creates the setter arguments without supplier.
+     * @param index the index of the factory.
+     * @return a weak reference to the supplier.
+     */
+    private static WeakReference<Supplier<String>> createWithDistinctSupplier(final ObjectFactory basicFactory,
+                                                                              final int index) {
+        final Supplier<String> supplier = () -> "name" + index;
+        final ObjectFactory propertyFactory = new PojoFactory(new DefaultTypedObjectFactory(basicFactory),
+                new DefaultClassSpy(), ImmutableMap.of("name", supplier));
+
+        assertEquals(propertyFactory.create(ClassWithSetters.class).name, "name" + index);
+
+        return new WeakReference<>(supplier);
+    }
+
+
+    /**
+     * Class spy counting the classes it finds the constructor of, ie. the plans of a {@link PojoFactory}.
+     */
+    private static final class CountingClassSpy implements ClassSpy {
+
+        /** Finds the constructors and methods. */
+        private final ClassSpy spy = new DefaultClassSpy();
+
+        /** The number of constructors found. */
+        private int plans;
+
+        @Override
+        public <T> Constructor<T> findConstructor(final Class<T> clazz) {
+            plans++;
+            return spy.findConstructor(clazz);
+        }
+
+        @Override
+        public <T> List<Method> findMethods(final Class<T> clazz, final String namePrefix) {
+            return spy.findMethods(clazz, namePrefix);
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.amazon.mqa.datagen.rof;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.amazon.mqa.datagen.supplier.RandomIntegerSupplier;
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+
+/**
+ * Unit test for {@link PrimitiveGenerator}.
+ */
+public final class PrimitiveGeneratorTest {
+
+    /**
+     * Tests generating ints from the random source.
+     */
+    @Test
+    public void testInts() {
+        // set up
+        final int size = 1000;
+        final PrimitiveGenerator generator = new PrimitiveGenerator(
+                ImmutableMap.<Class<?>, Supplier>of(int.class, new RandomIntegerSupplier()));
+
+        // exercise
+        final int[] actual = generator.ints(size);
+
+        // verify
+        assertEquals(actual.length, size);
+    }
+
+    /**
+     * Tests generating ints within a range.
+     */
+    @Test
+    public void testIntsWithinRange() {
+        // set up
+        final int size = 1000;
+        final int min = -5;
+        final int max = 5;
+        final PrimitiveGenerator generator = new PrimitiveGenerator(ImmutableMap.of());
+
+        // exercise
+        final int[] actual = generator.ints(size, min, max);
+
+        // verify
+        assertEquals(actual.length, size);
+        assertTrue(Arrays.stream(actual).allMatch(i -> i >= min && i < max));
+    }
+
+    /**
+     * Tests generating doubles from a custom supplier.
+     */
+    @Test
+    public void testDoublesFromCustomSupplier() {
+        // set up
+        final int size = 10;
+        final double value = 0.5;
+        final PrimitiveGenerator generator = new PrimitiveGenerator(
+                ImmutableMap.<Class<?>, Supplier>of(double.class, () -> value));
+
+        // exercise
+        final double[] actual = generator.doubleStream(size).toArray();
+
+        // verify
+        assertEquals(actual.length, size);
+        assertTrue(Arrays.stream(actual).allMatch(d -> d == value));
+    }
+
+    /**
+     * Tests generating negative number of longs.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testLongsNegative() {
+        // exercise
+        new PrimitiveGenerator(ImmutableMap.of()).longs(-1);
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.amazon.mqa.datagen.rof;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link PropertyNames}.
+ */
+public final class PropertyNamesTest {
+
+    /**
+     * Tests the property names of accessors.
+     */
+    @Test
+    public void testOf() {
+        // exercise and verify
+        assertEquals(PropertyNames.of("setName"), "name");
+        assertEquals(PropertyNames.of("getIssue"), "issue");
+        assertEquals(PropertyNames.of("isValid"), "valid");
+        assertEquals(PropertyNames.of("getURL"), "URL");
+    }
+
+    /**
+     * Tests that methods whose name only starts like an accessor have no property name.
+     */
+    @Test
+    public void testOfNonAccessor() {
+        // exercise and verify
+        assertNull(PropertyNames.of("issue"));
+        assertNull(PropertyNames.of("settle"));
+        assertNull(PropertyNames.of("getaway"));
+        assertNull(PropertyNames.of("get"));
+    }
+
+    /**
+     * Tests that a supplier registered by property name isn't found for a method whose name only ends like it.
+     */
+    @Test
+    public void testFindNonAccessor() {
+        // set up
+        final Supplier<String> supplier = () -> "sue";
+
+        // exercise and verify
+        assertNull(PropertyNames.find(ImmutableMap.of("sue", supplier), "issue"));
+        assertEquals(PropertyNames.find(ImmutableMap.of("sue", supplier), "setSue"), supplier);
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.amazon.mqa.datagen.EnumClass;
+import com.amazon.mqa.datagen.supplier.IncrementalIntSupplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit test for {@link CollectionProviders}.
+ */
+public final class CollectionProvidersTest {
+
+    /** The number of elements to provide. */
+    private static final int SIZE = 5;
+
+    /**
+     * Test data.
+     *
+     * @return the data.
+     */
+    @DataProvider
+    private Object[][] data() {
+        return new Object[][] {
+                {List.class, ArrayList.class},
+                {Set.class, HashSet.class},
+                {Collection.class, ArrayList.class},
+                {LinkedList.class, LinkedList.class},
+                {SortedSet.class, TreeSet.class},
+                {NavigableSet.class, TreeSet.class},
+                {Queue.class, ArrayDeque.class},
+                {Deque.class, ArrayDeque.class}
+        };
+    }
+
+    /**
+     * Tests providing instance of collection.
+     *
+     * @param inputClass input class.
+     * @param expectedClass expected class.
+     * @throws NullPointerException if any argument is <code>null</code>.
+     */
+    @Test(dataProvider = "data")
+    public void testProvide(final Class<? extends Collection> inputClass, final Class expectedClass) {
+        checkNotNull(inputClass, "inputClass cannot be null");
+        checkNotNull(expectedClass, "expectedClass cannot be null");
+
+        // exercise
+        final Collection actual = CollectionProviders.defaults().get(inputClass)
+                .provide(Integer.class, SIZE, new IncrementalIntSupplier(0));
+
+        // verify
+        assertNotNull(actual);
+        assertEquals(actual.getClass(), expectedClass, "wrong collection instance");
+        assertEquals(actual.size(), SIZE, "wrong collection size");
+    }
+
+    /**
+     * Tests providing set of enum.
+     */
+    @Test
+    public void testProvideEnumSet() {
+        // exercise
+        final Collection actual = CollectionProviders.defaults().get(Set.class)
+                .provide(EnumClass.class, SIZE, () -> EnumClass.FIELD1);
+
+        // verify
+        assertTrue(actual instanceof EnumSet, "not an enum set");
+        assertEquals(actual, EnumSet.of(EnumClass.FIELD1), "wrong enum set");
+    }
+
+    /**
+     * Tests providing enum set of non-enum elements.
+     */
+    @Test
+    public void testProvideEnumSetOfNonEnum() {
+        // exercise
+        final Collection actual = CollectionProviders.ENUM_SET.provide(Integer.class, SIZE, () -> 1);
+
+        // verify
+        assertNull(actual);
+    }
+
+    /**
+     * Tests providing sorted collections of elements which aren't comparable.
+     */
+    @Test
+    public void testProvideSortedOfNonComparable() {
+        // exercise
+        final Collection treeSet = CollectionProviders.TREE_SET.provide(Object.class, SIZE, Object::new);
+        final Collection queue = CollectionProviders.PRIORITY_QUEUE.provide(Object.class, SIZE, Object::new);
+        final Collection sortedSet = CollectionProviders.IMMUTABLE_SORTED_SET.provide(Object.class, SIZE,
+                Object::new);
+
+        // verify
+        assertNull(treeSet);
+        assertNull(queue);
+        assertNull(sortedSet);
+        assertEquals(CollectionProviders.TREE_SET.provide(int.class, SIZE, () -> 1), ImmutableSet.of(1));
+    }
+
+    /**
+     * Tests providing immutable collections.
+     */
+    @Test
+    public void testProvideImmutable() {
+        // exercise
+        final Collection list = CollectionProviders.IMMUTABLE_LIST
+                .provide(Integer.class, SIZE, new IncrementalIntSupplier(0));
+        final Collection set = CollectionProviders.IMMUTABLE_SET.provide(Integer.class, SIZE, () -> 1);
+
+        // verify
+        assertTrue(list instanceof ImmutableList, "not an immutable list");
+        assertEquals(list.size(), SIZE, "wrong list size");
+        assertEquals(set, ImmutableSet.of(1), "wrong set");
+    }
+}
@@ -9,12 +9,14 @@ import com.amazon.mqa.datagen.supplier.MinMaxIntegerSupplier;
 import com.amazon.mtqa.testutil.DataProviders;
 import com.amazon.mtqa.testutil.MockObjectContainer;
 import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 /** Unit test for {@link DefaultCollectionFactory}. */
 public final class DefaultCollectionFactoryTest {
@@ -31,9 +33,6 @@ public final class DefaultCollectionFactoryTest {
     /** Mock size supplier. */
     private Supplier<Integer> mockSizeSupplier;
 
-    /** Mock collection instance provider. */
-    private CollectionInstanceProvider mockProvider;
-
     /** Instance under test. */
     private CollectionFactory collectionFactory;
 
@@ -45,9 +44,9 @@ public final class DefaultCollectionFactoryTest {
 
         mockTypedObjectFactory = mocks.createMock("mockTypedObjectFactory", TypedObjectFactory.class);
         mockSizeSupplier = mocks.createMock("mockSizeSupplier", Supplier.class);
-        mockProvider = mocks.createMock("mockProvider", CollectionInstanceProvider.class);
 
-        collectionFactory = new DefaultCollectionFactory(mockTypedObjectFactory, mockSizeSupplier, mockProvider);
+        collectionFactory = new DefaultCollectionFactory(mockTypedObjectFactory, mockSizeSupplier,
+                ImmutableMap.of(List.class, CollectionProviders.ARRAY_LIST));
     }
 
     /**
@@ -66,7 +65,6 @@ public final class DefaultCollectionFactoryTest {
         final Class<Integer> elementClazz = Integer.class;
         final List<Integer> expected = Lists.newArrayList();
 
-        expect(mockProvider.provide(collectionClazz)).andReturn(Lists.newArrayList());
         expect(mockSizeSupplier.get()).andReturn(size);
 
         for (int i = 0; i < size; i++) {
@@ -91,15 +89,13 @@ public final class DefaultCollectionFactoryTest {
     @Test
     public void testCreateUnsupportedCollection() {
         // set up
-        final Class<List> collectionClazz = List.class;
+        final Class<Set> collectionClazz = Set.class;
         final Class<Integer> elementClazz = Integer.class;
 
-        expect(mockProvider.provide(collectionClazz)).andReturn(null);
-
         mocks.replayAll();
 
         // exercise
-        final List<Integer> actual = collectionFactory.create(collectionClazz, elementClazz);
+        final Set<Integer> actual = collectionFactory.create(collectionClazz, elementClazz);
 
         // verify
         assertNull(actual);
@@ -3,6 +3,7 @@ package com.amazon.mqa.datagen.rof.typed;
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.easymock.EasyMock.expect;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
 
 import com.amazon.mqa.datagen.supplier.AlphanumericStringSupplier;
 import com.amazon.mqa.datagen.supplier.RandomIntegerSupplier;
@@ -14,6 +15,7 @@ import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.util.Map;
+import java.util.Properties;
 
 /**
  * Unit test for {@link DefaultMapFactory}.
@@ -47,7 +49,7 @@ public final class DefaultMapFactoryTest {
         mockSizeSupplier = mocks.createMock("mockSizeSupplier", Supplier.class);
         mockTypedObjectFactory = mocks.createMock("mockTypedObjectFactory", TypedObjectFactory.class);
 
-        factory = new DefaultMapFactory(mockTypedObjectFactory, mockSizeSupplier);
+        factory = new DefaultMapFactory(mockTypedObjectFactory, mockSizeSupplier, MapProviders.defaults());
     }
 
     /**
@@ -80,7 +82,7 @@ public final class DefaultMapFactoryTest {
         mocks.replayAll();
 
         // exercise
-        final Map actual = factory.create(keyClazz, valueClazz);
+        final Map actual = factory.create(Map.class, keyClazz, valueClazz);
 
         // verify
         assertEquals(actual.size(), size, "wrong map size");
@@ -89,4 +91,20 @@ public final class DefaultMapFactoryTest {
         mocks.verifyAll();
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests creating unsupported map.
+     */
+    @Test
+    public void testCreateUnsupportedMap() {
+        // set up
+        mocks.replayAll();
+
+        // exercise
+        final Map actual = factory.create(Properties.class, Object.class, Object.class);
+
+        // verify
+        assertNull(actual);
+        mocks.verifyAll();
+    }
+
+}
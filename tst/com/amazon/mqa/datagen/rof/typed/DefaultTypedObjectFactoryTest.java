@@ -10,12 +10,14 @@ import com.amazon.mtqa.testutil.MockObjectContainer;
 import com.google.common.base.Supplier;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.reflect.TypeToken;
 import org.easymock.EasyMock;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 import java.lang.reflect.TypeVariable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -113,7 +115,8 @@ public final class DefaultTypedObjectFactoryTest {
         final Map<Integer, String> map = Maps.newHashMap();
         final Map<Integer, String> expected = Maps.newHashMap();
 
-        expect(mockMapFactory.create(EasyMock.isA(TypeVariable.class), EasyMock.isA(TypeVariable.class)))
+        expect(mockMapFactory.create(EasyMock.eq(Map.class),
+                EasyMock.isA(TypeVariable.class), EasyMock.isA(TypeVariable.class)))
                 .andReturn(expected);
 
         mocks.replayAll();
@@ -126,6 +129,26 @@ public final class DefaultTypedObjectFactoryTest {
         mocks.verifyAll();
     }
 
+    /**
+     * Tests creating a map sub type with other type parameters than the map.
+     */
+    @Test
+    public void testCreateMapSubType() {
+        // set up
+        final Map<String, Integer> expected = Maps.newHashMap();
+
+        expect(mockMapFactory.create(StringKeyedMap.class, String.class, Integer.class)).andReturn(expected);
+
+        mocks.replayAll();
+
+        // exercise
+        final Object actual = factory.create(new TypeToken<StringKeyedMap<Integer>>() { }.getType());
+
+        // verify
+        assertEquals(actual, expected, "wrong map");
+        mocks.verifyAll();
+    }
+
     /**
      * Tests creating optional.
      *
@@ -168,4 +191,16 @@ public final class DefaultTypedObjectFactoryTest {
         // verify
         assertNull(actual);
     }
-}
\ No newline at end of file
+
+    /**
+     * Map keyed by strings, with a single type parameter.
+     *
+     * @param <V> the type of values.
+     */
+    private static final class StringKeyedMap<V> extends HashMap<String, V> {
+
+        /** Serial version. */
+        private static final long serialVersionUID = 1L;
+    }
+
+}
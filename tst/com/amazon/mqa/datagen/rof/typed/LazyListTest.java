@@ -0,0 +1,45 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit test for {@link LazyList}.
+ */
+public final class LazyListTest {
+
+    /**
+     * Tests that elements are supplied only once, on access.
+     */
+    @Test
+    public void testGet() {
+        // set up
+        final int size = 5;
+        final AtomicInteger supplied = new AtomicInteger();
+        final List<Integer> list = new LazyList<>(size, supplied::getAndIncrement);
+
+        // exercise
+        final int actualSize = list.size();
+        final int first = list.get(size - 1);
+        final int second = list.get(size - 1);
+
+        // verify
+        assertEquals(actualSize, size);
+        assertEquals(first, second);
+        assertEquals(supplied.get(), 1);
+    }
+
+    /**
+     * Tests accessing element out of range.
+     */
+    @Test(expectedExceptions = IndexOutOfBoundsException.class)
+    public void testGetOutOfRange() {
+        // exercise
+        new LazyList<>(1, Object::new).get(1);
+    }
+
+}
@@ -0,0 +1,50 @@
+package com.amazon.mqa.datagen.rof.typed;
+
+import static org.testng.Assert.assertEquals;
+
+import com.google.common.collect.ImmutableSet;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Unit test for {@link LazySet}.
+ */
+public final class LazySetTest {
+
+    /** The number of threads accessing the set. */
+    private static final int THREAD_COUNT = 8;
+
+    /**
+     * Tests that the underlying set is provided only once, on first access from any thread.
+     */
+    @Test
+    public void testDelegate() {
+        // set up
+        final AtomicInteger supplied = new AtomicInteger();
+        final Set<Integer> set = new LazySet<>(() -> ImmutableSet.of(supplied.incrementAndGet()));
+        final ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+
+        try {
+            // exercise
+            final int suppliedBeforeAccess = supplied.get();
+            final CompletableFuture<?>[] accesses = IntStream.range(0, THREAD_COUNT)
+                    .mapToObj(i -> CompletableFuture.runAsync(set::size, executor))
+                    .toArray(CompletableFuture<?>[]::new);
+            CompletableFuture.allOf(accesses).join();
+
+            // verify
+            assertEquals(suppliedBeforeAccess, 0);
+            assertEquals(supplied.get(), 1);
+            assertEquals(set.size(), 1);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.base.Supplier;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link Distributions}.
+ */
+public final class DistributionsTest {
+
+    /** The number of values to draw. */
+    private static final int DRAWS = 100_000;
+
+    /** Tolerance of observed frequencies. */
+    private static final double TOLERANCE = 0.02;
+
+    /** Tolerance of the ratio of Zipf frequencies. */
+    private static final double ZIPF_TOLERANCE = 0.2;
+
+    /** Weight of the hot value. */
+    private static final int HOT = 8;
+
+    /** Weight of the warm value. */
+    private static final int WARM = 2;
+
+    /** The largest value of the histogram sample. */
+    private static final double MAX = 10;
+
+    /**
+     * Tests that values are drawn with frequencies proportional to their weights.
+     */
+    @Test
+    public void testWeighted() {
+        // set up
+        final Supplier<String> supplier =
+                Distributions.weighted(ImmutableMap.of("hot", HOT, "warm", WARM, "cold", 0));
+
+        // exercise
+        final Map<String, Long> counts = Stream.generate(supplier).limit(DRAWS)
+                .collect(Collectors.groupingBy(value -> value, Collectors.counting()));
+
+        // verify
+        assertEquals(counts.get("hot") / (double) DRAWS, HOT / (double) (HOT + WARM), TOLERANCE);
+        assertEquals(counts.get("warm") / (double) DRAWS, WARM / (double) (HOT + WARM), TOLERANCE);
+        assertEquals(counts.get("cold"), null);
+    }
+
+    /**
+     * Tests drawing weighted enum constants.
+     */
+    @Test
+    public void testWeightedEnum() {
+        // set up
+        final Supplier<TimeUnit> supplier = Distributions.weighted(TimeUnit.class, 0, 0, 0, 1, 0, 0, 0);
+
+        // exercise
+        final TimeUnit unit = supplier.get();
+
+        // verify
+        assertEquals(unit, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Tests that Zipf ranks are skewed towards the first ranks.
+     */
+    @Test
+    public void testZipf() {
+        // set up
+        final int size = 1000;
+        final IntSupplier supplier = (IntSupplier) Distributions.zipf(size, 1);
+
+        // exercise
+        int first = 0;
+        int second = 0;
+        for (int i = 0; i < DRAWS; i++) {
+            final int rank = supplier.getAsInt();
+            assertTrue(rank >= 1 && rank <= size);
+            first += rank == 1 ? 1 : 0;
+            second += rank == 2 ? 1 : 0;
+        }
+
+        // verify
+        assertEquals(first / (double) second, 2, ZIPF_TOLERANCE);
+    }
+
+    /**
+     * Tests that histogram values stay within the range of the sample.
+     */
+    @Test
+    public void testHistogram() {
+        // set up
+        final Supplier<Double> supplier = Distributions.histogram(new double[] {1, 2, 2, MAX}, 2);
+
+        // exercise
+        final boolean inRange = Stream.generate(supplier).limit(DRAWS)
+                .allMatch(value -> value >= 1 && value < MAX);
+
+        // verify
+        assertTrue(inRange);
+    }
+
+    /**
+     * Tests that an empirical distribution only draws values of the sample.
+     */
+    @Test
+    public void testEmpirical() {
+        // set up
+        final List<String> sample = ImmutableList.of("a", "b", "b");
+        final Supplier<String> supplier = Distributions.empirical(sample);
+
+        // exercise
+        final long count = Stream.generate(supplier).limit(DRAWS).filter("a"::equals).count();
+
+        // verify
+        assertEquals(count / (double) DRAWS, 1 / (double) sample.size(), TOLERANCE);
+    }
+
+    /**
+     * Tests that all weights being 0 is rejected.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAliasTableOfZeroWeights() {
+        // exercise
+        new AliasTable(new double[] {0, 0});
+    }
+
+}
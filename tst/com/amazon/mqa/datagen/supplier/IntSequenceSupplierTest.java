@@ -0,0 +1,99 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit test for {@link IntSequenceSupplier}.
+ */
+public final class IntSequenceSupplierTest {
+
+    /** The number of threads. */
+    private static final int THREADS = 4;
+
+    /** The number of values supplied by each thread. */
+    private static final int PER_THREAD = 5000;
+
+    /** The block size. */
+    private static final int BLOCK_SIZE = 16;
+
+    /**
+     * Tests that values are consecutive within a block.
+     */
+    @Test
+    public void testGet() {
+        // set up
+        final IntSequenceSupplier supplier = new IntSequenceSupplier(-1, BLOCK_SIZE);
+
+        // exercise
+        final List<Integer> values = Lists.newArrayList(supplier.get(), supplier.get(), supplier.get());
+
+        // verify
+        assertEquals(values, Lists.newArrayList(-1, 0, 1));
+    }
+
+    /**
+     * Tests that threads sharing the supplier never get the same value.
+     *
+     * @throws Exception if a thread fails.
+     */
+    @Test
+    public void testGetAcrossThreads() throws Exception {
+        // set up
+        final IntSequenceSupplier supplier = new IntSequenceSupplier(0, BLOCK_SIZE);
+        final Callable<List<Integer>> task = () -> {
+            final List<Integer> values = Lists.newArrayListWithCapacity(PER_THREAD);
+            for (int i = 0; i < PER_THREAD; i++) {
+                values.add(supplier.getAsInt());
+            }
+            return values;
+        };
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // exercise
+        final Set<Integer> values = Sets.newHashSet();
+        try {
+            for (final Future<List<Integer>> future : executor.invokeAll(Lists.newArrayList(
+                    task, task, task, task))) {
+                values.addAll(future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // verify
+        assertEquals(values.size(), THREADS * PER_THREAD);
+        assertTrue(values.stream().allMatch(value -> value >= 0));
+    }
+
+    /**
+     * Tests that time ordered IDs increase and carry the current time.
+     */
+    @Test
+    public void testTimeOrderedId() {
+        // set up
+        final TimeOrderedIdSupplier supplier = new TimeOrderedIdSupplier();
+        final long before = System.currentTimeMillis();
+
+        // exercise
+        final long first = supplier.getAsLong();
+        final long second = supplier.getAsLong();
+
+        // verify
+        assertTrue(second > first);
+        assertTrue(TimeOrderedIdSupplier.timestampOf(first) >= before);
+        assertTrue(TimeOrderedIdSupplier.timestampOf(second) <= System.currentTimeMillis());
+    }
+
+}
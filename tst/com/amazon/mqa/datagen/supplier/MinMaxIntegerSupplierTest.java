@@ -1,10 +1,14 @@
 package com.amazon.mqa.datagen.supplier;
 
+import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.base.Supplier;
 import org.testng.annotations.Test;
 
+import java.util.HashSet;
+import java.util.Set;
+
 /**
  * Unit test for {@link MinMaxIntegerSupplier}.
  */
@@ -29,4 +33,24 @@ public final class MinMaxIntegerSupplierTest {
         assertTrue(integer < max);
     }
 
-}
\ No newline at end of file
+    /**
+     * Tests supplying every value of the range exactly once.
+     */
+    @Test
+    public void testSupplyDistinct() {
+        // set up
+        final int min = -10;
+        final int max = 10;
+        final Set<Integer> actual = new HashSet<>();
+
+        final MinMaxIntegerSupplier supplier = new MinMaxIntegerSupplier(min, max);
+
+        // exercise
+        supplier.supplyDistinct(max - min, actual::add);
+
+        // verify
+        assertEquals(actual.size(), max - min);
+        assertTrue(actual.stream().allMatch(i -> i >= min && i < max));
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Unit test for {@link PooledSupplier}.
+ */
+public final class PooledSupplierTest {
+
+    /** The pool size. */
+    private static final int SIZE = 8;
+
+    /**
+     * Tests that values are generated once and handed out round robin.
+     */
+    @Test
+    public void testGet() {
+        // set up
+        final AtomicInteger counter = new AtomicInteger();
+        final PooledSupplier<Integer> supplier =
+                new PooledSupplier<>(counter::getAndIncrement, PoolPolicy.of(SIZE));
+
+        // exercise
+        final List<Integer> values = Stream.generate(supplier).limit(2 * SIZE).collect(Collectors.toList());
+
+        // verify
+        assertEquals(counter.get(), SIZE);
+        assertEquals(Sets.newHashSet(values.subList(0, SIZE)).size(), SIZE);
+        assertEquals(values.subList(SIZE, 2 * SIZE), values.subList(0, SIZE));
+    }
+
+    /**
+     * Tests that the pool is regenerated after the configured number of passes.
+     */
+    @Test
+    public void testGetWithRefresh() {
+        // set up
+        final AtomicInteger counter = new AtomicInteger();
+        final PooledSupplier<Integer> supplier =
+                new PooledSupplier<>(counter::getAndIncrement, PoolPolicy.of(SIZE).refreshEvery(1));
+
+        // exercise
+        final Set<Integer> values = Stream.generate(supplier).limit(2 * SIZE).collect(Collectors.toSet());
+
+        // verify
+        assertTrue(counter.get() > SIZE);
+        assertTrue(values.size() > SIZE);
+    }
+
+    /**
+     * Tests that a non-positive pool size is rejected.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testPolicyOfZeroSize() {
+        // exercise
+        PoolPolicy.of(0);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import com.google.common.base.Supplier;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link PrimitiveSuppliers}.
+ */
+public final class PrimitiveSuppliersTest {
+
+    /**
+     * Tests creating a primitive array from a primitive supplier.
+     */
+    @Test
+    public void testNewArray() {
+        // set up
+        final int length = 3;
+        final Supplier<Character> supplier = PrimitiveSuppliers.ofChar(() -> 'x');
+
+        // exercise
+        final Object actual = PrimitiveSuppliers.newArray(char.class, supplier, length);
+
+        // verify
+        assertEquals((char[]) actual, new char[] {'x', 'x', 'x'});
+    }
+
+    /**
+     * Tests creating a primitive array from a boxed supplier.
+     */
+    @Test
+    public void testNewArrayFromBoxedSupplier() {
+        // set up
+        final Supplier<Integer> supplier = () -> 1;
+
+        // exercise
+        final Object actual = PrimitiveSuppliers.newArray(int.class, supplier, 1);
+
+        // verify
+        assertNull(actual);
+    }
+
+    /**
+     * Tests getting an int from boxed and primitive suppliers.
+     */
+    @Test
+    public void testGetAsInt() {
+        // set up
+        final int value = 7;
+
+        // exercise and verify
+        assertEquals(PrimitiveSuppliers.getAsInt(PrimitiveSuppliers.ofInt(() -> value)), value);
+        assertEquals(PrimitiveSuppliers.getAsInt(() -> value), value);
+    }
+
+}
@@ -0,0 +1,85 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Unit test for {@link RandomSources}.
+ */
+public final class RandomSourcesTest {
+
+    /** The number of values to draw. */
+    private static final int SIZE = 100;
+
+    /**
+     * Test data.
+     *
+     * @return the data.
+     */
+    @DataProvider
+    private Object[][] sources() {
+        return new Object[][] {
+                {RandomSources.SPLITTABLE},
+                {RandomSources.XOSHIRO_256_STAR_STAR}
+        };
+    }
+
+    /**
+     * Tests that equal seeds give equal sequences and different seeds different ones.
+     *
+     * @param source the source.
+     */
+    @Test(dataProvider = "sources")
+    public void testCreate(final RandomSource source) {
+        // set up
+        final long seed = 7L;
+
+        // exercise
+        final long[] actual = source.create(seed).longs(SIZE).toArray();
+        final long[] same = source.create(seed).longs(SIZE).toArray();
+        final long[] other = source.create(seed + 1).longs(SIZE).toArray();
+
+        // verify
+        assertEquals(actual, same);
+        assertNotEquals(actual, other);
+    }
+
+    /**
+     * Tests drawing doubles and bounded ints.
+     *
+     * @param source the source.
+     */
+    @Test(dataProvider = "sources")
+    public void testRanges(final RandomSource source) {
+        // set up
+        final Random random = source.create(0L);
+        final int bound = 3;
+
+        for (int i = 0; i < SIZE; i++) {
+            // exercise
+            final double d = random.nextDouble();
+            final int n = random.nextInt(bound);
+
+            // verify
+            assertTrue(d >= 0 && d < 1, "double out of range");
+            assertTrue(n >= 0 && n < bound, "int out of range");
+        }
+    }
+
+    /**
+     * Tests finding an unknown JDK algorithm.
+     */
+    @Test
+    public void testJdkUnknownAlgorithm() {
+        // exercise and verify
+        assertFalse(RandomSources.jdk("NoSuchRandom").isPresent());
+    }
+
+}
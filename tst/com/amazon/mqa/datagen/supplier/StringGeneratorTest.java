@@ -0,0 +1,96 @@
+package com.amazon.mqa.datagen.supplier;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Unit test for {@link StringGenerator}.
+ */
+public final class StringGeneratorTest {
+
+    /** The number of strings to generate. */
+    private static final int SIZE = 100;
+
+    /** The max length. */
+    private static final int MAX_LENGTH = 20;
+
+    /**
+     * Test data.
+     *
+     * @return the data.
+     */
+    @DataProvider
+    private Object[][] alphabets() {
+        return new Object[][] {
+                {"0123456789abcdef"},
+                {"0123456789"},
+                {"x"}
+        };
+    }
+
+    /**
+     * Tests generating strings of an alphabet within a length range.
+     *
+     * @param characters the alphabet.
+     */
+    @Test(dataProvider = "alphabets")
+    public void testGet(final String characters) {
+        // set up
+        final StringGenerator generator = new StringGenerator(Alphabet.of(characters),
+                LengthDistributions.uniform(0, MAX_LENGTH));
+
+        for (int i = 0; i < SIZE; i++) {
+            // exercise
+            final String actual = generator.get();
+
+            // verify
+            assertTrue(actual.length() <= MAX_LENGTH, "too long");
+            assertTrue(actual.chars().allMatch(c -> characters.indexOf(c) >= 0), "unexpected character");
+        }
+    }
+
+    /**
+     * Tests generating strings of realistic lengths.
+     */
+    @Test
+    public void testRealisticLength() {
+        // set up
+        final int median = 8;
+        final StringGenerator generator = new StringGenerator(Alphabet.ALPHABETIC,
+                LengthDistributions.realistic(median, MAX_LENGTH));
+
+        for (int i = 0; i < SIZE; i++) {
+            // exercise
+            final int actual = generator.get().length();
+
+            // verify
+            assertTrue(actual >= 1 && actual <= MAX_LENGTH, "length out of range");
+        }
+    }
+
+    /**
+     * Tests generating strings of a fixed length.
+     */
+    @Test
+    public void testFixedLength() {
+        // exercise
+        final String actual = new StringGenerator(Alphabet.PRINTABLE_ASCII, LengthDistributions.fixed(MAX_LENGTH))
+                .get();
+
+        // verify
+        assertEquals(actual.length(), MAX_LENGTH);
+    }
+
+    /**
+     * Tests creating an alphabet outside of Latin-1.
+     */
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void testAlphabetNotLatin1() {
+        // exercise
+        Alphabet.of("\u0100");
+    }
+
+}